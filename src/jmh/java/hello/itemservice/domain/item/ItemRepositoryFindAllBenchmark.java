@@ -0,0 +1,69 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 화면 1회 요청당 findAll() 비용 비교
+ * - copyAll: 기존 방식(매 요청마다 new ArrayList<>(store.values()))
+ * - snapshot: 변경이 없을 때 스냅샷을 그대로 반환
+ * <p>
+ * ./gradlew jmh 실행 후 gc.alloc.rate.norm(B/op) 값으로 요청당 할당량을 비교함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRepositoryFindAllBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    ItemRepository itemRepository;
+    Map<Long, Item> copyStore;
+
+    @Setup
+    public void setUp() {
+        itemRepository = new ItemRepository();
+        itemRepository.clearStore();
+        copyStore = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Item item = itemRepository.save(new Item("item" + i, 10000, 10));
+            copyStore.put(item.getId(), item);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public List<Item> copyAll() {
+        return new ArrayList<>(copyStore.values());
+    }
+
+    @Benchmark
+    public List<Item> snapshot() {
+        return itemRepository.findAll();
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.reflect.Field;
+
+/**
+ * 저장소별 메모리 사용량 리포트(JOL)
+ * <p>
+ * 같은 상품 N개를 기본 저장소(ItemRepository)와 컬럼 저장소(ColumnarItemRepository)에 저장한 뒤
+ * 각 저장소에서 도달 가능한 객체 그래프의 전체 크기를 비교함.
+ * <p>
+ * 실행: ./gradlew itemFootprint (기본 1,000,000개) 또는 ./gradlew itemFootprint --args=5000000
+ */
+public class ItemStoreFootprint {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        ItemRepository memory = new ItemRepository();
+        memory.clearStore();
+        ColumnarItemRepository columnar = new ColumnarItemRepository();
+
+        for (int i = 0; i < count; i++) {
+            memory.save(new Item("item" + i, 1000 + (i % 1000000), i % 10000));
+            columnar.save(new Item("item" + i, 1000 + (i % 1000000), i % 10000));
+        }
+
+        //기본 저장소는 static 필드(저장소 + 보조 인덱스)가 실제 데이터이므로 함께 측정
+        GraphLayout memoryStore = GraphLayout.parseInstance(staticField("store"));
+        GraphLayout memoryTotal = GraphLayout.parseInstance(staticField("store"),
+                staticField("priceIndex"), staticField("quantityIndex"), staticField("itemNameIndex"));
+        GraphLayout columnarTotal = GraphLayout.parseInstance(columnar);
+
+        System.out.printf("items = %,d%n", count);
+        print("memory (store only)", memoryStore.totalSize(), count);
+        print("memory (store + indexes)", memoryTotal.totalSize(), count);
+        print("columnar", columnarTotal.totalSize(), count);
+        System.out.println();
+        System.out.println("[memory (store + indexes)]");
+        System.out.println(memoryTotal.toFootprint());
+        System.out.println("[columnar]");
+        System.out.println(columnarTotal.toFootprint());
+    }
+
+    private static Object staticField(String name) throws Exception {
+        Field field = ItemRepository.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(null);
+    }
+
+    private static void print(String name, long totalBytes, int count) {
+        System.out.printf("%-26s %,15d bytes  %8.1f bytes/item%n", name, totalBytes, (double) totalBytes / count);
+    }
+}
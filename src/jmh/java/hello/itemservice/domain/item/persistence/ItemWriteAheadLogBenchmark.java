@@ -0,0 +1,74 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.persistence.ItemWriteAheadLog.Durability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내구성 수준별 WAL 기록 처리량(ops/s)
+ * 16개 스레드가 동시에 기록하는 상황에서 SYNC(기록마다 fsync), BATCH(그룹 커밋), ASYNC(주기적 fsync)를 비교함.
+ * fsync 비용은 디스크에 따라 크게 다르므로 실제 데이터 디렉터리와 같은 디스크에서 측정해야 함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ItemWriteAheadLogBenchmark {
+
+    @Param({"SYNC", "BATCH", "ASYNC"})
+    Durability durability;
+
+    Path dir;
+    ItemWriteAheadLog wal;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("item-wal-bench");
+        wal = new ItemWriteAheadLog(dir.resolve("items.wal"), durability, 100);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        wal.close();
+        Files.deleteIfExists(dir.resolve("items.wal"));
+        Files.deleteIfExists(dir);
+    }
+
+    @State(Scope.Thread)
+    public static class ItemState {
+
+        Item item;
+
+        @Setup
+        public void setUp() {
+            item = new Item("itemA", 10000, 10);
+            item.setId(Thread.currentThread().getId());
+        }
+    }
+
+    @Benchmark
+    public void append(ItemState state) {
+        wal.saved(state.item);
+    }
+}
@@ -0,0 +1,150 @@
+package hello.itemservice.load;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 화면/API 부하 테스트와 응답 시간 SLO 리포트
+ * <p>
+ * ItemServiceApplication을 같은 JVM에서 임의 포트로 띄우고, 상품 items개를 시드한 뒤
+ * 작업 스레드(threads)마다 응답을 받으면 바로 다음 요청을 보내는(closed loop) 방식으로 ItemWorkload의 혼합 요청을 보냄.
+ * 워밍업(warmup) 동안의 기록은 버리고, 측정 시간(duration) 동안 요청 종류별 응답 시간을 HdrHistogram에 기록해서
+ * p50/p99/p999/max와 처리량을 출력하고 build/reports/load에 요청 종류별 .hgrm 파일을 씀.
+ * 외부 서비스 없이 한 대에서 실행되며, 클라이언트와 서버가 CPU를 나눠 쓰므로 결과는 같은 장비에서 비교해야 함.
+ * closed loop이므로 서버가 멈추면 요청도 덜 보내게 되어, 긴 지연(coordinated omission)은 실제보다 적게 기록될 수 있음.
+ * <p>
+ * 실행: ./gradlew itemLoadTest --args="--threads=64 --duration=60 --read-ratio=0.9"
+ * 옵션(기본값)
+ * - --threads=32, --duration=30(초), --warmup=10(초), --items=1000(시드 상품 수)
+ * - --targets=v1,v2,v3,v4,api
+ * - --read-ratio=0.8, --list-ratio=0.25(읽기 중 목록), --edit-ratio=0.5(쓰기 중 수정), --invalid-ratio=0.2(쓰기 중 검증 실패)
+ * - --slo-p99=100(ms, 0이면 판정하지 않음), --report-dir=build/reports/load
+ * 그 밖의 --로 시작하는 인자는 애플리케이션 설정으로 전달함.(예: --item.repository.type=columnar, --item.metrics.enabled=false)
+ */
+public class ItemLoadTest {
+
+    private static final List<String> OPTIONS = Arrays.asList("threads", "duration", "warmup", "items", "targets",
+            "read-ratio", "list-ratio", "edit-ratio", "invalid-ratio", "slo-p99", "report-dir");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = arg.startsWith("--") && eq > 0 ? arg.substring(2, eq) : null;
+            if (key != null && OPTIONS.contains(key)) {
+                options.put(key, arg.substring(eq + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int items = Integer.parseInt(options.getOrDefault("items", "1000"));
+        double sloP99 = Double.parseDouble(options.getOrDefault("slo-p99", "100"));
+        Path reportDir = Paths.get(options.getOrDefault("report-dir", "build/reports/load"));
+
+        boolean met;
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN") //명령행 인자로 덮어쓸 수 있음
+                .run(applicationArgs.toArray(new String[0]));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            long[] itemIds = seed(context.getBean(ItemRepository.class), items);
+
+            ItemWorkload workload = new ItemWorkload(URI.create("http://localhost:" + port),
+                    Arrays.asList(options.getOrDefault("targets", "v1,v2,v3,v4,api").split(",")), itemIds,
+                    Double.parseDouble(options.getOrDefault("read-ratio", "0.8")),
+                    Double.parseDouble(options.getOrDefault("list-ratio", "0.25")),
+                    Double.parseDouble(options.getOrDefault("edit-ratio", "0.5")),
+                    Double.parseDouble(options.getOrDefault("invalid-ratio", "0.2")));
+
+            System.out.printf("port = %d, threads = %d, items = %,d, warmup = %ds, duration = %ds%n",
+                    port, threads, itemIds.length, warmup, duration);
+            run(workload, threads, warmup, new LatencyReport()); //워밍업(JIT, 캐시, 연결)
+            LatencyReport report = new LatencyReport();
+            double seconds = run(workload, threads, duration, report);
+
+            System.out.println();
+            met = report.print(System.out, seconds, sloP99);
+            report.writeDistributions(reportDir);
+            System.out.println("distributions: " + reportDir.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+
+        if (!met) {
+            System.exit(1); //SLO를 만족하지 못하면 Gradle 태스크도 실패
+        }
+    }
+
+    private static long[] seed(ItemRepository itemRepository, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("seed-" + i, 10000 + i, 10));
+        }
+        itemRepository.saveAll(items);
+        return itemRepository.findAll().stream().mapToLong(Item::getId).toArray();
+    }
+
+    /**
+     * @return 실제 측정 시간(초)
+     */
+    private static double run(ItemWorkload workload, int threads, int seconds, LatencyReport report) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER) //등록/수정 성공(302)까지만 측정
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    ItemWorkload.Operation operation = workload.next();
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(operation.request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            report.error(operation.name);
+                        } else {
+                            report.record(operation.name, System.nanoTime() - requestStart);
+                        }
+                    } catch (IOException e) {
+                        report.error(operation.name);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,103 @@
+package hello.itemservice.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 테스트 요청 혼합(workload)
+ * <p>
+ * 요청마다 대상(v1 ~ v4, api)을 고르게 고른 뒤, 비율에 따라 종류를 정함.
+ * - 읽기(readRatio): 상세(detail) 또는 목록(list, listRatio)
+ * - 쓰기: 등록(add) 또는 수정(edit, editRatio), 그중 invalidRatio만큼은 검증에 실패하는 값으로 보냄
+ * JSON API(/validation/api/items)는 등록만 있으므로 항상 add로 보냄.
+ */
+class ItemWorkload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final List<String> targets;
+    private final long[] itemIds;
+    private final double readRatio;
+    private final double listRatio;
+    private final double editRatio;
+    private final double invalidRatio;
+
+    /**
+     * @param itemIds 상세/수정 요청에 사용할 상품 ID(미리 저장한 상품)
+     */
+    ItemWorkload(URI base, List<String> targets, long[] itemIds,
+                 double readRatio, double listRatio, double editRatio, double invalidRatio) {
+        this.base = base;
+        this.targets = new ArrayList<>(targets);
+        this.itemIds = itemIds;
+        this.readRatio = readRatio;
+        this.listRatio = listRatio;
+        this.editRatio = editRatio;
+        this.invalidRatio = invalidRatio;
+    }
+
+    Operation next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String target = targets.get(random.nextInt(targets.size()));
+        boolean api = "api".equals(target);
+        String path = "/validation/" + target + "/items";
+
+        if (!api && random.nextDouble() < readRatio) {
+            if (random.nextDouble() < listRatio) {
+                return new Operation(target + " list", get(path));
+            }
+            return new Operation(target + " detail", get(path + "/" + randomItemId(random)));
+        }
+
+        boolean valid = random.nextDouble() >= invalidRatio;
+        String suffix = valid ? " valid" : " invalid";
+        int n = random.nextInt(1000);
+        String itemName = valid ? "load-" + n : " ";
+        int price = valid ? 10000 + n : 0; //가격 범위 오류 + 가격 * 수량 오류
+        int quantity = valid ? 10 : 10000; //수량 최대값 오류
+
+        if (api) {
+            String json = "{\"itemName\":\"" + itemName + "\",\"price\":" + price + ",\"quantity\":" + quantity + "}";
+            return new Operation(target + " add" + suffix, post(path + "/add", "application/json", json));
+        }
+        if (random.nextDouble() < editRatio) {
+            long itemId = randomItemId(random);
+            String form = "id=" + itemId + "&itemName=" + itemName.replace(' ', '+') + "&price=" + price + "&quantity=" + quantity;
+            return new Operation(target + " edit" + suffix, post(path + "/" + itemId + "/edit", "application/x-www-form-urlencoded", form));
+        }
+        String form = "itemName=" + itemName.replace(' ', '+') + "&price=" + price + "&quantity=" + quantity;
+        return new Operation(target + " add" + suffix, post(path + "/add", "application/x-www-form-urlencoded", form));
+    }
+
+    private long randomItemId(ThreadLocalRandom random) {
+        return itemIds[random.nextInt(itemIds.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    static final class Operation {
+
+        final String name;
+        final HttpRequest request;
+
+        Operation(String name, HttpRequest request) {
+            this.name = name;
+            this.request = request;
+        }
+    }
+}
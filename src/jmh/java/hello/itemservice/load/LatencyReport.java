@@ -0,0 +1,98 @@
+package hello.itemservice.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 종류별 응답 시간 분포(HdrHistogram, 마이크로초 단위)와 오류 수
+ * 여러 작업 스레드가 동시에 기록하며, 측정이 끝나면 백분위/처리량 표와 요청 종류별 .hgrm 파일을 만듦.
+ */
+class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    void record(String operation, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS);
+        histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS))
+                .recordValue(micros);
+    }
+
+    void error(String operation) {
+        errors.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * @param seconds      측정 시간
+     * @param sloP99Millis 요청 종류별 p99 목표(ms), 0이면 판정하지 않음
+     * @return 모든 요청 종류가 목표를 만족하면 true
+     */
+    boolean print(PrintStream out, double seconds, double sloP99Millis) {
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        boolean met = true;
+
+        out.printf("%-22s %10s %10s %9s %9s %9s %9s %8s%s%n", "operation", "count", "req/s",
+                "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors", sloP99Millis > 0 ? "  slo" : "");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue();
+            total.add(histogram);
+
+            boolean pass = millis(histogram.getValueAtPercentile(99.0)) <= sloP99Millis;
+            met &= sloP99Millis <= 0 || pass;
+            printRow(out, entry.getKey(), histogram, seconds, errorCount(entry.getKey()),
+                    sloP99Millis > 0 ? (pass ? "  PASS" : "  FAIL") : "");
+        }
+
+        long totalErrors = errors.values().stream().mapToLong(AtomicLong::get).sum();
+        printRow(out, "total", total, seconds, totalErrors, "");
+        if (sloP99Millis > 0) {
+            out.printf("%nSLO p99 <= %.0fms: %s%n", sloP99Millis, met ? "PASS" : "FAIL");
+        }
+        return met;
+    }
+
+    /**
+     * 요청 종류별 백분위 분포 파일(HdrHistogram Plotter 형식, 단위 ms)
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(entry.getKey().replace(' ', '-') + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private long errorCount(String operation) {
+        AtomicLong count = errors.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, double seconds, long errors, String slo) {
+        out.printf("%-22s %,10d %,10.0f %9.2f %9.2f %9.2f %9.2f %,8d%s%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                errors, slo);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
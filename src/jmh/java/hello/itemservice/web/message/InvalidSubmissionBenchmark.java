@@ -0,0 +1,74 @@
+package hello.itemservice.web.message;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증에 실패한 등록 요청 1건의 오류 처리 비용
+ * 검증(rejectValue -> 메시지 코드 생성) + 화면 렌더링에서 오류 메시지 조회(th:errors)까지 측정함.
+ * - cached=false: DefaultMessageCodesResolver + ResourceBundleMessageSource(기본 설정)
+ * - cached=true: CachingMessageCodesResolver + CachingMessageSource
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvalidSubmissionBenchmark {
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    @Param({"ko", "en"})
+    String locale;
+
+    ItemValidator itemValidator = new ItemValidator();
+    MessageCodesResolver codesResolver;
+    MessageSource messageSource;
+    Locale requestLocale;
+    Item item = new Item(" ", 0, 10000); //필드 오류 3개 + 글로벌 오류 1개
+
+    @Setup
+    public void setUp() {
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasenames("messages", "errors");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+
+        codesResolver = cached ? new CachingMessageCodesResolver() : new DefaultMessageCodesResolver();
+        messageSource = cached ? new CachingMessageSource(resourceBundleMessageSource) : resourceBundleMessageSource;
+        requestLocale = Locale.forLanguageTag(locale);
+    }
+
+    @Benchmark
+    public void invalidSubmission(Blackhole blackhole) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        bindingResult.setMessageCodesResolver(codesResolver);
+        itemValidator.validate(item, bindingResult);
+
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            blackhole.consume(messageSource.getMessage(error, requestLocale));
+        }
+    }
+}
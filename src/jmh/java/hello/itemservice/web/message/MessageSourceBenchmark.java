@@ -0,0 +1,89 @@
+package hello.itemservice.web.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageSource 구현별 조회 비용
+ * - label: 화면 렌더링의 #{label.item.price}(인자 없음)
+ * - errorMessage: th:errors의 FieldError 메시지(코드 4개 중 3번째에서 찾음, 인자 3개)
+ * - errorMessageContended: errorMessage를 8개 스레드에서 동시에 조회(MessageFormat 잠금 경합)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSourceBenchmark {
+
+    @Param({"resourceBundle", "precompiled"})
+    String source;
+
+    @Param({"ko", "en"})
+    String locale;
+
+    MessageSource messageSource;
+    Locale requestLocale;
+    DefaultMessageSourceResolvable fieldError;
+
+    @Setup
+    public void setUp() {
+        String[] basenames = {"messages", "errors"};
+        if ("precompiled".equals(source)) {
+            messageSource = new PrecompiledMessageSource(basenames, getClass().getClassLoader(), true, 0);
+        } else {
+            ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+            resourceBundleMessageSource.setBasenames(basenames);
+            resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+            messageSource = resourceBundleMessageSource;
+        }
+        requestLocale = Locale.forLanguageTag(locale);
+
+        //rejectValue("quantity", "Range", ...)와 같은 메시지 코드와 인자
+        String[] codes = new DefaultMessageCodesResolver().resolveMessageCodes("range", "item", "quantity", Integer.class);
+        Object[] args = {new DefaultMessageSourceResolvable(new String[]{"item.quantity", "quantity"}, "quantity"), 10000, 1000};
+        fieldError = new DefaultMessageSourceResolvable(codes, args);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (messageSource instanceof PrecompiledMessageSource) {
+            ((PrecompiledMessageSource) messageSource).close();
+        }
+    }
+
+    @Benchmark
+    public String label() {
+        return messageSource.getMessage("label.item.price", null, requestLocale);
+    }
+
+    @Benchmark
+    public String errorMessage() {
+        return messageSource.getMessage(fieldError, requestLocale);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String errorMessageContended() {
+        return messageSource.getMessage(fieldError, requestLocale);
+    }
+}
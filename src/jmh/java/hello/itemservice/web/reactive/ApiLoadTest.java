@@ -0,0 +1,126 @@
+package hello.itemservice.web.reactive;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 서블릿 API와 리액티브 API 부하 비교
+ * <p>
+ * 동시 연결 N개(기본 10,000)를 열고, 연결마다 응답을 받으면 바로 다음 요청을 보내는(closed loop) 방식으로
+ * 같은 상품 등록 요청(검증만 하고 저장하지 않음)을 두 API에 차례로 보냄.
+ * - 서블릿: POST /validation/api/items/add (톰캣, 요청마다 스레드 하나)
+ * - 리액티브: POST /reactive/api/items/add (Reactor Netty, 이벤트 루프)
+ * <p>
+ * 실행 전에 애플리케이션을 item.reactive.enabled=true로 띄워야 함.
+ * 연결 수만큼 파일 디스크립터가 필요하므로 클라이언트/서버 모두 ulimit -n을 충분히 올려야 함.
+ * <p>
+ * 실행: ./gradlew apiLoadTest --args="[동시 연결 수] [측정 시간(초)] [서블릿 URL] [리액티브 URL]"
+ */
+public class ApiLoadTest {
+
+    private static final String BODY = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}";
+    private static final int MAX_LATENCY_MILLIS = 60_000; //이보다 느린 응답은 마지막 구간으로 집계
+
+    public static void main(String[] args) {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        String servletUrl = args.length > 2 ? args[2] : "http://localhost:8080/validation/api/items/add";
+        String reactiveUrl = args.length > 3 ? args[3] : "http://localhost:8081/reactive/api/items/add";
+
+        System.out.printf("connections = %,d, duration = %ds%n", connections, seconds);
+        for (String url : new String[]{servletUrl, reactiveUrl}) {
+            run(url, connections, Duration.ofSeconds(Math.max(1, seconds / 5))); //워밍업(JIT, 연결 수립)
+            Result result = run(url, connections, Duration.ofSeconds(seconds));
+            result.print(url);
+        }
+    }
+
+    static Result run(String url, int connections, Duration duration) {
+        ConnectionProvider provider = ConnectionProvider.builder("api-load-test")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(provider)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON));
+
+        Result result = new Result();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try {
+            Flux.range(0, connections)
+                    .flatMap(i -> Mono.defer(() -> send(client, url, result))
+                            .repeat(() -> System.nanoTime() < deadline), connections)
+                    .blockLast();
+        } finally {
+            result.elapsedNanos = System.nanoTime() - start;
+            provider.disposeLater().block();
+        }
+        return result;
+    }
+
+    private static Mono<Integer> send(HttpClient client, String url, Result result) {
+        long start = System.nanoTime();
+        return client.post()
+                .uri(url)
+                .send(ByteBufFlux.fromString(Mono.just(BODY)))
+                .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                .doOnNext(status -> result.record(status, System.nanoTime() - start))
+                .onErrorResume(e -> {
+                    result.errors.incrementAndGet();
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 1ms 단위 응답 시간 분포(동시에 기록 가능)
+     */
+    static final class Result {
+
+        private final AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong(); //2xx가 아닌 응답
+        private final AtomicLong errors = new AtomicLong(); //연결 실패, 타임아웃 등
+        private long elapsedNanos;
+
+        void record(int status, long latencyNanos) {
+            if (status >= 200 && status < 300) {
+                ok.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            histogram.incrementAndGet((int) Math.min(latencyNanos / 1_000_000, MAX_LATENCY_MILLIS));
+        }
+
+        void print(String url) {
+            long count = ok.get() + failed.get();
+            double seconds = elapsedNanos / 1e9;
+            System.out.println();
+            System.out.println("[" + url + "]");
+            System.out.printf("requests = %,d (ok %,d, non-2xx %,d, errors %,d)%n", count, ok.get(), failed.get(), errors.get());
+            System.out.printf("throughput = %,.0f req/s%n", count / seconds);
+            System.out.printf("latency p50 = %dms, p99 = %dms, p999 = %dms, max = %dms%n",
+                    percentile(count, 0.50), percentile(count, 0.99), percentile(count, 0.999), percentile(count, 1.0));
+        }
+
+        private long percentile(long count, double p) {
+            long target = (long) Math.ceil(count * p);
+            long seen = 0;
+            for (int millis = 0; millis <= MAX_LATENCY_MILLIS; millis++) {
+                seen += histogram.get(millis);
+                if (seen >= target && seen > 0) {
+                    return millis;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.error.ApiError;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 검증 오류 응답의 크기와 직렬화 비용(ns/op, gc.alloc.rate.norm B/op)
+ * <p>
+ * ValidationApiController.addItem에 필드 오류 3개 + 글로벌 오류 1개가 나는 요청이 들어온 경우를 기준으로 함.
+ * - legacy: 기존 응답(bindingResult.getAllErrors()를 Jackson BeanSerializer로 직렬화)
+ * - compact: ApiError 목록 생성(메시지 해석 포함) + ApiErrorSerializer로 직렬화
+ * - compactSerializeOnly: 미리 만든 ApiError 목록의 직렬화만
+ * 응답 크기(바이트)는 설정 시 한 번 출력함.
+ * <p>
+ * 실행: ./gradlew jmh -Pjmh.includes=ApiErrorPayloadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiErrorPayloadBenchmark {
+
+    ObjectMapper objectMapper;
+    ResourceBundleMessageSource messageSource;
+    LocalValidatorFactoryBean validator;
+    BindingResult bindingResult;
+    List<ApiError> errors;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); //스프링 부트가 등록하는 ObjectMapper와 같은 설정
+
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(0);
+        form.setQuantity(10000);
+
+        bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 0}, null);
+        errors = ApiError.from(bindingResult, messageSource, Locale.KOREA);
+
+        System.out.printf("%nerrors = %d, legacy = %,d bytes, compact = %,d bytes%n", bindingResult.getErrorCount(),
+                legacy().length, compact().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validator.destroy();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        return objectMapper.writeValueAsBytes(bindingResult.getAllErrors());
+    }
+
+    @Benchmark
+    public byte[] compact() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiError.from(bindingResult, messageSource, Locale.KOREA));
+    }
+
+    @Benchmark
+    public byte[] compactSerializeOnly() throws Exception {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+}
@@ -0,0 +1,91 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.batch.ItemBatchValidator;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 검증(ItemBatchValidator)의 스레드 수별 처리량(검증한 폼 수/ms)
+ * <p>
+ * - threads: 실행기(ForkJoinPool)의 스레드 수. 1 -> N으로 늘렸을 때 처리량이 코어 수에 비례해서 늘어나는지 확인함.
+ * - validator: bean(Bean Validation), compiled(CompiledValidatorAdapter)
+ * - 폼의 절반은 필드 오류 + 복합 룰 오류가 나는 값
+ * <p>
+ * ./gradlew jmh -Pjmh.includes=BatchValidationBenchmark (물리 코어 수보다 큰 threads 값은 의미가 없음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchValidationBenchmark {
+
+    private static final int BATCH_SIZE = 10000;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"bean", "compiled"})
+    String validator;
+
+    ForkJoinPool executor;
+    LocalValidatorFactoryBean beanValidator;
+    ItemBatchValidator batchValidator;
+    List<ItemSaveForm> forms;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        Validator mvcValidator = "compiled".equals(validator)
+                ? new CompiledValidatorAdapter(beanValidator, ItemSaveForm.class, ItemUpdateForm.class)
+                : beanValidator;
+
+        executor = new ForkJoinPool(threads);
+        batchValidator = new ItemBatchValidator(executor, threads, new ItemValidator(), mvcValidator);
+
+        forms = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName(i % 2 == 0 ? "item" + i : " ");
+            form.setPrice(i % 2 == 0 ? 10000 : 0);
+            form.setQuantity(i % 2 == 0 ? 10 : 10000);
+            forms.add(form);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BindingResult> validateSaveForms() {
+        return batchValidator.validateSaveForms(forms);
+    }
+}
@@ -0,0 +1,112 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ColumnarItemRepository;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증을 통과한 등록/수정 요청의 컨트롤러 이후 비용(ns/op, gc.alloc.rate.norm B/op)
+ * <p>
+ * 바인딩/검증은 ValidationPipelineBenchmark에서 측정하므로, 여기서는 오류가 없는 BindingResult와
+ * RedirectAttributes를 재사용하고 ValidationItemControllerV4.addItem/edit의 성공 로직(폼 -> 상품 변환, 저장)만 측정함.
+ * - addItem: 저장되는 Item과 저장소/보조 인덱스 항목 외의 할당이 없어야 함.
+ * - editSameValues: 값이 바뀌지 않은 수정(인덱스 항목, 상품명 바이트를 다시 만들지 않음)
+ * - editNewPrice: 가격만 바뀐 수정(가격 인덱스 항목만 교체)
+ * <p>
+ * 실행: ./gradlew jmh -Pjmh.includes=ItemSubmissionBenchmark (gc 프로파일러로 B/op 확인)
+ * <p>
+ * [gc.alloc.rate.norm, B/op(JDK 11), 폼 변환/인덱스 부분 갱신 적용 전 -> 후]
+ * - memory: addItem 425 -> 421, editSameValues 324 -> 0, editNewPrice 324 -> 84
+ * - columnar: addItem 135 -> 135(포크마다 121~161), editSameValues 133 -> 24, editNewPrice 93 -> 24
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSubmissionBenchmark {
+
+    @Param({"memory", "columnar"})
+    String repository;
+
+    ItemRepository itemRepository;
+    ValidationItemControllerV4 controller;
+
+    ItemSaveForm saveForm;
+    ItemUpdateForm sameForm;
+    ItemUpdateForm[] priceForms;
+    int next;
+
+    BindingResult saveBindingResult;
+    BindingResult updateBindingResult;
+    RedirectAttributesModelMap redirectAttributes;
+    Long itemId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if ("columnar".equals(repository)) {
+            itemRepository = new ColumnarItemRepository();
+        } else {
+            itemRepository = new ItemRepository();
+        }
+        itemRepository.clearStore(); //반복마다 저장소를 비워서 저장된 상품 수가 측정에 영향을 주지 않도록 함.
+        controller = new ValidationItemControllerV4(itemRepository, null, null); //addItem/edit은 캐시를 사용하지 않음
+
+        saveForm = new ItemSaveForm();
+        saveForm.setItemName("itemA");
+        saveForm.setPrice(10000);
+        saveForm.setQuantity(10);
+
+        itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        sameForm = updateForm(10000);
+        priceForms = new ItemUpdateForm[]{updateForm(20000), updateForm(30000)}; //Integer 값은 미리 박싱
+
+        saveBindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        updateBindingResult = new BeanPropertyBindingResult(sameForm, "item");
+        redirectAttributes = new RedirectAttributesModelMap();
+    }
+
+    @Benchmark
+    public String addItem() {
+        return controller.addItem(saveForm, saveBindingResult, redirectAttributes);
+    }
+
+    @Benchmark
+    public String editSameValues() {
+        return controller.edit(itemId, sameForm, updateBindingResult);
+    }
+
+    @Benchmark
+    public String editNewPrice() {
+        return controller.edit(itemId, priceForms[next++ & 1], updateBindingResult);
+    }
+
+    private ItemUpdateForm updateForm(Integer price) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(itemId);
+        form.setItemName("itemA");
+        form.setPrice(price);
+        form.setQuantity(10);
+        return form;
+    }
+}
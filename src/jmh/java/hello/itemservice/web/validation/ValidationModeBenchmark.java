@@ -0,0 +1,146 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import hello.itemservice.web.validation.error.ApiError;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 모드(item.validation.mode)별 요청 1건당 검증 비용(ns/op, gc.alloc.rate.norm B/op)
+ * <p>
+ * ValidationApiController, 대량 등록처럼 검증 오류를 ApiError 목록(메시지 해석 포함)으로 응답하는 경로를 기준으로 함.
+ * - compiledApi: CompiledValidatorAdapter(모드 적용) + 복합 룰 + ApiError.from
+ * - beanValidationApi: Hibernate Validator(FAIL_FAST면 hibernate.validator.fail_fast) + 복합 룰 + ApiError.from
+ * - itemValidator: ItemValidator(모드 적용)만 실행
+ * <p>
+ * 입력은 invalidRatio 비율만큼 잘못된 값이 섞인 1,024개를 돌아가며 사용함.
+ * 잘못된 값은 필드 오류 3개 + 글로벌 오류, 필드 오류 1개, 글로벌 오류만 있는 경우를 섞음.
+ * ALL 대비 COST_ORDERED, FAIL_FAST의 ns/op 차이가 잘못된 요청이 많을 때 줄어드는 검증 시간임.
+ * <p>
+ * 실행: ./gradlew jmh -Pjmh.includes=ValidationModeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationModeBenchmark {
+
+    private static final int INPUTS = 1024; //2의 제곱수
+
+    @Param({"ALL", "COST_ORDERED", "FAIL_FAST"})
+    ValidationMode mode;
+
+    @Param({"0.1", "0.5", "0.9"})
+    double invalidRatio;
+
+    LocalValidatorFactoryBean beanValidator;
+    CompiledValidatorAdapter compiledValidator;
+    ItemValidator itemValidator;
+    ResourceBundleMessageSource messageSource;
+
+    ItemSaveForm[] forms = new ItemSaveForm[INPUTS];
+    Item[] items = new Item[INPUTS];
+    int next;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        if (mode == ValidationMode.FAIL_FAST) {
+            beanValidator.getValidationPropertyMap().put("hibernate.validator.fail_fast", "true"); //ValidationModeConfig와 같은 설정
+        }
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new CompiledValidatorAdapter(beanValidator, mode, ItemSaveForm.class);
+        itemValidator = new ItemValidator(mode);
+
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            Item item;
+            if (random.nextDouble() >= invalidRatio) {
+                item = new Item("item" + i, 10000, 10);
+            } else {
+                switch (i % 3) {
+                    case 0:
+                        item = new Item(" ", 0, 10000); //필드 오류 3개 + 글로벌 오류
+                        break;
+                    case 1:
+                        item = new Item("item" + i, 1000, null); //필드 오류 1개(수량 없음)
+                        break;
+                    default:
+                        item = new Item("item" + i, 1000, 1); //글로벌 오류만
+                }
+            }
+            items[i] = item;
+
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName(item.getItemName());
+            form.setPrice(item.getPrice());
+            form.setQuantity(item.getQuantity());
+            forms[i] = form;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    public List<ApiError> compiledApi() {
+        return validateForApi(compiledValidator, forms[next()]);
+    }
+
+    @Benchmark
+    public List<ApiError> beanValidationApi() {
+        return validateForApi(beanValidator, forms[next()]);
+    }
+
+    @Benchmark
+    public BindingResult itemValidator() {
+        Item item = items[next()];
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    private List<ApiError> validateForApi(Validator validator, ItemSaveForm form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+        if (mode.checksGlobalRules(bindingResult)) {
+            ItemRules.GLOBAL.validate(form, bindingResult);
+        }
+        return ApiError.from(bindingResult, messageSource, Locale.KOREA);
+    }
+
+    private int next() {
+        return next++ & (INPUTS - 1);
+    }
+}
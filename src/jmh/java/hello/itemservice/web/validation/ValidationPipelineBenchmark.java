@@ -0,0 +1,183 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 방식별 요청 1건당 비용(ns/op, gc.alloc.rate.norm B/op)
+ * <p>
+ * - addItemV1 ~ V5: ValidationItemControllerV2의 직접 작성한 검증 로직(FieldError 생성 ~ rejectValue ~ ItemValidator)
+ * - itemValidator: ItemValidator.validate만 실행
+ * - beanValidation*: @Validated와 같은 경로(WebDataBinder.validate -> Bean Validation -> BindingResult)
+ * - compiled*: beanValidation*과 같은 경로에서 미리 컴파일한 검증기(CompiledValidatorAdapter)를 사용
+ * <p>
+ * 모든 경우를 valid(오류 없음), invalid(필드 오류 3개 + 글로벌 오류 1개가 나올 수 있는 값)로 측정함.
+ * 요청마다 새로 만드는 BindingResult, Model 비용도 포함하며, 저장소는 저장하지 않는 스텁을 사용함.
+ * <p>
+ * ./gradlew jmh 실행 후 방식별 ns/op와 gc.alloc.rate.norm(B/op)을 비교함.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationPipelineBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    ValidationItemControllerV2 controller;
+    ItemValidator itemValidator;
+    LocalValidatorFactoryBean beanValidator;
+    CompiledValidatorAdapter compiledValidator;
+
+    Item item;
+    ItemSaveForm saveForm;
+    ItemUpdateForm updateForm;
+
+    @Setup
+    public void setUp() {
+        itemValidator = new ItemValidator();
+        controller = new ValidationItemControllerV2(new NoOpItemRepository(), itemValidator);
+
+        //스프링 부트가 등록하는 기본 검증기와 같은 구현(Hibernate Validator)
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new CompiledValidatorAdapter(beanValidator, ItemSaveForm.class, ItemUpdateForm.class);
+
+        boolean valid = "valid".equals(input);
+        item = valid ? new Item("itemA", 10000, 10) : new Item(" ", 0, 10000);
+
+        saveForm = new ItemSaveForm();
+        saveForm.setItemName(item.getItemName());
+        saveForm.setPrice(item.getPrice());
+        saveForm.setQuantity(item.getQuantity());
+
+        updateForm = new ItemUpdateForm();
+        updateForm.setId(valid ? 1L : null);
+        updateForm.setItemName(item.getItemName());
+        updateForm.setPrice(item.getPrice());
+        updateForm.setQuantity(item.getQuantity());
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    public String addItemV1() {
+        return controller.addItemV1(item, bindingResult(item), new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String addItemV2() {
+        return controller.addItemV2(item, bindingResult(item), new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String addItemV3() {
+        return controller.addItemV3(item, bindingResult(item), new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String addItemV4() {
+        return controller.addItemV4(item, bindingResult(item), new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String addItemV5() {
+        return controller.addItemV5(item, bindingResult(item), new RedirectAttributesModelMap(), new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public BindingResult itemValidator() {
+        BindingResult bindingResult = bindingResult(item);
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * ValidationItemControllerV3(@Validated(SaveCheck.class) Item)
+     * 현재 Item의 제약 조건은 주석 처리되어 있으므로 Bean Validation 자체의 고정 비용만 측정됨.
+     */
+    @Benchmark
+    public BindingResult beanValidationItem() {
+        return validate(beanValidator, item, SaveCheck.class);
+    }
+
+    /**
+     * ValidationItemControllerV4.addItem, ValidationApiController.addItem(@Validated ItemSaveForm)
+     */
+    @Benchmark
+    public BindingResult beanValidationSaveForm() {
+        return validate(beanValidator, saveForm);
+    }
+
+    @Benchmark
+    public BindingResult compiledSaveForm() {
+        return validate(compiledValidator, saveForm);
+    }
+
+    /**
+     * ValidationItemControllerV4.edit(@Validated ItemUpdateForm)
+     */
+    @Benchmark
+    public BindingResult beanValidationUpdateForm() {
+        return validate(beanValidator, updateForm);
+    }
+
+    @Benchmark
+    public BindingResult compiledUpdateForm() {
+        return validate(compiledValidator, updateForm);
+    }
+
+    private static BindingResult validate(Validator validator, Object target, Object... validationHints) {
+        WebDataBinder dataBinder = new WebDataBinder(target, "item");
+        dataBinder.setValidator(validator);
+        dataBinder.validate(validationHints);
+        return dataBinder.getBindingResult();
+    }
+
+    private static BindingResult bindingResult(Object target) {
+        return new BeanPropertyBindingResult(target, "item");
+    }
+
+    /**
+     * 검증 비용만 측정하기 위해 저장하지 않는 저장소
+     */
+    static class NoOpItemRepository extends ItemRepository {
+
+        @Override
+        public Item save(Item item) {
+            item.setId(1L);
+            return item;
+        }
+    }
+}
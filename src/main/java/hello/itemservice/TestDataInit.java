@@ -3,10 +3,10 @@ package hello.itemservice;
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
-
 @Component
 @RequiredArgsConstructor
 public class TestDataInit {
@@ -15,9 +15,15 @@ public class TestDataInit {
 
     /**
      * 테스트용 데이터 추가
+     * 저장소 복원(WAL)이 끝난 뒤에 실행되도록 애플리케이션 준비 완료 시점에 실행하고, 복원된 상품이 있으면 추가하지 않음.
+     * 상품이 있는지만 확인하므로 전체 목록(findAll)이 아닌 첫 페이지 1개만 조회함.(샤드 저장소는 전체 조회가 모든 노드를 읽음)
      */
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
+        if (!itemRepository.findPage(null, 1).getItems().isEmpty()) {
+            return;
+        }
+
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
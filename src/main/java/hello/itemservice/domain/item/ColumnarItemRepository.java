@@ -0,0 +1,564 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 메모리 사용량을 줄인 컬럼 방식 상품 저장소(item.repository.type=columnar)
+ * <p>
+ * 기본 저장소는 상품마다 Item, Long, Integer, String 객체와 Map 엔트리를 만들기 때문에 상품명을 제외하고도 상품당 100바이트 이상을 사용함.
+ * 이 저장소는 가격/수량을 int 배열에, 상품명은 UTF-8 바이트 아레나에 이어 붙여서 저장하고
+ * 조회할 때만 Item 객체(뷰)를 만들어서 반환함.(상품명을 제외하면 상품당 24바이트)
+ * <p>
+ * - ID는 1부터 순서대로 발급되며 (ID - 1)이 배열 위치(slot)가 됨.
+ * - 복원(restore)할 때 중간에 비어 있는 ID의 위치는 버전을 ABSENT(-1)로 표시하고, 조회/순회/페이징에서 제외함.
+ * - 가격/수량의 null은 Integer.MIN_VALUE로 표현함.
+ * - 반환된 Item은 복사본이므로 수정해도 저장소에 반영되지 않음.(수정은 update 사용)
+ * - 보조 인덱스가 없으므로 조건 조회는 int 배열을 순차 탐색함.(O(n))
+ * - 상품명을 수정하면 이전 바이트는 아레나에 남음.
+ * - 저장/수정은 쓰기 잠금 하나로 처리하므로, 변경 로그(WAL)에는 잠금 안에서 기록만 하고 fsync는 잠금을 놓은 뒤 기다림.
+ * (fsync 동안 조회가 막히지 않음)
+ */
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "columnar")
+public class ColumnarItemRepository extends ItemRepository {
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int NULL_VALUE = Integer.MIN_VALUE;
+    private static final long NULL_NAME = -1L;
+    private static final long ABSENT = -1L; //비어 있는 위치의 버전(상품 버전은 0부터 시작)
+    private static final int SCAN_BLOCK_SIZE = 1024;
+
+    /**
+     * 상품명 참조(long) = 아레나 청크 번호(20bit) | 청크 내 위치(20bit) | 길이(24bit)
+     */
+    private static final int ARENA_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_NAME_BYTES = (1 << 24) - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //컬럼은 CHUNK_SIZE 단위로 늘려서 큰 배열 전체를 복사하지 않도록 함.
+    private int[][] prices = new int[0][];
+    private int[][] quantities = new int[0][];
+    private long[][] versions = new long[0][];
+    private long[][] names = new long[0][];
+    private int size; //배열에서 사용한 위치 수(비어 있는 위치 포함)
+    private int itemCount; //비어 있는 위치를 제외한 상품 수
+
+    private byte[][] arena = new byte[0][];
+    private int arenaPosition;
+
+    @Override
+    public Item save(Item item) {
+        Lock barrier = changeBarrier();
+        Lock writeLock = lock.writeLock();
+        barrier.lock();
+        writeLock.lock();
+        try {
+            append(item);
+        } finally {
+            writeLock.unlock();
+            barrier.unlock();
+        }
+        awaitLogged();
+        return item;
+    }
+
+    /**
+     * 쓰기 잠금을 한 번만 잡고 저장(변경 로그에도 한 번에 기록)
+     */
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        Lock barrier = changeBarrier();
+        Lock writeLock = lock.writeLock();
+        barrier.lock();
+        writeLock.lock();
+        try {
+            byte[][] names = new byte[items.size()][];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = encodeName(items.get(i).getItemName());
+                items.get(i).setId(toId(size + i));
+            }
+            logSavedAllDeferred(items); //로그 기록에 실패하면 배열을 바꾸지 않음
+
+            for (int i = 0; i < names.length; i++) {
+                write(items.get(i), names[i]);
+            }
+        } finally {
+            writeLock.unlock();
+            barrier.unlock();
+        }
+        awaitLogged();
+        return items;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int slot = toSlot(id);
+            return slot < 0 || absent(slot) ? null : view(slot);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 목록 전체를 미리 만들지 않고, 요소에 접근할 때마다 Item 뷰를 만드는 목록을 반환함.
+     * 비어 있는 위치가 있으면(복원한 경우) 상품이 있는 위치만 먼저 모아 둠.
+     *
+     * @return 호출 시점의 상품 개수만큼의 수정할 수 없는 목록
+     */
+    @Override
+    public List<Item> findAll() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int count = itemCount;
+            int[] slots = count == size ? null : presentSlots();
+            return new AbstractList<>() {
+                @Override
+                public Item get(int index) {
+                    if (index < 0 || index >= count) {
+                        throw new IndexOutOfBoundsException("index=" + index + ", size=" + count);
+                    }
+                    return findById(toId(slots == null ? index : slots[index]));
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * SCAN_BLOCK_SIZE개씩 읽기 잠금을 잡고 Item 뷰를 만들어서 순회함.
+     * 순회하는 쪽(네트워크 전송 등)이 느려도 잠금을 오래 잡지 않으며, 메모리는 블록 하나만큼만 사용함.
+     */
+    @Override
+    public Iterable<Item> scanAll() {
+        return () -> new Iterator<>() {
+            private final List<Item> block = new ArrayList<>(SCAN_BLOCK_SIZE);
+            private int next; //다음 블록의 시작 위치(slot)
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index < block.size()) {
+                    return true;
+                }
+                block.clear();
+                index = 0;
+
+                Lock readLock = lock.readLock();
+                readLock.lock();
+                try {
+                    while (block.isEmpty() && next < size) { //블록이 모두 비어 있는 위치면 다음 블록을 읽음
+                        int to = Math.min(next + SCAN_BLOCK_SIZE, size);
+                        for (int slot = next; slot < to; slot++) {
+                            if (!absent(slot)) {
+                                block.add(view(slot));
+                            }
+                        }
+                        next = to;
+                    }
+                } finally {
+                    readLock.unlock();
+                }
+                return !block.isEmpty();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return block.get(index++);
+            }
+        };
+    }
+
+    /**
+     * ID가 배열 위치와 같으므로 커서 다음 위치부터 바로 읽음.(비어 있는 위치는 건너뜀)
+     */
+    @Override
+    public ItemPage findPage(Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int from = afterId == null ? 0 : (int) Math.max(0, Math.min(afterId, this.size));
+
+            List<Item> items = new ArrayList<>(Math.min(limit, this.size - from));
+            for (int slot = from; slot < this.size; slot++) {
+                if (absent(slot)) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new ItemPage(items, limit, items.get(limit - 1).getId());
+                }
+                items.add(view(slot));
+            }
+            return new ItemPage(items, limit, null);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        Lock barrier = changeBarrier();
+        Lock writeLock = lock.writeLock();
+        barrier.lock();
+        writeLock.lock();
+        try {
+            overwrite(existingSlot(itemId), updateParam);
+        } finally {
+            writeLock.unlock();
+            barrier.unlock();
+        }
+        awaitLogged();
+    }
+
+    /**
+     * 쓰기 잠금 안에서 버전 비교 후 수정(조회는 읽기 잠금을 잡으므로 수정 도중의 값을 보지 않음)
+     */
+    @Override
+    public boolean update(Long itemId, Item updateParam, long expectedVersion) {
+        Lock barrier = changeBarrier();
+        Lock writeLock = lock.writeLock();
+        barrier.lock();
+        writeLock.lock();
+        try {
+            int slot = existingSlot(itemId);
+            if (versions[slot >>> CHUNK_BITS][slot & CHUNK_MASK] != expectedVersion) {
+                return false;
+            }
+            overwrite(slot, updateParam);
+        } finally {
+            writeLock.unlock();
+            barrier.unlock();
+        }
+        awaitLogged();
+        return true;
+    }
+
+    /**
+     * 중간에 비어 있는 ID가 있으면 비어 있는 위치(ABSENT)로 채움.
+     */
+    @Override
+    public void restore(Item item) {
+        long id = item.getId();
+        if (id < 1 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("복원할 수 없는 상품 ID입니다. itemId=" + id);
+        }
+
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int slot = (int) (id - 1);
+            while (size <= slot) {
+                if ((size & CHUNK_MASK) == 0) {
+                    addChunk();
+                }
+                clear(size++);
+            }
+            if (absent(slot)) {
+                itemCount++;
+            }
+            write(slot, item, encodeName(item.getItemName()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findByPriceBetween(int min, int max, int limit) {
+        return scan(slot -> {
+            int price = prices[slot >>> CHUNK_BITS][slot & CHUNK_MASK];
+            return price != NULL_VALUE && price >= min && price <= max;
+        }, Comparator.comparing(Item::getPrice), limit);
+    }
+
+    @Override
+    public List<Item> findByQuantityLessThan(int threshold, int limit) {
+        return scan(slot -> {
+            int quantity = quantities[slot >>> CHUNK_BITS][slot & CHUNK_MASK];
+            return quantity != NULL_VALUE && quantity < threshold;
+        }, Comparator.comparing(Item::getQuantity), limit);
+    }
+
+    /**
+     * 접두어를 UTF-8로 한 번만 변환하고 아레나 바이트와 직접 비교함.(일치하는 상품만 String으로 변환)
+     */
+    @Override
+    public List<Item> findByItemNameStartingWith(String prefix, int limit) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        return scan(slot -> {
+            long ref = names[slot >>> CHUNK_BITS][slot & CHUNK_MASK];
+            if (ref == NULL_NAME || nameLength(ref) < prefixBytes.length) {
+                return false;
+            }
+            byte[] chunk = arena[nameChunk(ref)];
+            int offset = nameOffset(ref);
+            return Arrays.equals(chunk, offset, offset + prefixBytes.length, prefixBytes, 0, prefixBytes.length);
+        }, Comparator.comparing(Item::getItemName), limit);
+    }
+
+    @Override
+    public void clearStore() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            prices = new int[0][];
+            quantities = new int[0][];
+            versions = new long[0][];
+            names = new long[0][];
+            size = 0;
+            itemCount = 0;
+            arena = new byte[0][];
+            arenaPosition = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 상품을 순차 탐색한 뒤 (값, ID) 순서로 정렬
+     * 비어 있는 위치는 모든 값이 null이므로 조건에 맞지 않음.
+     */
+    private List<Item> scan(IntPredicate condition, Comparator<Item> order, int limit) {
+        List<Item> items = new ArrayList<>();
+
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                if (condition.test(slot)) {
+                    items.add(view(slot));
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        items.sort(order.thenComparing(Item::getId));
+        int queryLimit = Math.max(1, Math.min(limit, MAX_QUERY_SIZE));
+        return items.size() > queryLimit ? new ArrayList<>(items.subList(0, queryLimit)) : items;
+    }
+
+    private void append(Item item) {
+        byte[] name = encodeName(item.getItemName());
+        item.setId(toId(size));
+        logSavedDeferred(item); //로그 기록에 실패하면 배열을 바꾸지 않음
+        write(item, name);
+    }
+
+    /**
+     * ID(toId(size))가 발급되고 로그에 기록된 상품을 배열 끝에 추가
+     */
+    private Item write(Item item, byte[] name) {
+        int slot = size;
+        if ((slot & CHUNK_MASK) == 0) {
+            addChunk();
+        }
+        write(slot, item, name);
+        size++;
+        itemCount++;
+
+        fireSaved(item);
+        return item;
+    }
+
+    private void addChunk() {
+        int chunk = prices.length;
+        prices = Arrays.copyOf(prices, chunk + 1);
+        quantities = Arrays.copyOf(quantities, chunk + 1);
+        versions = Arrays.copyOf(versions, chunk + 1);
+        names = Arrays.copyOf(names, chunk + 1);
+        prices[chunk] = new int[CHUNK_SIZE];
+        quantities[chunk] = new int[CHUNK_SIZE];
+        versions[chunk] = new long[CHUNK_SIZE];
+        names[chunk] = new long[CHUNK_SIZE];
+    }
+
+    private int existingSlot(Long itemId) {
+        int slot = toSlot(itemId);
+        if (slot < 0 || absent(slot)) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+        }
+        return slot;
+    }
+
+    /**
+     * 수정: 버전을 올리고, 상품명이 같으면 기존 바이트를 그대로 사용(수정할 때마다 아레나에 같은 이름을 다시 쓰지 않음)
+     */
+    private void overwrite(int slot, Item updateParam) {
+        int chunk = slot >>> CHUNK_BITS;
+        int index = slot & CHUNK_MASK;
+        byte[] name = encodeName(updateParam.getItemName());
+
+        if (hasWriteAheadListeners()) {
+            Item updated = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+            updated.setId(toId(slot));
+            updated.setVersion(versions[chunk][index] + 1);
+            logUpdatedDeferred(updated);
+        }
+
+        prices[chunk][index] = updateParam.getPrice() == null ? NULL_VALUE : updateParam.getPrice();
+        quantities[chunk][index] = updateParam.getQuantity() == null ? NULL_VALUE : updateParam.getQuantity();
+        versions[chunk][index]++;
+
+        if (!sameName(names[chunk][index], name)) {
+            names[chunk][index] = appendName(name);
+        }
+
+        if (hasChangeListeners()) { //알림을 받을 곳이 없으면 조회용 Item을 만들지 않음
+            fireUpdated(view(slot));
+        }
+    }
+
+    private void write(int slot, Item item, byte[] name) {
+        int chunk = slot >>> CHUNK_BITS;
+        int index = slot & CHUNK_MASK;
+        prices[chunk][index] = item.getPrice() == null ? NULL_VALUE : item.getPrice();
+        quantities[chunk][index] = item.getQuantity() == null ? NULL_VALUE : item.getQuantity();
+        versions[chunk][index] = item.getVersion();
+        names[chunk][index] = appendName(name);
+    }
+
+    private void clear(int slot) {
+        int chunk = slot >>> CHUNK_BITS;
+        int index = slot & CHUNK_MASK;
+        prices[chunk][index] = NULL_VALUE;
+        quantities[chunk][index] = NULL_VALUE;
+        versions[chunk][index] = ABSENT;
+        names[chunk][index] = NULL_NAME;
+    }
+
+    private boolean absent(int slot) {
+        return versions[slot >>> CHUNK_BITS][slot & CHUNK_MASK] == ABSENT;
+    }
+
+    /**
+     * @return 상품이 있는 위치(읽기 잠금 안에서 호출)
+     */
+    private int[] presentSlots() {
+        int[] slots = new int[itemCount];
+        int count = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (!absent(slot)) {
+                slots[count++] = slot;
+            }
+        }
+        return slots;
+    }
+
+    private Item view(int slot) {
+        int chunk = slot >>> CHUNK_BITS;
+        int index = slot & CHUNK_MASK;
+        int price = prices[chunk][index];
+        int quantity = quantities[chunk][index];
+
+        Item item = new Item(readName(names[chunk][index]),
+                price == NULL_VALUE ? null : price,
+                quantity == NULL_VALUE ? null : quantity);
+        item.setId(toId(slot));
+        item.setVersion(versions[chunk][index]);
+        return item;
+    }
+
+    private static byte[] encodeName(String itemName) {
+        if (itemName == null) {
+            return null;
+        }
+
+        byte[] bytes = itemName.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("상품명이 너무 깁니다. length=" + bytes.length);
+        }
+        return bytes;
+    }
+
+    private boolean sameName(long ref, byte[] bytes) {
+        if (ref == NULL_NAME || bytes == null) {
+            return ref == NULL_NAME && bytes == null;
+        }
+        int offset = nameOffset(ref);
+        return Arrays.equals(arena[nameChunk(ref)], offset, offset + nameLength(ref), bytes, 0, bytes.length);
+    }
+
+    /**
+     * @param bytes UTF-8 상품명(null이면 저장하지 않음)
+     * @return 아레나 위치(청크, 오프셋, 길이)
+     */
+    private long appendName(byte[] bytes) {
+        if (bytes == null) {
+            return NULL_NAME;
+        }
+
+        if (arena.length == 0 || arenaPosition + bytes.length > arena[arena.length - 1].length) {
+            arena = Arrays.copyOf(arena, arena.length + 1);
+            arena[arena.length - 1] = new byte[Math.max(ARENA_CHUNK_SIZE, bytes.length)];
+            arenaPosition = 0;
+        }
+
+        int chunk = arena.length - 1;
+        System.arraycopy(bytes, 0, arena[chunk], arenaPosition, bytes.length);
+        long ref = ((long) chunk << 44) | ((long) arenaPosition << 24) | bytes.length;
+        arenaPosition += bytes.length;
+        return ref;
+    }
+
+    private String readName(long ref) {
+        if (ref == NULL_NAME) {
+            return null;
+        }
+        return new String(arena[nameChunk(ref)], nameOffset(ref), nameLength(ref), StandardCharsets.UTF_8);
+    }
+
+    private static int nameChunk(long ref) {
+        return (int) (ref >>> 44);
+    }
+
+    private static int nameOffset(long ref) {
+        return (int) ((ref >>> 24) & 0xFFFFF);
+    }
+
+    private static int nameLength(long ref) {
+        return (int) (ref & 0xFFFFFF);
+    }
+
+    private int toSlot(Long id) {
+        if (id == null || id < 1 || id > size) {
+            return -1;
+        }
+        return (int) (id - 1);
+    }
+
+    private static Long toId(int slot) {
+        return slot + 1L;
+    }
+}
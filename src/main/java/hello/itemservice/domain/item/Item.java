@@ -32,6 +32,8 @@ public class Item {
     //@Max(value = 9999, groups = SaveCheck.class) //최대 9999까지만 허용.
     private Integer quantity;
 
+    private long version; //저장소에서 수정(update)할 때마다 1씩 증가(낙관적 동시성 제어, 화면 렌더링 캐시, ETag에 사용)
+
     public Item() {
     }
 
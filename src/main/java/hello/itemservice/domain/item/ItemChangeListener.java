@@ -0,0 +1,69 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+
+/**
+ * 저장소 변경 알림
+ * 같은 상품에 대한 알림은 변경된 순서대로 호출되도록 저장소가 상품 단위 락 안에서 호출함.
+ * 따라서 구현체는 오래 걸리는 작업을 하면 같은 락을 쓰는 다른 상품의 저장/수정도 함께 기다리게 됨.
+ * <p>
+ * 변경 로그(isWriteAhead() = true)는 저장소에 반영하기 전에, 나머지는 반영된 뒤에 알림을 받음.
+ */
+public interface ItemChangeListener {
+
+    /**
+     * @param item ID가 발급된 저장 직후의 상품
+     */
+    void saved(Item item);
+
+    /**
+     * 여러 상품을 한 번에 저장(saveAll)할 때 호출
+     * 기본 구현은 상품마다 saved()를 호출하고, 한 번에 처리하는 편이 효율적인 구현체(WAL)는 재정의함.
+     *
+     * @param items ID가 발급된 상품 목록
+     */
+    default void savedAll(List<Item> items) {
+        for (Item item : items) {
+            saved(item);
+        }
+    }
+
+    /**
+     * @param item 수정이 반영된 상품
+     */
+    void updated(Item item);
+
+    /**
+     * 저장소 전체를 막는 잠금(ColumnarItemRepository의 쓰기 잠금) 안에서 호출되는 반영 전 알림
+     * 변경 로그(WAL)는 기록(버퍼에 추가)만 하고, 내구성 대기(fsync)는 저장소가 잠금을 놓은 뒤 awaitDeferred()에서 함.
+     * 기본 구현은 saved()를 호출함.
+     */
+    default void savedDeferred(Item item) {
+        saved(item);
+    }
+
+    default void savedAllDeferred(List<Item> items) {
+        savedAll(items);
+    }
+
+    default void updatedDeferred(Item item) {
+        updated(item);
+    }
+
+    /**
+     * 지금까지 *Deferred로 받은 변경이 기록될 때까지 기다림.(저장소가 잠금을 놓은 뒤 호출)
+     */
+    default void awaitDeferred() {
+    }
+
+    /**
+     * 저장소에 반영하기 전에 알림을 받을지 여부
+     * true이면 알림에서 예외가 발생했을 때 저장소를 바꾸지 않으므로, 기록하지 못한 변경이 메모리에만 남지 않음.(WAL)
+     * false(기본값)이면 반영된 뒤에 알림을 받음.(캐시 무효화는 반영 전에 하면 이전 상품을 다시 캐시할 수 있음)
+     *
+     * @return
+     */
+    default boolean isWriteAhead() {
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 상품 필드 하나에 대한 정렬 보조 인덱스((필드 값, 상품 ID) 순서)
+ * 범위/접두어 조회는 시작 위치를 O(log n)으로 찾은 뒤 조건을 벗어날 때까지만 순회하므로 O(log n + k)로 동작함.
+ * 필드 값이 null인 상품은 인덱스에 넣지 않음.
+ *
+ * @param <K> 필드 값 타입
+ */
+class ItemIndex<K extends Comparable<? super K>> {
+
+    private final Function<Item, K> keyExtractor;
+    private final ConcurrentSkipListSet<Entry<K>> entries = new ConcurrentSkipListSet<>();
+
+    ItemIndex(Function<Item, K> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    void add(Item item) {
+        K key = keyExtractor.apply(item);
+        if (key != null) {
+            entries.add(new Entry<>(key, item.getId()));
+        }
+    }
+
+    /**
+     * 상품의 현재 필드 값 기준으로 제거하므로, 상품을 수정하기 전에 호출해야 함.
+     */
+    void remove(Item item) {
+        K key = keyExtractor.apply(item);
+        if (key != null) {
+            entries.remove(new Entry<>(key, item.getId()));
+        }
+    }
+
+    /**
+     * 수정된 상품의 인덱스 항목을 교체(상품을 수정한 뒤 호출)
+     * 필드 값이 바뀌지 않았으면 항목을 새로 만들지 않음.
+     *
+     * @param oldKey 수정 전 필드 값
+     */
+    void update(K oldKey, Item item) {
+        K key = keyExtractor.apply(item);
+        if (Objects.equals(oldKey, key)) {
+            return;
+        }
+        if (oldKey != null) {
+            entries.remove(new Entry<>(oldKey, item.getId()));
+        }
+        if (key != null) {
+            entries.add(new Entry<>(key, item.getId()));
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * from 이상인 첫 항목부터 condition을 만족하는 동안 상품 ID를 수집
+     *
+     * @param from      시작 값(null이면 가장 작은 값부터)
+     * @param condition 계속 순회할 조건(처음 false가 되는 곳에서 멈춤)
+     * @param limit     최대 개수
+     * @return 필드 값 순서의 상품 ID 목록
+     */
+    List<Long> scan(K from, Predicate<K> condition, int limit) {
+        NavigableSet<Entry<K>> tail = from == null ? entries : entries.tailSet(new Entry<>(from, Long.MIN_VALUE), true);
+
+        List<Long> ids = new ArrayList<>();
+        for (Entry<K> entry : tail) {
+            if (ids.size() == limit || !condition.test(entry.key)) {
+                break;
+            }
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    private static final class Entry<K extends Comparable<? super K>> implements Comparable<Entry<K>> {
+
+        private final K key;
+        private final long id;
+
+        private Entry(K key, long id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry<K> o) {
+            int result = key.compareTo(o.key);
+            return result != 0 ? result : Long.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) o;
+            return id == other.id && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + Long.hashCode(id);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 목록 한 페이지(키셋 페이징)
+ * 다음 페이지는 OFFSET이 아니라 마지막 상품 ID(nextCursor) 이후부터 조회하므로, 저장소 크기와 상관없이 일정한 비용으로 조회함.
+ */
+@Getter
+public class ItemPage {
+
+    private final List<Item> items;
+
+    private final int size; //요청에 실제로 적용된 페이지 크기
+
+    private final Long nextCursor; //다음 페이지가 없으면 null
+
+    public ItemPage(List<Item> items, int size, Long nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+}
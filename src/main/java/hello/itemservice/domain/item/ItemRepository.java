@@ -1,41 +1,433 @@
 package hello.itemservice.domain.item;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * 기본 상품 저장소(item.repository.type=memory, 생략 시 기본값)
+ * 메모리 사용량이 중요한 경우 ColumnarItemRepository를 사용할 수 있음.
+ * 여러 애플리케이션이 상품을 공유하거나 한 JVM에 담을 수 없는 경우 ShardedItemRepository(샤드 노드)를 사용할 수 있음.
+ */
 @Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "memory", matchIfMissing = true)
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_QUERY_SIZE = 1000;
+
+    /**
+     * 동시 요청에서도 저장 누락이 없도록 동시성 Map 사용
+     * ID 순서로 정렬된 ConcurrentSkipListMap을 사용해서 ID 기준 키셋 페이징(findPage)을 지원함.
+     * ID는 AtomicLong으로 발급해서 중복 ID가 생기지 않도록 함.
+     */
+    private static final ConcurrentNavigableMap<Long, Item> store = new ConcurrentSkipListMap<>(); //static
+    private static final AtomicLong sequence = new AtomicLong(); //static
+
+    /**
+     * findAll() 조회용 스냅샷
+     * 스냅샷 파일 등 전체 목록이 필요한 곳이 매번 전체를 복사하지 않도록, 변경된 경우에만 새로 만든 불변 목록을 공유함.
+     * (목록 화면은 findPage로 한 페이지만 조회함)
+     * modCount는 저장소가 변경될 때마다 증가하고, 스냅샷의 version과 다르면 다시 만듦.
+     */
+    private static final AtomicLong modCount = new AtomicLong(); //static
+    private static volatile Snapshot snapshot = new Snapshot(0L, Collections.emptyList()); //static
+
+    /**
+     * 보조 인덱스(가격, 수량, 상품명)
+     * save/update 시 함께 갱신되며, 전체 상품을 훑지 않고 범위/접두어 조회를 할 수 있음.
+     */
+    private static final ItemIndex<Integer> priceIndex = new ItemIndex<>(Item::getPrice); //static
+    private static final ItemIndex<Integer> quantityIndex = new ItemIndex<>(Item::getQuantity); //static
+    private static final ItemIndex<String> itemNameIndex = new ItemIndex<>(Item::getItemName); //static
+    private static final List<ItemIndex<?>> indexes = List.of(priceIndex, quantityIndex, itemNameIndex);
+
+    /**
+     * 수정(update)은 상품 단위로 원자적으로 처리되어야 하므로, ID 기준으로 나눈 락(lock striping)을 사용함.
+     * 서로 다른 상품의 수정은 대부분 다른 락을 잡기 때문에 경합이 적음.
+     */
+    private static final int LOCK_STRIPES = 64; //2의 제곱수
+    private static final Object[] locks = new Object[LOCK_STRIPES]; //static
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 저장/수정은 로그 기록부터 저장소 반영(modCount 증가)까지 읽기 잠금을 잡고, 스냅샷은 쓰기 잠금을 잡고 로그 위치를 읽음.
+     * 로그에는 기록됐지만 아직 저장소에 반영되지 않은 변경이 스냅샷에서 빠지고 로그에서도 제거되는 것을 막음.
+     */
+    private static final ReadWriteLock snapshotBarrier = new ReentrantReadWriteLock(); //static
+
+    private final List<ItemChangeListener> writeAheadListeners = new CopyOnWriteArrayList<>(); //반영 전 알림(WAL)
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>(); //반영 후 알림
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        Lock barrier = changeBarrier();
+        barrier.lock();
+        try {
+            item.setId(sequence.incrementAndGet());
+
+            synchronized (lockFor(item.getId())) {
+                logSaved(item); //로그 기록에 실패하면 저장소를 바꾸지 않음
+                store.put(item.getId(), item);
+                addToIndexes(item);
+                fireSaved(item);
+            }
+
+            modCount.incrementAndGet();
+        } finally {
+            barrier.unlock();
+        }
         return item;
     }
 
+    /**
+     * 여러 상품을 한 번에 저장(대량 등록)
+     * ID는 연속된 범위로 한 번에 발급하고, 스냅샷 버전(modCount)은 마지막에 한 번만 올림.
+     * 변경 로그에도 한 번에 기록하므로 BATCH 모드의 WAL은 상품마다가 아니라 목록 전체에 대해 fsync를 한 번만 기다림.
+     *
+     * @param items 저장할 상품 목록(ID가 설정됨)
+     * @return
+     */
+    public List<Item> saveAll(List<Item> items) {
+        Lock barrier = changeBarrier();
+        barrier.lock();
+        try {
+            long firstId = sequence.getAndAdd(items.size()) + 1;
+
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(firstId + i);
+            }
+            logSavedAll(items); //아직 발급되지 않은 ID이므로 다른 요청이 먼저 변경할 수 없어서 상품 락 없이 기록함
+
+            for (Item item : items) {
+                synchronized (lockFor(item.getId())) {
+                    store.put(item.getId(), item);
+                    addToIndexes(item);
+                    fireSaved(item);
+                }
+            }
+
+            modCount.incrementAndGet();
+        } finally {
+            barrier.unlock();
+        }
+        return items;
+    }
+
     public Item findById(Long id) {
         return store.get(id);
     }
 
+    /**
+     * 저장소가 변경되지 않았다면 복사 없이 같은 불변 목록을 반환함.
+     * update()는 Item을 새 객체로 교체하므로 수정 후에도 스냅샷을 다시 만듦.
+     *
+     * @return 수정할 수 없는 상품 목록
+     */
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        Snapshot current = snapshot;
+        long version = modCount.get(); //복사 전에 읽어야 복사 도중 변경된 내용을 다음 조회에서 다시 반영함.
+
+        if (current.version == version) {
+            return current.items;
+        }
+
+        List<Item> items = Collections.unmodifiableList(new ArrayList<>(store.values()));
+        snapshot = new Snapshot(version, items);
+        return items;
+    }
+
+    /**
+     * 전체 상품을 복사하지 않고 ID 순서로 순회(내보내기 등 대량 읽기용)
+     * 저장소를 직접 순회하므로 순회 도중의 저장/수정이 반영될 수도 있고 반영되지 않을 수도 있음.(weakly consistent)
+     *
+     * @return 수정할 수 없는 상품 순회
+     */
+    public Iterable<Item> scanAll() {
+        return Collections.unmodifiableCollection(store.values());
+    }
+
+    /**
+     * ID 순서 키셋 페이징
+     * afterId 다음 ID부터 최대 size개를 조회하고, 남은 상품이 있으면 마지막 ID를 다음 커서로 반환함.
+     *
+     * @param afterId 이전 페이지의 마지막 ID(첫 페이지는 null)
+     * @param size    페이지 크기(1 ~ MAX_PAGE_SIZE로 보정)
+     * @return
+     */
+    public ItemPage findPage(Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        NavigableMap<Long, Item> tail = afterId == null ? store : store.tailMap(afterId, false);
+
+        List<Item> items = new ArrayList<>(limit);
+        for (Item item : tail.values()) {
+            if (items.size() == limit) {
+                return new ItemPage(items, limit, items.get(limit - 1).getId());
+            }
+            items.add(item);
+        }
+        return new ItemPage(items, limit, null);
     }
 
+    /**
+     * 버전과 관계없이 수정(마지막 수정이 반영됨)
+     */
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        Lock barrier = changeBarrier();
+        barrier.lock();
+        try {
+            synchronized (lockFor(itemId)) {
+                replace(existing(itemId), updateParam);
+            }
+
+            modCount.incrementAndGet();
+        } finally {
+            barrier.unlock();
+        }
+    }
+
+    /**
+     * 낙관적 동시성 제어 수정(compare-and-set)
+     * 상품의 현재 버전이 expectedVersion과 같을 때만 수정하고, 그 사이 다른 수정이 먼저 반영되었으면 아무것도 바꾸지 않음.
+     *
+     * @param expectedVersion 수정 화면을 열 때 읽은 상품 버전
+     * @return 버전이 달라서 수정하지 않았으면 false
+     */
+    public boolean update(Long itemId, Item updateParam, long expectedVersion) {
+        Lock barrier = changeBarrier();
+        barrier.lock();
+        try {
+            synchronized (lockFor(itemId)) {
+                Item findItem = existing(itemId);
+                if (findItem.getVersion() != expectedVersion) {
+                    return false;
+                }
+                replace(findItem, updateParam);
+            }
+
+            modCount.incrementAndGet();
+        } finally {
+            barrier.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 저장된 Item을 고치지 않고, 수정된 값으로 만든 새 Item으로 교체함.
+     * 조회하는 쪽(findById, findAll 스냅샷, 캐시)은 수정 전 또는 수정 후 상품 하나만 보게 되고, 반쯤 수정된 상품은 볼 수 없음.
+     * 교체하기 전에 로그에 먼저 기록하므로, 기록에 실패하면 수정 전 상품이 그대로 남음.
+     */
+    private void replace(Item findItem, Item updateParam) {
+        Item updated = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+        updated.setId(findItem.getId());
+        updated.setVersion(findItem.getVersion() + 1);
+        logUpdated(updated);
+        store.put(updated.getId(), updated);
+
+        priceIndex.update(findItem.getPrice(), updated); //값이 바뀐 인덱스만 교체
+        quantityIndex.update(findItem.getQuantity(), updated);
+        itemNameIndex.update(findItem.getItemName(), updated);
+        fireUpdated(updated);
+    }
+
+    private static Item existing(Long itemId) {
+        Item findItem = store.get(itemId);
+        if (findItem == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+        }
+        return findItem;
+    }
+
+    /**
+     * 로그/스냅샷 등에서 읽은 상품을 ID 그대로 복원(변경 알림 없음)
+     * 이후 새로 발급되는 ID가 복원된 ID와 겹치지 않도록 sequence도 함께 올림.
+     */
+    public void restore(Item item) {
+        synchronized (lockFor(item.getId())) {
+            Item previous = store.put(item.getId(), item);
+            if (previous != null) {
+                priceIndex.remove(previous);
+                quantityIndex.remove(previous);
+                itemNameIndex.remove(previous);
+            }
+            addToIndexes(item);
+        }
+
+        sequence.accumulateAndGet(item.getId(), Math::max);
+        modCount.incrementAndGet();
+    }
+
+    public void addChangeListener(ItemChangeListener listener) {
+        (listener.isWriteAhead() ? writeAheadListeners : listeners).add(listener);
+    }
+
+    /**
+     * 스냅샷이 로그 위치를 읽는 동안 잡는 잠금
+     * 잡고 있는 동안에는 진행 중인 저장/수정이 없으므로, 그때까지 로그에 기록된 변경은 모두 저장소에 반영되어 있음.
+     */
+    public Lock snapshotBarrier() {
+        return snapshotBarrier.writeLock();
+    }
+
+    /**
+     * 가격 범위 조회(min 이상 max 이하, 가격 순)
+     */
+    public List<Item> findByPriceBetween(int min, int max, int limit) {
+        return findAllById(priceIndex.scan(min, price -> price <= max, queryLimit(limit)));
+    }
+
+    /**
+     * 수량이 threshold 미만인 상품 조회(재주문 대상, 수량 순)
+     */
+    public List<Item> findByQuantityLessThan(int threshold, int limit) {
+        return findAllById(quantityIndex.scan(null, quantity -> quantity < threshold, queryLimit(limit)));
+    }
+
+    /**
+     * 상품명 접두어 조회(대소문자 구분, 상품명 순)
+     */
+    public List<Item> findByItemNameStartingWith(String prefix, int limit) {
+        return findAllById(itemNameIndex.scan(prefix, itemName -> itemName.startsWith(prefix), queryLimit(limit)));
     }
 
     public void clearStore() {
         store.clear();
+        indexes.forEach(ItemIndex::clear);
+        modCount.incrementAndGet();
+    }
+
+    /**
+     * 저장/수정이 로그 기록부터 저장소 반영까지 잡는 잠금(snapshotBarrier 참고)
+     */
+    protected Lock changeBarrier() {
+        return snapshotBarrier.readLock();
+    }
+
+    protected boolean hasChangeListeners() {
+        return !listeners.isEmpty();
+    }
+
+    protected boolean hasWriteAheadListeners() {
+        return !writeAheadListeners.isEmpty();
+    }
+
+    /**
+     * 저장소에 반영하기 전에 호출(예외가 발생하면 반영하지 않아야 함)
+     */
+    protected void logSaved(Item item) {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.saved(item);
+        }
+    }
+
+    protected void logSavedAll(List<Item> items) {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.savedAll(items);
+        }
+    }
+
+    protected void logUpdated(Item item) {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.updated(item);
+        }
+    }
+
+    /**
+     * 저장소 전체를 막는 잠금 안에서 호출: 변경 로그에 기록만 하고 내구성 대기는 잠금을 놓은 뒤 awaitLogged()로 함.
+     */
+    protected void logSavedDeferred(Item item) {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.savedDeferred(item);
+        }
+    }
+
+    protected void logSavedAllDeferred(List<Item> items) {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.savedAllDeferred(items);
+        }
+    }
+
+    protected void logUpdatedDeferred(Item item) {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.updatedDeferred(item);
+        }
+    }
+
+    /**
+     * log*Deferred로 기록한 변경이 기록될 때까지 기다림.(잠금 밖에서 호출)
+     */
+    protected void awaitLogged() {
+        for (ItemChangeListener listener : writeAheadListeners) {
+            listener.awaitDeferred();
+        }
+    }
+
+    protected void fireSaved(Item item) {
+        for (ItemChangeListener listener : listeners) {
+            listener.saved(item);
+        }
+    }
+
+    protected void fireUpdated(Item item) {
+        for (ItemChangeListener listener : listeners) {
+            listener.updated(item);
+        }
+    }
+
+    /**
+     * 저장할 때마다 호출되므로 람다(indexes.forEach) 대신 인덱스를 직접 호출함.(요청마다 람다 객체를 만들지 않음)
+     */
+    private static void addToIndexes(Item item) {
+        priceIndex.add(item);
+        quantityIndex.add(item);
+        itemNameIndex.add(item);
+    }
+
+    private List<Item> findAllById(List<Long> ids) {
+        List<Item> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Item item = store.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static int queryLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_QUERY_SIZE));
+    }
+
+    private static Object lockFor(Long itemId) {
+        long h = itemId ^ (itemId >>> 32);
+        return locks[(int) h & (LOCK_STRIPES - 1)];
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<Item> items;
+
+        private Snapshot(long version, List<Item> items) {
+            this.version = version;
+            this.items = items;
+        }
     }
 
 }
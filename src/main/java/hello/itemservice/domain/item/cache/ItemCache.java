@@ -0,0 +1,122 @@
+package hello.itemservice.domain.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 상세/수정 화면용 조회 캐시
+ * <p>
+ * 저장소 앞에서 최근에 많이 조회된 상품을 보관함.(Caffeine, W-TinyLFU)
+ * - 최대 개수(maximumSize)를 넘으면 조회 빈도가 낮은 상품부터 제거하고, 저장 후 ttl이 지나면 만료됨.
+ * - 저장소 변경 알림(ItemChangeListener)을 받아서 저장/수정된 상품을 캐시에서 제거함.
+ * - 반환된 상품은 여러 요청이 공유하므로 읽기 전용으로 사용해야 함.
+ * <p>
+ * 조회 도중(저장소에서 읽은 뒤 캐시에 넣기 전) 수정이 일어나면 수정 전 상품이 캐시에 남을 수 있으므로,
+ * 변경 횟수(changes)를 읽기 전후로 비교해서 달라졌으면 방금 넣은 상품을 다시 제거함.
+ * 저장소 잠금 안에서 호출되는 변경 알림이 캐시 계산을 기다리지 않도록 Cache.get(key, loader)는 사용하지 않음.
+ */
+public class ItemCache implements ItemChangeListener {
+
+    private final ItemRepository itemRepository;
+    private final Cache<Long, Item> cache;
+    private final boolean enabled;
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * @param maximumSize 최대 상품 수(0이면 캐시하지 않음)
+     * @param ttl         저장 후 만료 시간
+     */
+    public ItemCache(ItemRepository itemRepository, long maximumSize, Duration ttl) {
+        this(itemRepository, maximumSize, ttl, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    ItemCache(ItemRepository itemRepository, long maximumSize, Duration ttl, Ticker ticker, Executor executor) {
+        this.itemRepository = itemRepository;
+        this.enabled = maximumSize > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return 상품(없으면 null, 없는 상품은 캐시하지 않음)
+     */
+    public Item findById(Long itemId) {
+        if (!enabled) {
+            return itemRepository.findById(itemId); //크기 0인 캐시도 비동기로 제거하기 전까지는 남아 있으므로 거치지 않음
+        }
+
+        Item item = cache.getIfPresent(itemId);
+        if (item != null) {
+            return item;
+        }
+
+        long version = changes.get();
+        item = itemRepository.findById(itemId);
+        if (item != null) {
+            cache.put(itemId, item);
+            if (changes.get() != version) {
+                cache.asMap().remove(itemId, item); //읽는 도중 변경됨
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public void saved(Item item) {
+        invalidate(item.getId());
+    }
+
+    @Override
+    public void updated(Item item) {
+        invalidate(item.getId());
+    }
+
+    public void invalidate(Long itemId) {
+        changes.incrementAndGet(); //제거하기 전에 올려야 조회 중인 쪽에서 변경을 확인할 수 있음
+        cache.invalidate(itemId);
+    }
+
+    public void invalidateAll() {
+        changes.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public ItemCacheStats stats() {
+        cache.cleanUp(); //대기 중인 제거 작업을 반영한 개수
+        return new ItemCacheStats(cache.stats(), cache.estimatedSize());
+    }
+
+    @Getter
+    public static class ItemCacheStats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final double hitRate;
+        private final long evictionCount;
+        private final long size;
+
+        ItemCacheStats(CacheStats stats, long size) {
+            this.hitCount = stats.hitCount();
+            this.missCount = stats.missCount();
+            this.hitRate = stats.hitRate();
+            this.evictionCount = stats.evictionCount();
+            this.size = size;
+        }
+    }
+}
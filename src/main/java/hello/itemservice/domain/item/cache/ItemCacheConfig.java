@@ -0,0 +1,35 @@
+package hello.itemservice.domain.item.cache;
+
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 상품 조회 캐시 설정
+ * item.cache.maximum-size=0이면 캐시하지 않고 항상 저장소에서 조회함.
+ * <p>
+ * item.repository.type=sharded이면 다른 애플리케이션 인스턴스의 수정은 변경 알림으로 오지 않으므로,
+ * 캐시한 상품(과 그 버전으로 만든 ETag)이 오래된 내용을 보여주지 않도록 캐시하지 않음.
+ */
+@Slf4j
+@Configuration
+public class ItemCacheConfig {
+
+    @Bean
+    public ItemCache itemCache(ItemRepository itemRepository,
+                               @Value("${item.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${item.cache.ttl-seconds:600}") long ttlSeconds,
+                               @Value("${item.repository.type:memory}") String repositoryType) {
+        if ("sharded".equals(repositoryType) && maximumSize > 0) {
+            log.info("샤드 저장소는 다른 인스턴스의 수정을 알 수 없으므로 상품 조회 캐시를 사용하지 않음");
+            maximumSize = 0;
+        }
+        ItemCache itemCache = new ItemCache(itemRepository, maximumSize, Duration.ofSeconds(ttlSeconds));
+        itemRepository.addChangeListener(itemCache);
+        return itemCache;
+    }
+}
@@ -0,0 +1,62 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 저장소 영속화 설정(item.wal.enabled=true)
+ * 시작할 때 스냅샷과 로그를 읽어서 저장소를 복원한 뒤, 이후의 저장/수정을 로그에 기록함.
+ * item.snapshot.enabled=true이면 주기적으로 스냅샷을 만들고 로그를 압축함.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "item.wal.enabled", havingValue = "true")
+public class ItemPersistenceConfig {
+
+    @Value("${item.snapshot.path:data/items.snapshot}")
+    private String snapshotPath;
+
+    @Bean(destroyMethod = "close")
+    public ItemWriteAheadLog itemWriteAheadLog(ItemRepository itemRepository,
+                                               @Value("${item.wal.path:data/items.wal}") String path,
+                                               @Value("${item.wal.durability:BATCH}") ItemWriteAheadLog.Durability durability,
+                                               @Value("${item.wal.flush-interval-ms:100}") long flushIntervalMillis) throws IOException {
+        Path walPath = createParentDirectories(Paths.get(path));
+        ItemWriteAheadLog wal = new ItemWriteAheadLog(walPath, durability, flushIntervalMillis);
+
+        //1. 스냅샷 복원 2. 스냅샷 이후의 로그만 다시 적용
+        long start = System.nanoTime();
+        long walPosition = ItemSnapshotFile.load(Paths.get(snapshotPath), itemRepository::restore);
+        long count = wal.replay(walPosition, itemRepository::restore);
+        log.info("저장소 복원 완료 snapshot={}, wal={}, durability={}, walRecords={}, elapsed={}ms",
+                snapshotPath, walPath, durability, count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        itemRepository.addChangeListener(wal);
+        return wal;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.snapshot.enabled", havingValue = "true")
+    public ItemSnapshotter itemSnapshotter(ItemRepository itemRepository, ItemWriteAheadLog itemWriteAheadLog,
+                                           @Value("${item.snapshot.interval-seconds:300}") long intervalSeconds) throws IOException {
+        Path path = createParentDirectories(Paths.get(snapshotPath));
+        return new ItemSnapshotter(itemRepository, itemWriteAheadLog, path, intervalSeconds);
+    }
+
+    private static Path createParentDirectories(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        return path;
+    }
+}
@@ -0,0 +1,185 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 상품 저장소 스냅샷 파일
+ * <p>
+ * [파일 형식]
+ * magic(int) | version(int) | walPosition(long) | count(long) | crc32(int) | 레코드...
+ * - walPosition: 스냅샷을 시작할 때의 로그 위치. 복원 시 스냅샷을 읽은 뒤 이 위치부터 로그를 다시 적용함.
+ * - 레코드: id(long) | version(long) | price(int) | quantity(int) | nameLength(int) | name(UTF-8) (null 표현은 WAL과 같음)
+ * - crc32: 레코드 전체에 대한 값
+ * <p>
+ * 임시 파일에 쓴 뒤 원자적으로 교체하므로 쓰는 도중 장애가 나도 이전 스냅샷이 유지됨.
+ * 읽을 때는 메모리 매핑(mmap)으로 읽어서 시스템 콜과 복사를 줄임.
+ */
+public final class ItemSnapshotFile {
+
+    private static final int MAGIC = 0x49534E50; //"ISNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    private static final int RECORD_HEADER_SIZE = 8 + 8 + 4 + 4 + 4;
+    private static final int NULL_VALUE = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final long MAX_MAP_SIZE = 1L << 30; //한 번에 매핑할 최대 크기
+
+    private ItemSnapshotFile() {
+    }
+
+    /**
+     * @param path        스냅샷 파일 경로
+     * @param walPosition 스냅샷을 만들기 전에 얻은 로그 위치(ItemWriteAheadLog.position())
+     * @param items       저장할 상품 목록
+     * @return 저장한 상품 수
+     */
+    public static long write(Path path, long walPosition, Iterable<Item> items) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+            for (Item item : items) {
+                byte[] name = item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+                int recordSize = RECORD_HEADER_SIZE + (name == null ? 0 : name.length);
+
+                if (buffer.remaining() < recordSize) {
+                    flush(channel, buffer, crc);
+                }
+                ByteBuffer target = recordSize <= buffer.capacity() ? buffer : ByteBuffer.allocate(recordSize);
+
+                target.putLong(item.getId());
+                target.putLong(item.getVersion());
+                target.putInt(item.getPrice() == null ? NULL_VALUE : item.getPrice());
+                target.putInt(item.getQuantity() == null ? NULL_VALUE : item.getQuantity());
+                target.putInt(name == null ? -1 : name.length);
+                if (name != null) {
+                    target.put(name);
+                }
+                if (target != buffer) {
+                    flush(channel, target, crc);
+                }
+                count++;
+            }
+            flush(channel, buffer, crc);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(walPosition).putLong(count).putInt((int) crc.getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * 스냅샷을 읽어서 상품을 전달함.
+     * 체크섬을 먼저 확인한 뒤 전달하므로, 손상된 스냅샷의 상품은 저장소에 반영되지 않음.
+     *
+     * @return 스냅샷의 로그 위치(스냅샷 파일이 없으면 0)
+     * @throws IOException 스냅샷 파일이 손상된 경우
+     */
+    public static long load(Path path, Consumer<Item> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0L;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("스냅샷 파일이 손상되었습니다. path=" + path);
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("스냅샷 파일 형식이 아닙니다. path=" + path);
+            }
+            long walPosition = header.getLong();
+            long count = header.getLong();
+            int expectedCrc = header.getInt();
+
+            //1. 체크섬 확인
+            CRC32 crc = new CRC32();
+            for (long position = HEADER_SIZE; position < size; position += MAX_MAP_SIZE) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_MAP_SIZE, size - position)));
+            }
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("스냅샷 체크섬이 맞지 않습니다. path=" + path);
+            }
+
+            //2. 레코드 복원(매핑 경계에 걸친 레코드는 다음 매핑에서 다시 읽음)
+            long restored = 0;
+            long position = HEADER_SIZE;
+            while (position < size) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_MAP_SIZE, size - position));
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    int start = buffer.position();
+                    int nameLength = buffer.getInt(start + RECORD_HEADER_SIZE - 4);
+                    if (buffer.remaining() < RECORD_HEADER_SIZE + Math.max(nameLength, 0)) {
+                        break;
+                    }
+                    consumer.accept(decode(buffer, nameLength));
+                    restored++;
+                }
+                if (buffer.position() == 0) {
+                    throw new IOException("스냅샷 레코드가 손상되었습니다. path=" + path + ", position=" + position);
+                }
+                position += buffer.position();
+            }
+
+            if (restored != count) {
+                throw new IOException("스냅샷 상품 수가 맞지 않습니다. path=" + path + ", expected=" + count + ", actual=" + restored);
+            }
+            return walPosition;
+        }
+    }
+
+    private static Item decode(ByteBuffer buffer, int nameLength) {
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        int price = buffer.getInt();
+        int quantity = buffer.getInt();
+        buffer.getInt(); //nameLength
+
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            buffer.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Item item = new Item(name, price == NULL_VALUE ? null : price, quantity == NULL_VALUE ? null : quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 주기적으로 저장소 스냅샷을 만들고 로그를 압축(compact)함.
+ * <p>
+ * 1. 저장/수정을 잠깐 막고(snapshotBarrier) 로그 위치(P)를 먼저 얻음.
+ * (로그에 기록한 뒤 저장소에 반영하기 전인 변경이 없으므로, P 이전 로그의 변경은 모두 저장소에 반영되어 있음)
+ * 2. 저장소를 순회하면서 스냅샷 파일을 씀.(백그라운드 스레드, 저장/수정 요청을 막지 않음)
+ * 3. 스냅샷이 디스크에 반영되면 로그에서 P 이전 부분을 제거함.
+ * <p>
+ * 순회 중에 바뀐 상품은 스냅샷에 변경 전/후 어느 값으로든 들어갈 수 있지만, 그 변경은 P 이후 로그에 남아 있고
+ * 로그 레코드는 상품의 전체 값을 담고 있으므로 복원 시 P부터 다시 적용하면 최종 상태가 같아짐.
+ */
+@Slf4j
+public class ItemSnapshotter implements Closeable {
+
+    private final ItemRepository itemRepository;
+    private final ItemWriteAheadLog wal;
+    private final Path path;
+    private final ScheduledExecutorService scheduler;
+
+    private long lastWalPosition = -1L;
+
+    public ItemSnapshotter(ItemRepository itemRepository, ItemWriteAheadLog wal, Path path, long intervalSeconds) {
+        this.itemRepository = itemRepository;
+        this.wal = wal;
+        this.path = path;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 마지막 스냅샷 이후 변경이 없으면 건너뜀.
+     *
+     * @return 스냅샷을 만들었으면 true
+     */
+    public synchronized boolean snapshot() throws IOException {
+        long walPosition;
+        Lock barrier = itemRepository.snapshotBarrier();
+        barrier.lock();
+        try {
+            walPosition = wal.position();
+        } finally {
+            barrier.unlock();
+        }
+        if (walPosition == lastWalPosition) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        long count = ItemSnapshotFile.write(path, walPosition, itemRepository.findAll());
+        long compacted = wal.compact(walPosition);
+        lastWalPosition = walPosition;
+
+        log.info("스냅샷 완료 path={}, items={}, walPosition={}, compactedBytes={}, elapsed={}ms",
+                path, count, walPosition, compacted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+    /**
+     * 예약된 스냅샷을 멈추고, 다음 시작이 빠르도록 마지막 스냅샷을 만듦.
+     */
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("스냅샷 실패 path={}", path, e);
+        }
+    }
+}
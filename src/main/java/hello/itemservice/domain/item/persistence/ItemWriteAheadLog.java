@@ -0,0 +1,653 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 상품 저장소 변경 로그(Write-Ahead Log)
+ * <p>
+ * 저장/수정될 때마다 상품의 전체 값을 바이너리 레코드로 파일 끝에 추가하고, 시작할 때 다시 읽어서 저장소를 복원함.
+ * <p>
+ * [파일 형식]
+ * magic(int) | version(int) | base(long) | 레코드...
+ * - base: 파일의 첫 레코드의 논리 위치. 스냅샷 이후 앞부분을 잘라내도(compact) 논리 위치는 계속 증가함.
+ * <p>
+ * [레코드 형식]
+ * length(int) | crc32(int) | type(byte) | id(long) | version(long) | price(int) | quantity(int) | nameLength(int) | name(UTF-8)
+ * - length, crc32는 type부터 name까지(payload)에 대한 값
+ * - price, quantity의 null은 Integer.MIN_VALUE, name의 null은 nameLength = -1
+ * - 비정상 종료로 마지막 레코드가 잘렸거나 crc가 맞지 않으면 그 위치부터 잘라내고 이어서 기록함.
+ * <p>
+ * [내구성 수준]
+ * - SYNC: 기록 요청 스레드가 직접 write + fsync 후 반환(가장 안전, 가장 느림, 앞선 fsync를 기다리는 동안 쌓인 레코드는 함께 기록됨)
+ * - BATCH: 그룹 커밋. 레코드를 버퍼에 넣고 fsync가 끝날 때까지 기다림.
+ * 이전 fsync가 진행되는 동안 쌓인 레코드들을 한 번의 write + fsync로 처리하므로 동시 요청이 많을수록 효율이 좋아짐.
+ * - ASYNC: 버퍼에 넣고 바로 반환. 백그라운드에서 주기적으로 write + fsync(장애 시 마지막 주기만큼 유실될 수 있음)
+ * <p>
+ * [락]
+ * - lock: 버퍼(pending)와 카운터 보호. 기록 요청은 이 락만 잡으므로 파일 쓰기 중에도 버퍼에 계속 추가할 수 있음.
+ * - ioLock: 파일 채널 보호. 버퍼 교체부터 파일 쓰기까지 한 번에 처리해서 레코드 순서를 유지함.(항상 ioLock -> lock 순서로 잡음)
+ * <p>
+ * 저장소 전체 잠금 안에서 호출되는 *Deferred 알림은 버퍼에 넣기만 하고, 내구성 대기는 잠금을 놓은 뒤 awaitDeferred()에서 함.
+ * 그래서 fsync 동안 같은 잠금을 쓰는 조회가 기다리지 않음. 대기 중에 기록이 실패하면 요청은 실패하지만 변경은 메모리에 반영된 상태로 남고,
+ * 이후의 기록은 모두 거부됨.
+ */
+@Slf4j
+public class ItemWriteAheadLog implements ItemChangeListener, Closeable {
+
+    public enum Durability {
+        SYNC, BATCH, ASYNC
+    }
+
+    static final byte SAVE = 1;
+    static final byte UPDATE = 2;
+
+    private static final int MAGIC = 0x4957414C; //"IWAL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 16;
+
+    private static final int HEADER_SIZE = 8; //length + crc32
+    private static final int MIN_PAYLOAD_SIZE = 1 + 8 + 8 + 4 + 4 + 4;
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+    private static final int NULL_VALUE = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final Durability durability;
+    private final long flushIntervalMillis;
+
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private FileChannel channel; //ioLock
+    private long base; //ioLock
+    private long syncCount; //ioLock, fsync 횟수
+
+    private final Object lock = new Object();
+    private final CRC32 crc = new CRC32(); //lock
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE); //lock, 아직 파일에 쓰지 않은 레코드
+    private ByteBuffer flushing = ByteBuffer.allocate(BUFFER_SIZE); //ioLock, 파일에 쓰는 중인 레코드
+    private long appendedCount; //lock
+    private long durableCount; //lock
+    private IOException failure; //lock
+    private boolean closed; //lock
+
+    private final Thread flusher;
+
+    /**
+     * @param path                로그 파일 경로(없으면 생성)
+     * @param durability          내구성 수준
+     * @param flushIntervalMillis ASYNC 모드의 fsync 주기
+     */
+    public ItemWriteAheadLog(Path path, Durability durability, long flushIntervalMillis) throws IOException {
+        this.path = path;
+        this.durability = durability;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.channel = openChannel(path);
+
+        if (durability == Durability.SYNC) {
+            this.flusher = null;
+        } else {
+            this.flusher = new Thread(this::runFlusher, "item-wal-flusher");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * @return 레코드를 기록하면서 fsync한 횟수
+     */
+    long getSyncCount() {
+        ioLock.lock();
+        try {
+            return syncCount;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * 로그 파일을 처음부터 읽어서 레코드 순서대로 전달함.
+     * 손상된 레코드를 만나면 그 위치에서 멈추고, 이후 내용은 잘라냄.
+     * 기록(saved/updated)을 시작하기 전에 호출해야 함.
+     *
+     * @param consumer 복원된 상품을 받을 함수(예: ItemRepository::restore)
+     * @return 복원한 레코드 수
+     */
+    public long replay(Consumer<Item> consumer) throws IOException {
+        return replay(0L, consumer);
+    }
+
+    /**
+     * 논리 위치 from 이후의 레코드만 읽어서 전달함.(스냅샷 이후의 로그만 복원할 때 사용)
+     *
+     * @param from 스냅샷에 기록된 로그 위치(position())
+     */
+    public long replay(long from, Consumer<Item> consumer) throws IOException {
+        ioLock.lock();
+        try {
+            if (from < base) {
+                throw new IllegalStateException("이미 압축되어 제거된 로그 위치입니다.(스냅샷 필요) path=" + path + ", from=" + from + ", base=" + base);
+            }
+            if (from > base + channel.size() - FILE_HEADER_SIZE) {
+                throw new IllegalStateException("로그보다 앞선 위치입니다. path=" + path + ", from=" + from);
+            }
+
+            long fileSize = channel.size();
+            long filePosition = FILE_HEADER_SIZE + (from - base);
+            long validPosition = filePosition;
+            long count = 0;
+
+            CRC32 checksum = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.flip();
+
+            while (true) {
+                if (buffer.remaining() >= HEADER_SIZE) {
+                    int length = buffer.getInt(buffer.position());
+                    if (length < MIN_PAYLOAD_SIZE || length > MAX_PAYLOAD_SIZE) {
+                        break;
+                    }
+
+                    if (buffer.remaining() >= HEADER_SIZE + length) {
+                        int expected = buffer.getInt(buffer.position() + 4);
+                        buffer.position(buffer.position() + HEADER_SIZE);
+
+                        ByteBuffer payload = buffer.slice();
+                        payload.limit(length);
+                        checksum.reset();
+                        checksum.update(payload.duplicate());
+                        if ((int) checksum.getValue() != expected) {
+                            break;
+                        }
+
+                        consumer.accept(decode(payload));
+                        buffer.position(buffer.position() + length);
+                        validPosition += HEADER_SIZE + length;
+                        count++;
+                        continue;
+                    }
+
+                    if (HEADER_SIZE + length > buffer.capacity()) {
+                        ByteBuffer larger = ByteBuffer.allocate(HEADER_SIZE + length);
+                        larger.put(buffer);
+                        larger.flip();
+                        buffer = larger;
+                    }
+                }
+
+                if (filePosition >= fileSize) {
+                    break;
+                }
+                buffer.compact();
+                int read = channel.read(buffer, filePosition);
+                buffer.flip();
+                if (read <= 0) {
+                    break;
+                }
+                filePosition += read;
+            }
+
+            if (validPosition < fileSize) {
+                log.warn("WAL 손상 레코드 발견, 잘라냄 path={}, position={}, size={}", path, validPosition, fileSize);
+                channel.truncate(validPosition);
+            }
+            channel.position(validPosition);
+            return count;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * 현재까지 파일에 쓴 로그의 끝(논리 위치)
+     * 이 위치를 얻은 뒤에 추가되는 레코드는 항상 이 위치 이후에 기록됨.
+     */
+    public long position() throws IOException {
+        ioLock.lock();
+        try {
+            return base + channel.position() - FILE_HEADER_SIZE;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * 논리 위치 upTo 이전의 레코드를 로그에서 제거함.(upTo까지 스냅샷에 안전하게 저장된 뒤에 호출)
+     * upTo 이후의 레코드만 새 파일로 복사한 뒤 원자적으로 교체함.
+     * 교체하는 동안에도 기록 요청은 버퍼에 계속 쌓이고, 교체가 끝난 뒤 새 파일에 이어서 기록됨.
+     *
+     * @return 줄어든 바이트 수
+     */
+    public long compact(long upTo) throws IOException {
+        ioLock.lock();
+        try {
+            long count = flushPending();
+            if (upTo <= base) {
+                return 0L;
+            }
+
+            long from = FILE_HEADER_SIZE + (upTo - base);
+            if (from > channel.size()) {
+                throw new IllegalStateException("로그보다 앞선 위치입니다. path=" + path + ", upTo=" + upTo);
+            }
+
+            Path temp = path.resolveSibling(path.getFileName() + ".compact");
+            try (FileChannel target = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                writeFileHeader(target, upTo);
+                target.position(FILE_HEADER_SIZE); //헤더는 위치 지정 쓰기이므로 채널 위치를 헤더 뒤로 옮겨야 덮어쓰지 않음
+                long position = from;
+                long end = channel.size();
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+                target.force(true);
+            }
+
+            channel.close();
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                channel = openChannel(path); //교체에 실패하면 기존 파일을 다시 엶.
+            }
+
+            markDurable(count);
+            return from - FILE_HEADER_SIZE;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * 저장소에 반영하기 전에 기록함.(기록에 실패하면 저장소는 바뀌지 않고, 이후의 저장/수정은 checkState()에서 거부됨)
+     */
+    @Override
+    public boolean isWriteAhead() {
+        return true;
+    }
+
+    @Override
+    public void saved(Item item) {
+        append(SAVE, item);
+    }
+
+    /**
+     * 목록 전체를 한 번에 버퍼에 넣고 내구성 대기(fsync)도 한 번만 함.(대량 등록)
+     */
+    @Override
+    public void savedAll(List<Item> items) {
+        await(bufferAll(items));
+    }
+
+    @Override
+    public void updated(Item item) {
+        append(UPDATE, item);
+    }
+
+    @Override
+    public void savedDeferred(Item item) {
+        buffer(SAVE, item);
+    }
+
+    @Override
+    public void savedAllDeferred(List<Item> items) {
+        bufferAll(items);
+    }
+
+    @Override
+    public void updatedDeferred(Item item) {
+        buffer(UPDATE, item);
+    }
+
+    /**
+     * 지금까지 버퍼에 들어간 레코드를 모두 기다림.(다른 요청이 그 사이에 추가한 레코드도 함께 기다릴 수 있음)
+     */
+    @Override
+    public void awaitDeferred() {
+        long count;
+        synchronized (lock) {
+            count = appendedCount;
+        }
+        await(count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        ioLock.lock();
+        try {
+            if (failure == null) {
+                markDurable(flushPending());
+            }
+            channel.close();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void append(byte type, Item item) {
+        await(buffer(type, item));
+    }
+
+    /**
+     * @return 버퍼에 넣은 레코드 번호
+     */
+    private long buffer(byte type, Item item) {
+        byte[] name = encodeName(item);
+        synchronized (lock) {
+            checkState();
+            encode(type, item, name);
+            notifyFlusher();
+            return ++appendedCount;
+        }
+    }
+
+    /**
+     * 목록 전체를 한 번에 버퍼에 넣음.
+     *
+     * @return 마지막 레코드 번호
+     */
+    private long bufferAll(List<Item> items) {
+        byte[][] names = new byte[items.size()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = encodeName(items.get(i)); //중간에 실패해서 일부만 버퍼에 들어가지 않도록 먼저 검사
+        }
+
+        synchronized (lock) {
+            checkState();
+            for (int i = 0; i < names.length; i++) {
+                encode(SAVE, items.get(i), names[i]);
+            }
+            notifyFlusher();
+            appendedCount += names.length;
+            return appendedCount;
+        }
+    }
+
+    private void await(long count) {
+        try {
+            awaitAppended(count);
+        } catch (IOException e) {
+            throw fail(e);
+        }
+    }
+
+    private void notifyFlusher() { //lock
+        if (durability == Durability.BATCH) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * count번째 레코드까지 내구성 수준에 맞게 기록될 때까지 기다림.
+     * SYNC 모드는 ioLock을 잡고 직접 파일에 씀.(ioLock을 기다리는 동안 앞선 요청이 이 레코드까지 기록했으면 다시 쓰지 않음)
+     */
+    private void awaitAppended(long count) throws IOException {
+        if (durability == Durability.SYNC) {
+            ioLock.lock();
+            try {
+                if (!isDurable(count)) {
+                    markDurable(flushPending());
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        } else if (durability == Durability.BATCH) {
+            awaitDurable(count);
+        }
+    }
+
+    private boolean isDurable(long count) throws IOException {
+        synchronized (lock) {
+            if (durableCount >= count) {
+                return true;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+    }
+
+    private UncheckedIOException fail(IOException e) {
+        synchronized (lock) {
+            failure = e;
+        }
+        return new UncheckedIOException("WAL 기록 실패 path=" + path, e);
+    }
+
+    private void awaitDurable(long count) throws IOException {
+        synchronized (lock) {
+            while (durableCount < count) {
+                if (failure != null) {
+                    throw failure;
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("WAL fsync 대기 중 인터럽트");
+                }
+            }
+        }
+    }
+
+    private void markDurable(long count) {
+        synchronized (lock) {
+            durableCount = Math.max(durableCount, count);
+            lock.notifyAll();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            synchronized (lock) {
+                try {
+                    if (durability == Durability.ASYNC && !closed) {
+                        lock.wait(flushIntervalMillis);
+                    }
+                    while (pending.position() == 0 && !closed) {
+                        lock.wait(durability == Durability.ASYNC ? flushIntervalMillis : 0L);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                if (pending.position() == 0) {
+                    return; //closed
+                }
+            }
+
+            ioLock.lock();
+            try {
+                markDurable(flushPending());
+            } catch (IOException e) {
+                log.error("WAL 기록 실패 path={}", path, e);
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * pending 버퍼를 flushing 버퍼와 교체한 뒤 파일 끝에 쓰고 fsync함.(ioLock을 잡은 상태에서 호출)
+     * 교체 이후의 기록 요청은 새 pending 버퍼에 쌓이므로 파일 쓰기 동안 기록 요청을 막지 않음.
+     *
+     * @return 파일에 쓴 마지막 레코드 번호
+     */
+    private long flushPending() throws IOException {
+        long count;
+        synchronized (lock) {
+            if (pending.position() == 0) {
+                return appendedCount;
+            }
+            ByteBuffer swap = pending;
+            pending = flushing;
+            flushing = swap;
+            count = appendedCount;
+        }
+
+        flushing.flip();
+        while (flushing.hasRemaining()) {
+            channel.write(flushing);
+        }
+        flushing.clear();
+        channel.force(false);
+        syncCount++;
+        return count;
+    }
+
+    private static byte[] encodeName(Item item) {
+        if (item.getItemName() == null) {
+            return null;
+        }
+        byte[] name = item.getItemName().getBytes(StandardCharsets.UTF_8);
+        if (MIN_PAYLOAD_SIZE + name.length > MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("상품명이 너무 깁니다. length=" + name.length);
+        }
+        return name;
+    }
+
+    private void encode(byte type, Item item, byte[] name) {
+        int payloadLength = MIN_PAYLOAD_SIZE + (name == null ? 0 : name.length);
+        ensureCapacity(HEADER_SIZE + payloadLength);
+
+        int start = pending.position();
+        pending.putInt(payloadLength);
+        pending.putInt(0); //crc32 자리
+        pending.put(type);
+        pending.putLong(item.getId());
+        pending.putLong(item.getVersion());
+        pending.putInt(item.getPrice() == null ? NULL_VALUE : item.getPrice());
+        pending.putInt(item.getQuantity() == null ? NULL_VALUE : item.getQuantity());
+        pending.putInt(name == null ? -1 : name.length);
+        if (name != null) {
+            pending.put(name);
+        }
+
+        ByteBuffer payload = pending.duplicate();
+        payload.limit(pending.position());
+        payload.position(start + HEADER_SIZE);
+        crc.reset();
+        crc.update(payload);
+        pending.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private void ensureCapacity(int required) {
+        if (pending.remaining() < required) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + required));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private static Item decode(ByteBuffer payload) {
+        payload.get(); //type: 저장/수정 모두 상품의 전체 값(버전 포함)을 담고 있으므로 복원 시에는 구분하지 않음.
+        long id = payload.getLong();
+        long version = payload.getLong();
+        int price = payload.getInt();
+        int quantity = payload.getInt();
+        int nameLength = payload.getInt();
+
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            payload.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Item item = new Item(name, price == NULL_VALUE ? null : price, quantity == NULL_VALUE ? null : quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+
+    /**
+     * 파일을 열고 헤더를 읽음.(새 파일이면 base = 0인 헤더를 씀) 채널 위치는 파일 끝
+     */
+    private FileChannel openChannel(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+
+        if (channel.size() == 0) {
+            writeFileHeader(channel, 0L);
+            channel.force(true);
+            base = 0L;
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            channel.read(header, 0L);
+            header.flip();
+            if (header.remaining() < FILE_HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                channel.close();
+                throw new IOException("WAL 파일 형식이 아닙니다. path=" + path);
+            }
+            base = header.getLong();
+        }
+
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private static void writeFileHeader(FileChannel channel, long base) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(base);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private void checkState() {
+        if (failure != null) {
+            throw new UncheckedIOException("WAL 기록 실패 이후에는 기록할 수 없습니다. path=" + path, failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("닫힌 WAL입니다. path=" + path);
+        }
+    }
+}
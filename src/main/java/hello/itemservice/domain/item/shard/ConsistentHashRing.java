@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 상품 ID -> 샤드 노드 배정(일관된 해싱, consistent hashing)
+ * <p>
+ * 노드마다 가상 노드(virtualNodes)개의 점을 64비트 해시 링에 찍고, 상품 ID의 해시에서 시계 방향으로 처음 만나는 점의 노드에 배정함.
+ * 노드를 추가하면 새 노드의 점 바로 앞 구간에 있던 상품만 새 노드로 옮겨지므로, 전체의 약 1/(N+1)만 이동함.
+ * (ID % N 방식은 N이 바뀌면 대부분의 상품이 다른 노드로 옮겨짐)
+ * <p>
+ * 불변 객체이므로 여러 스레드가 잠금 없이 공유하고, 노드를 추가할 때는 새 링을 만들어서 교체함.
+ * 링마다 세대(epoch)가 있어서 노드를 추가할 때마다 1씩 증가하며, 노드와 저장소는 세대로 어느 링이 최신인지 비교함.
+ * (세대 0은 노드에 아직 배포하지 않은 설정값의 링)
+ */
+final class ConsistentHashRing {
+
+    private final List<String> shards;
+    private final int virtualNodes;
+    private final long epoch;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    /**
+     * @param shards       노드 주소(host:port) 목록
+     * @param virtualNodes 노드당 링에 찍는 점의 수(많을수록 고르게 분배되지만 링이 커짐)
+     */
+    ConsistentHashRing(List<String> shards, int virtualNodes) {
+        this(shards, virtualNodes, 0);
+    }
+
+    /**
+     * @param epoch 링 세대
+     */
+    ConsistentHashRing(List<String> shards, int virtualNodes, long epoch) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("샤드 노드가 하나 이상 필요합니다.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes는 1 이상이어야 합니다. virtualNodes=" + virtualNodes);
+        }
+        this.shards = List.copyOf(shards);
+        this.virtualNodes = virtualNodes;
+        this.epoch = epoch;
+
+        for (String shard : this.shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    String shardFor(long id) {
+        Map.Entry<Long, String> entry = points.ceilingEntry(mix(id));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    ConsistentHashRing withShard(String shard) {
+        if (shards.contains(shard)) {
+            throw new IllegalArgumentException("이미 추가된 샤드 노드입니다. shard=" + shard);
+        }
+        List<String> next = new ArrayList<>(shards);
+        next.add(shard);
+        return new ConsistentHashRing(next, virtualNodes, epoch + 1);
+    }
+
+    /**
+     * @return 같은 노드 배정에 세대만 다른 링
+     */
+    ConsistentHashRing withEpoch(long epoch) {
+        return new ConsistentHashRing(shards, virtualNodes, epoch);
+    }
+
+    List<String> getShards() {
+        return shards;
+    }
+
+    int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    long getEpoch() {
+        return epoch;
+    }
+
+    boolean contains(String shard) {
+        return shards.contains(shard);
+    }
+
+    /**
+     * 노드 주소 해시(FNV-1a 64비트 + mix)
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * 64비트 값을 고르게 섞음(MurmurHash3 fmix64)
+     * 상품 ID는 1, 2, 3...처럼 연속되므로 그대로 쓰면 링의 한 구간에 몰림.
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsistentHashRing" + shards + ", virtualNodes=" + virtualNodes + ", epoch=" + epoch;
+    }
+}
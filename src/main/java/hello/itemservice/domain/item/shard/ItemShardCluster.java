@@ -0,0 +1,58 @@
+package hello.itemservice.domain.item.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로컬 샤드 클러스터 실행(테스트/개발용)
+ * <p>
+ * 노드마다 별도의 JVM 프로세스로 ItemShardServer를 실행하고, 이 프로세스가 종료되면 노드도 함께 종료함.
+ * 실행: ./gradlew itemShardCluster [--args="--shards=3 --base-port=9101"]
+ * 애플리케이션은 item.repository.type=sharded, item.shard.nodes=localhost:9101,localhost:9102,localhost:9103으로 실행함.
+ * <p>
+ * 노드 추가(재분배)는 실행 중인 클러스터와 별도로 노드를 하나 더 실행한 뒤 POST /validation/api/shards?node=localhost:9104로 요청함.
+ */
+@Slf4j
+public class ItemShardCluster {
+
+    public static void main(String[] args) throws Exception {
+        int shards = 3;
+        int basePort = ItemShardServer.DEFAULT_PORT;
+        for (String arg : args) {
+            if (arg.startsWith("--shards=")) {
+                shards = Integer.parseInt(arg.substring("--shards=".length()));
+            } else if (arg.startsWith("--base-port=")) {
+                basePort = Integer.parseInt(arg.substring("--base-port=".length()));
+            } else {
+                throw new IllegalArgumentException("알 수 없는 옵션입니다. option=" + arg);
+            }
+        }
+
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        String classPath = System.getProperty("java.class.path");
+
+        List<Process> processes = new ArrayList<>(shards);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroy)));
+
+        List<String> nodes = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            int port = basePort + i;
+            Process process = new ProcessBuilder(java.toString(), "-cp", classPath,
+                    ItemShardServer.class.getName(), "--port=" + port)
+                    .inheritIO()
+                    .start();
+            processes.add(process);
+            nodes.add("localhost:" + port);
+        }
+        log.info("로컬 샤드 클러스터 시작 item.shard.nodes={}", String.join(",", nodes));
+
+        for (Process process : processes) {
+            int exitCode = process.waitFor(); //노드 하나가 종료되면 나머지는 그대로 두고 모두 종료될 때까지 기다림
+            log.info("샤드 노드 종료 pid={}, exitCode={}", process.pid(), exitCode);
+        }
+    }
+}
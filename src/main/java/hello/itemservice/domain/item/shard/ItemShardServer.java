@@ -0,0 +1,357 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+
+import static hello.itemservice.domain.item.shard.ShardProtocol.*;
+
+/**
+ * 상품 샤드 노드(item.repository.type=sharded에서 상품의 일부를 저장하는 별도 프로세스)
+ * <p>
+ * 스프링 없이 JDK만으로 실행되며, ShardProtocol로 요청을 받아서 ShardStore에 저장함.
+ * 연결마다 스레드 하나가 요청을 차례대로 처리함.(저장소는 연결 수만큼 연결을 만들어서 동시에 요청함)
+ * ID로 처리하는 요청과 목록 조회는 ShardOwnership으로 이 노드가 담당하는 ID인지 확인함.
+ * <p>
+ * 실행: java -cp [클래스패스] hello.itemservice.domain.item.shard.ItemShardServer --port=9101
+ * 여러 노드를 한 번에 실행하려면 ItemShardCluster(./gradlew itemShardCluster)를 사용함.
+ */
+@Slf4j
+public class ItemShardServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 9101;
+
+    private final ServerSocket serverSocket;
+    private final ShardStore store = new ShardStore();
+    private final ShardOwnership ownership = new ShardOwnership();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "item-shard-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * @param port 0이면 사용하지 않는 포트를 할당받음(테스트용)
+     */
+    public ItemShardServer(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        executor.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else {
+                throw new IllegalArgumentException("알 수 없는 옵션입니다. option=" + arg);
+            }
+        }
+
+        ItemShardServer server = new ItemShardServer(port);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+        log.info("상품 샤드 노드 시작 port={}", server.getPort());
+        stopped.await();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.warn("샤드 노드 소켓을 닫을 수 없습니다.", e);
+        }
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true); //요청/응답이 작으므로 Nagle 지연을 끔
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("샤드 노드 연결을 받을 수 없습니다.", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                out.writeByte(ERROR);
+                out.writeUTF("지원하지 않는 프로토콜입니다.");
+                out.flush();
+                return;
+            }
+            out.writeByte(OK);
+            out.flush();
+
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return; //클라이언트가 연결을 닫음
+                }
+                handle(op, in, out);
+                out.flush();
+            }
+        } catch (SocketException | EOFException e) {
+            log.debug("샤드 노드 연결 종료 remote={}, reason={}", socket.getRemoteSocketAddress(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("샤드 노드 요청을 처리할 수 없습니다. remote={}", socket.getRemoteSocketAddress(), e);
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case GET: {
+                long epoch = in.readLong();
+                long id = in.readLong();
+                Lock readLock = ownership.readLock();
+                readLock.lock();
+                try {
+                    if (rejected(ownership.check(id, epoch, false), out)) {
+                        return;
+                    }
+                    Item item = store.get(id);
+                    if (item == null) {
+                        out.writeByte(NOT_FOUND);
+                    } else {
+                        out.writeByte(OK);
+                        writeItem(out, item);
+                    }
+                } finally {
+                    readLock.unlock();
+                }
+                return;
+            }
+            case INSERT: {
+                long epoch = in.readLong();
+                List<Item> items = readItems(in);
+                Lock readLock = ownership.readLock();
+                readLock.lock();
+                try {
+                    for (Item item : items) {
+                        if (rejected(ownership.check(item.getId(), epoch, true), out)) {
+                            return;
+                        }
+                    }
+                    out.writeByte(store.insertAll(items) ? OK : CONFLICT);
+                } finally {
+                    readLock.unlock();
+                }
+                return;
+            }
+            case PUT:
+                store.putAll(readItems(in));
+                out.writeByte(OK);
+                return;
+            case UPDATE: {
+                long epoch = in.readLong();
+                long id = in.readLong();
+                long expectedVersion = in.readLong();
+                Item updateParam = readItem(in);
+                Lock readLock = ownership.readLock();
+                readLock.lock();
+                try {
+                    if (rejected(ownership.check(id, epoch, true), out)) {
+                        return;
+                    }
+                    Item updated = store.update(id, updateParam, expectedVersion);
+                    if (updated == null) {
+                        out.writeByte(NOT_FOUND);
+                    } else if (updated == ShardStore.CONFLICT) {
+                        out.writeByte(CONFLICT);
+                    } else {
+                        out.writeByte(OK);
+                        writeItem(out, updated);
+                    }
+                } finally {
+                    readLock.unlock();
+                }
+                return;
+            }
+            case DELETE: {
+                long[] ids = new long[in.readInt()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = in.readLong();
+                }
+                int deleted = store.delete(ids);
+                out.writeByte(OK);
+                out.writeInt(deleted);
+                return;
+            }
+            case SCAN: {
+                long epoch = in.readLong();
+                long afterId = in.readLong();
+                int limit = in.readInt();
+                Lock readLock = ownership.readLock();
+                readLock.lock();
+                try {
+                    if (rejected(ownership.checkEpoch(epoch), out)) {
+                        return;
+                    }
+                    List<Item> items = store.scan(afterId, limit, item -> ownership.owns(item.getId()));
+                    out.writeByte(OK);
+                    writeItems(out, items);
+                } finally {
+                    readLock.unlock();
+                }
+                return;
+            }
+            case QUERY: {
+                long epoch = in.readLong();
+                byte type = in.readByte();
+                Lock readLock = ownership.readLock();
+                readLock.lock();
+                try {
+                    List<Item> items = query(type, in); //요청 본문을 끝까지 읽은 뒤에 응답
+                    if (rejected(ownership.checkEpoch(epoch), out)) {
+                        return;
+                    }
+                    out.writeByte(OK);
+                    writeItems(out, items);
+                } finally {
+                    readLock.unlock();
+                }
+                return;
+            }
+            case NEXT_IDS: {
+                long firstId = store.nextIds(in.readInt());
+                out.writeByte(OK);
+                out.writeLong(firstId);
+                return;
+            }
+            case ADVANCE_IDS:
+                store.advanceIds(in.readLong());
+                out.writeByte(OK);
+                return;
+            case MAX_ID:
+                out.writeByte(OK);
+                out.writeLong(store.maxId());
+                return;
+            case COUNT:
+                out.writeByte(OK);
+                out.writeLong(store.count());
+                return;
+            case CLEAR:
+                store.clear();
+                out.writeByte(OK);
+                return;
+            case RING_GET:
+                out.writeByte(OK);
+                writeRing(out, ownership.getRing());
+                return;
+            case RING_SET: {
+                long expectedEpoch = in.readLong();
+                String self = in.readUTF();
+                ConsistentHashRing ring = readRing(in);
+                ConsistentHashRing next = readRing(in);
+                if (ownership.setRing(expectedEpoch, self, ring, next)) {
+                    out.writeByte(OK);
+                } else {
+                    out.writeByte(CONFLICT);
+                    writeRing(out, ownership.getRing());
+                }
+                return;
+            }
+            default:
+                //요청 본문 길이를 알 수 없으므로 응답 후 연결을 닫음
+                out.writeByte(ERROR);
+                out.writeUTF("알 수 없는 요청입니다. op=" + op);
+                out.flush();
+                throw new EOFException("unknown op " + op);
+        }
+    }
+
+    /**
+     * @return 링 확인 결과가 OK가 아니면 거절 응답(NOT_OWNER면 노드의 링 포함)을 쓰고 true
+     */
+    private boolean rejected(byte status, DataOutputStream out) throws IOException {
+        if (status == OK) {
+            return false;
+        }
+        out.writeByte(status);
+        if (status == NOT_OWNER) {
+            writeRing(out, ownership.getRing());
+        }
+        return true;
+    }
+
+    /**
+     * ownership 읽기 잠금 안에서 호출(이 노드가 담당하는 상품만 조회)
+     */
+    private List<Item> query(byte type, DataInputStream in) throws IOException {
+        switch (type) {
+            case QUERY_PRICE_BETWEEN: {
+                int min = in.readInt();
+                int max = in.readInt();
+                int limit = in.readInt();
+                return store.query(item -> item.getPrice() != null && item.getPrice() >= min && item.getPrice() <= max
+                        && ownership.owns(item.getId()), Item::getPrice, limit);
+            }
+            case QUERY_QUANTITY_LESS_THAN: {
+                int threshold = in.readInt();
+                int limit = in.readInt();
+                return store.query(item -> item.getQuantity() != null && item.getQuantity() < threshold
+                        && ownership.owns(item.getId()), Item::getQuantity, limit);
+            }
+            case QUERY_NAME_PREFIX: {
+                String prefix = in.readUTF();
+                int limit = in.readInt();
+                return store.query(item -> item.getItemName() != null && item.getItemName().startsWith(prefix)
+                        && ownership.owns(item.getId()), Item::getItemName, limit);
+            }
+            default:
+                throw new EOFException("unknown query " + type);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //닫는 중 오류는 무시
+        }
+    }
+}
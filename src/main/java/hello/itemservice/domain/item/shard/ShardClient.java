@@ -0,0 +1,341 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static hello.itemservice.domain.item.shard.ShardProtocol.*;
+
+/**
+ * 샤드 노드 하나에 대한 클라이언트
+ * <p>
+ * 요청마다 연결을 새로 만들지 않도록 쉬고 있는 연결을 재사용함.(쉬는 연결이 없으면 새로 만들고, 최대 MAX_IDLE개까지 보관)
+ * 통신 오류(IOException)가 난 연결은 요청/응답 경계를 알 수 없으므로 재사용하지 않고 닫음.
+ * <p>
+ * - 통신 오류(연결 실패, 타임아웃): UncheckedIOException
+ * - 노드가 ERROR로 응답: IllegalStateException
+ * - 노드가 링 확인에서 거절(NOT_OWNER, MOVING): RingChangedException
+ * <p>
+ * epoch 인자는 요청하는 저장소의 링 세대임.(ShardProtocol 링 확인 참고)
+ */
+final class ShardClient implements Closeable {
+
+    private static final int MAX_IDLE = 32;
+
+    private final String address;
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param address host:port
+     */
+    ShardClient(String address, int timeoutMillis) {
+        int separator = address.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("샤드 노드 주소는 host:port 형식이어야 합니다. address=" + address);
+        }
+        this.address = address;
+        this.host = address.substring(0, separator);
+        this.port = Integer.parseInt(address.substring(separator + 1));
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    String getAddress() {
+        return address;
+    }
+
+    Item get(long epoch, long id) {
+        return call(out -> {
+            out.writeByte(GET);
+            out.writeLong(epoch);
+            out.writeLong(id);
+        }, (status, in) -> status == NOT_FOUND ? null : readItem(in));
+    }
+
+    /**
+     * @return 이미 있는 ID가 있어서 추가하지 않았으면 false(이 요청의 상품은 하나도 추가되지 않음)
+     */
+    boolean insertAll(long epoch, List<Item> items) {
+        return call(out -> {
+            out.writeByte(INSERT);
+            out.writeLong(epoch);
+            writeItems(out, items);
+        }, (status, in) -> status == OK);
+    }
+
+    /**
+     * ID, 버전을 그대로 덮어씀.(복원, 재분배용)
+     */
+    void putAll(List<Item> items) {
+        call(out -> {
+            out.writeByte(PUT);
+            writeItems(out, items);
+        }, (status, in) -> null);
+    }
+
+    /**
+     * @param expectedVersion ANY_VERSION이면 버전과 관계없이 수정
+     * @return 수정된 상품, 버전이 달라서 수정하지 않았으면 null
+     * @throws IllegalArgumentException 상품이 없는 경우
+     */
+    Item update(long epoch, long id, Item updateParam, long expectedVersion) {
+        return call(out -> {
+            out.writeByte(UPDATE);
+            out.writeLong(epoch);
+            out.writeLong(id);
+            out.writeLong(expectedVersion);
+            writeItem(out, updateParam);
+        }, (status, in) -> {
+            if (status == NOT_FOUND) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + id);
+            }
+            return status == CONFLICT ? null : readItem(in);
+        });
+    }
+
+    int delete(long[] ids) {
+        return call(out -> {
+            out.writeByte(DELETE);
+            out.writeInt(ids.length);
+            for (long id : ids) {
+                out.writeLong(id);
+            }
+        }, (status, in) -> in.readInt());
+    }
+
+    List<Item> scan(long epoch, long afterId, int limit) {
+        return call(out -> {
+            out.writeByte(SCAN);
+            out.writeLong(epoch);
+            out.writeLong(afterId);
+            out.writeInt(limit);
+        }, (status, in) -> readItems(in));
+    }
+
+    List<Item> findByPriceBetween(long epoch, int min, int max, int limit) {
+        return call(out -> {
+            out.writeByte(QUERY);
+            out.writeLong(epoch);
+            out.writeByte(QUERY_PRICE_BETWEEN);
+            out.writeInt(min);
+            out.writeInt(max);
+            out.writeInt(limit);
+        }, (status, in) -> readItems(in));
+    }
+
+    List<Item> findByQuantityLessThan(long epoch, int threshold, int limit) {
+        return call(out -> {
+            out.writeByte(QUERY);
+            out.writeLong(epoch);
+            out.writeByte(QUERY_QUANTITY_LESS_THAN);
+            out.writeInt(threshold);
+            out.writeInt(limit);
+        }, (status, in) -> readItems(in));
+    }
+
+    List<Item> findByItemNameStartingWith(long epoch, String prefix, int limit) {
+        return call(out -> {
+            out.writeByte(QUERY);
+            out.writeLong(epoch);
+            out.writeByte(QUERY_NAME_PREFIX);
+            out.writeUTF(prefix);
+            out.writeInt(limit);
+        }, (status, in) -> readItems(in));
+    }
+
+    long nextIds(int count) {
+        return call(out -> {
+            out.writeByte(NEXT_IDS);
+            out.writeInt(count);
+        }, (status, in) -> in.readLong());
+    }
+
+    void advanceIds(long id) {
+        call(out -> {
+            out.writeByte(ADVANCE_IDS);
+            out.writeLong(id);
+        }, (status, in) -> null);
+    }
+
+    long maxId() {
+        return call(out -> out.writeByte(MAX_ID), (status, in) -> in.readLong());
+    }
+
+    long count() {
+        return call(out -> out.writeByte(COUNT), (status, in) -> in.readLong());
+    }
+
+    void clear() {
+        call(out -> out.writeByte(CLEAR), (status, in) -> null);
+    }
+
+    /**
+     * @return 노드의 링(링을 받기 전이면 null)
+     */
+    ConsistentHashRing getRing() {
+        return call(out -> out.writeByte(RING_GET), (status, in) -> readRing(in));
+    }
+
+    /**
+     * @param expectedEpoch 노드의 지금 링 세대(링이 없으면 0)
+     * @param ring          노드가 사용할 링
+     * @param next          재분배 중인 다음 링(없으면 null)
+     * @return 노드의 링 세대가 expectedEpoch와 달라서 바꾸지 않았으면 false
+     */
+    boolean setRing(long expectedEpoch, ConsistentHashRing ring, ConsistentHashRing next) {
+        return call(out -> {
+            out.writeByte(RING_SET);
+            out.writeLong(expectedEpoch);
+            out.writeUTF(address);
+            writeRing(out, ring);
+            writeRing(out, next);
+        }, (status, in) -> {
+            if (status == CONFLICT) {
+                readRing(in);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private <T> T call(RequestWriter request, ResponseReader<T> response) {
+        Connection connection = borrow();
+        try {
+            request.write(connection.out);
+            connection.out.flush();
+
+            byte status = connection.in.readByte();
+            if (status == ERROR) {
+                throw new IllegalStateException("샤드 노드 오류입니다. shard=" + address + ", message=" + connection.in.readUTF());
+            }
+            if (status == NOT_OWNER) {
+                throw new RingChangedException(address, readRing(connection.in));
+            }
+            if (status == MOVING) {
+                throw new RingChangedException(address, null);
+            }
+            return response.read(status, connection.in);
+        } catch (IOException e) {
+            connection.close();
+            connection = null;
+            throw new UncheckedIOException("샤드 노드와 통신할 수 없습니다. shard=" + address, e);
+        } finally {
+            if (connection != null) {
+                release(connection); //응답을 끝까지 읽었으면(NOT_FOUND, ERROR 포함) 다음 요청에 재사용
+            }
+        }
+    }
+
+    private Connection borrow() {
+        Connection connection = idle.poll();
+        if (connection != null) {
+            idleCount.decrementAndGet();
+            return connection;
+        }
+        try {
+            return new Connection(host, port, timeoutMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("샤드 노드에 연결할 수 없습니다. shard=" + address, e);
+        }
+    }
+
+    private void release(Connection connection) {
+        if (!closed && idleCount.incrementAndGet() <= MAX_IDLE) {
+            idle.offer(connection);
+        } else {
+            idleCount.decrementAndGet();
+            connection.close();
+        }
+    }
+
+    /**
+     * 노드가 링 확인에서 요청을 거절함.(응답은 끝까지 읽었으므로 연결은 재사용함)
+     */
+    static final class RingChangedException extends RuntimeException {
+
+        private final transient ConsistentHashRing ring;
+
+        private RingChangedException(String shard, ConsistentHashRing ring) {
+            super(ring == null ? "재분배 중인 상품입니다. shard=" + shard
+                    : "샤드 노드가 담당하지 않는 요청입니다. shard=" + shard + ", ring=" + ring);
+            this.ring = ring;
+        }
+
+        /**
+         * @return 노드의 링(NOT_OWNER), 재분배 중(MOVING)이면 null
+         */
+        ConsistentHashRing getRing() {
+            return ring;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(byte status, DataInputStream in) throws IOException;
+    }
+
+    private static final class Connection {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        private Connection(String host, int port, int timeoutMillis) throws IOException {
+            socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+                socket.setSoTimeout(timeoutMillis);
+                socket.setTcpNoDelay(true);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.flush();
+                if (in.readByte() != OK) {
+                    throw new IOException("샤드 노드가 프로토콜을 지원하지 않습니다. version=" + VERSION);
+                }
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                //닫는 중 오류는 무시
+            }
+        }
+    }
+}
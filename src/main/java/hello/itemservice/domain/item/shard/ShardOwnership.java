@@ -0,0 +1,107 @@
+package hello.itemservice.domain.item.shard;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static hello.itemservice.domain.item.shard.ShardProtocol.*;
+
+/**
+ * 샤드 노드가 담당하는 상품 ID 범위(ItemShardServer 내부)
+ * <p>
+ * 저장소(ShardedItemRepository)가 RING_SET으로 알려준 링(committed)과 재분배 중인 다음 링(pending)으로
+ * 요청의 ID를 이 노드가 담당하는지 확인함. 다른 애플리케이션이 노드를 추가해서 이 애플리케이션의 링이 오래되었으면
+ * 옮겨진 상품을 기존 노드가 계속 처리하지 않도록 거절하고, 저장소는 응답으로 받은 링으로 다시 요청함.
+ * <p>
+ * 확인과 처리는 읽기 잠금 안에서 하고 링 변경은 쓰기 잠금으로 하므로, 재분배를 시작(RING_SET)한 뒤에는
+ * 옮기는 상품을 수정하는 요청이 처리 중이지 않음.(복사한 뒤에 기존 노드에서 수정되어 사라지는 경우가 없음)
+ */
+final class ShardOwnership {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private String self; //링에 있는 이 노드의 주소
+    private ConsistentHashRing committed; //null이면 링을 받기 전(확인하지 않음)
+    private ConsistentHashRing pending; //재분배 중인 다음 링
+
+    /**
+     * 확인부터 처리까지 잡는 잠금
+     */
+    Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * 읽기 잠금 안에서 호출
+     *
+     * @param epoch 요청한 저장소의 링 세대
+     * @param write 등록/수정이면 true(재분배 중에 옮겨지는 ID는 거절)
+     * @return OK, NOT_OWNER, MOVING
+     */
+    byte check(long id, long epoch, boolean write) {
+        byte status = checkEpoch(epoch);
+        if (status != OK || committed == null) {
+            return status;
+        }
+        if (!self.equals(committed.shardFor(id))) {
+            return NOT_OWNER;
+        }
+        if (write && pending != null && !self.equals(pending.shardFor(id))) {
+            return MOVING;
+        }
+        return OK;
+    }
+
+    /**
+     * 읽기 잠금 안에서 호출
+     *
+     * @return 노드의 링이 요청한 저장소의 링보다 새로우면 NOT_OWNER
+     */
+    byte checkEpoch(long epoch) {
+        return committed != null && committed.getEpoch() > epoch ? NOT_OWNER : OK;
+    }
+
+    /**
+     * 읽기 잠금 안에서 호출(SCAN/QUERY 결과에서 다른 노드로 옮겨진 상품을 제외)
+     */
+    boolean owns(long id) {
+        return committed == null || self.equals(committed.shardFor(id));
+    }
+
+    /**
+     * @return 링을 받기 전이면 null
+     */
+    ConsistentHashRing getRing() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return committed;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @param expectedEpoch 지금 링의 세대(링이 없으면 0)
+     * @param next          재분배 중인 다음 링(없으면 null)
+     * @return 링의 세대가 expectedEpoch와 다르거나, 다른 노드를 추가하는 재분배가 준비 중이라 바꾸지 않았으면 false
+     */
+    boolean setRing(long expectedEpoch, String self, ConsistentHashRing ring, ConsistentHashRing next) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            long epoch = committed == null ? 0 : committed.getEpoch();
+            if (epoch != expectedEpoch) {
+                return false;
+            }
+            if (next != null && pending != null && !pending.getShards().equals(next.getShards())) {
+                return false; //같은 노드를 추가하는 재분배(실패 후 다시 호출)만 덮어씀
+            }
+            this.self = self;
+            this.committed = ring;
+            this.pending = next;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
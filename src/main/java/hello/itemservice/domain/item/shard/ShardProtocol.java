@@ -0,0 +1,171 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤드 노드(ItemShardServer)와 저장소(ShardedItemRepository) 사이의 바이너리 프로토콜
+ * <p>
+ * TCP 연결 하나로 요청/응답을 차례대로 주고받음.(연결은 재사용하며, 동시 요청은 연결을 여러 개 사용)
+ * - 연결 시: 클라이언트가 magic(int) | version(int)을 보내고, 서버가 상태(byte)로 응답함.
+ * - 요청: op(byte) | 요청 본문
+ * - 응답: status(byte) | 응답 본문(ERROR면 오류 메시지(UTF))
+ * <p>
+ * [상품] id(long) | version(long) | price(int) | quantity(int) | nameLength(int) | name(UTF-8)
+ * (가격/수량의 null은 Integer.MIN_VALUE, 상품명 null은 nameLength -1로 표현함. 스냅샷 파일과 같은 방식)
+ * (ID가 없는 상품(UPDATE의 수정 값)은 id 0으로 표현함. 발급하는 ID는 1부터 시작함)
+ * [상품 목록] count(int) | 상품...
+ * [링] epoch(long) | virtualNodes(int) | count(int) | 노드 주소(UTF)... (링이 없으면 epoch 0, count 0)
+ * <p>
+ * [요청]
+ * GET epoch | id(long) -> OK 상품 | NOT_FOUND
+ * INSERT epoch | 상품 목록 -> OK | CONFLICT (등록. 이미 있는 ID가 하나라도 있으면 이 요청으로 추가한 상품을 되돌리고 CONFLICT)
+ * PUT 상품 목록 -> OK (ID, 버전 그대로 덮어씀. 복원, 재분배에만 사용)
+ * UPDATE epoch | id(long) | expectedVersion(long, ANY_VERSION이면 버전 무시) | 상품 -> OK 수정된 상품 | NOT_FOUND | CONFLICT
+ * DELETE count(int) | id(long)... -> OK 삭제한 수(int)
+ * SCAN epoch | afterId(long) | limit(int) -> OK 상품 목록(이 노드가 담당하는 상품만, ID 순서)
+ * QUERY epoch | type(byte) | 조건 | limit(int) -> OK 상품 목록(이 노드가 담당하는 상품만, 조회 필드, ID 순서)
+ * NEXT_IDS count(int) -> OK 첫 ID(long) (ID 발급 노드에서 연속된 ID 범위를 예약)
+ * ADVANCE_IDS id(long) -> OK (이후 발급하는 ID가 id보다 크도록 올림)
+ * MAX_ID -> OK 이 노드에 있는 가장 큰 상품 ID(long, 없으면 0)
+ * COUNT -> OK 상품 수(long)
+ * CLEAR -> OK
+ * RING_GET -> OK 링
+ * RING_SET expectedEpoch(long) | 노드 자신의 주소(UTF) | 링 | 옮기는 중인 다음 링 -> OK | CONFLICT 링
+ * (노드의 링 세대가 expectedEpoch와 같을 때만 바꿈. 다음 링이 있으면 재분배 중)
+ * <p>
+ * [링 확인] epoch는 저장소가 사용하는 링의 세대임.
+ * - 노드의 링 세대가 더 높거나, ID를 이 노드가 담당하지 않으면 NOT_OWNER 링(노드의 링)으로 응답함.
+ * - 재분배 중에 다른 노드로 옮겨지는 ID의 등록/수정은 MOVING으로 응답함.(조회는 옮기기 전 상품을 그대로 응답)
+ * - 링을 받기 전의 노드(세대 0)는 확인하지 않음.
+ */
+final class ShardProtocol {
+
+    static final int MAGIC = 0x49534844; //"ISHD"
+    static final int VERSION = 3; //2: INSERT, MAX_ID 추가, 3: 링 세대 확인
+
+    static final byte GET = 1;
+    static final byte PUT = 2;
+    static final byte UPDATE = 3;
+    static final byte DELETE = 4;
+    static final byte SCAN = 5;
+    static final byte QUERY = 6;
+    static final byte NEXT_IDS = 7;
+    static final byte ADVANCE_IDS = 8;
+    static final byte COUNT = 9;
+    static final byte CLEAR = 10;
+    static final byte INSERT = 11;
+    static final byte MAX_ID = 12;
+    static final byte RING_GET = 13;
+    static final byte RING_SET = 14;
+
+    static final byte OK = 0;
+    static final byte NOT_FOUND = 1;
+    static final byte CONFLICT = 2;
+    static final byte ERROR = 3;
+    static final byte NOT_OWNER = 4;
+    static final byte MOVING = 5;
+
+    static final byte QUERY_PRICE_BETWEEN = 1; //min(int) | max(int)
+    static final byte QUERY_QUANTITY_LESS_THAN = 2; //threshold(int)
+    static final byte QUERY_NAME_PREFIX = 3; //prefix(UTF)
+
+    static final long ANY_VERSION = -1L;
+
+    private static final int NULL_VALUE = Integer.MIN_VALUE;
+    private static final long NO_ID = 0L;
+
+    private ShardProtocol() {
+    }
+
+    static void writeItem(DataOutputStream out, Item item) throws IOException {
+        out.writeLong(item.getId() == null ? NO_ID : item.getId());
+        out.writeLong(item.getVersion());
+        out.writeInt(item.getPrice() == null ? NULL_VALUE : item.getPrice());
+        out.writeInt(item.getQuantity() == null ? NULL_VALUE : item.getQuantity());
+        if (item.getItemName() == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] name = item.getItemName().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+        }
+    }
+
+    static Item readItem(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        long version = in.readLong();
+        int price = in.readInt();
+        int quantity = in.readInt();
+        int nameLength = in.readInt();
+
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            in.readFully(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Item item = new Item(name, price == NULL_VALUE ? null : price, quantity == NULL_VALUE ? null : quantity);
+        item.setId(id == NO_ID ? null : id);
+        item.setVersion(version);
+        return item;
+    }
+
+    static void writeItems(DataOutputStream out, List<Item> items) throws IOException {
+        out.writeInt(items.size());
+        for (Item item : items) {
+            writeItem(out, item);
+        }
+    }
+
+    /**
+     * @param ring null이면 링 없음
+     */
+    static void writeRing(DataOutputStream out, ConsistentHashRing ring) throws IOException {
+        if (ring == null) {
+            out.writeLong(0);
+            out.writeInt(0);
+            out.writeInt(0);
+            return;
+        }
+        out.writeLong(ring.getEpoch());
+        out.writeInt(ring.getVirtualNodes());
+        out.writeInt(ring.getShards().size());
+        for (String shard : ring.getShards()) {
+            out.writeUTF(shard);
+        }
+    }
+
+    /**
+     * @return 링이 없으면 null
+     */
+    static ConsistentHashRing readRing(DataInputStream in) throws IOException {
+        long epoch = in.readLong();
+        int virtualNodes = in.readInt();
+        int count = in.readInt();
+        if (count == 0) {
+            return null;
+        }
+        List<String> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(in.readUTF());
+        }
+        return new ConsistentHashRing(shards, virtualNodes, epoch);
+    }
+
+    static List<Item> readItems(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(readItem(in));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,140 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 샤드 노드 하나가 맡은 상품 저장소(ItemShardServer 내부)
+ * <p>
+ * 기본 저장소(ItemRepository)와 달리 static이 아니므로 같은 JVM에서 노드를 여러 개 띄워도(테스트) 서로 섞이지 않음.
+ * 수정은 ConcurrentSkipListMap.computeIfPresent로 상품 단위로 원자적으로 처리하고, 저장된 Item은 고치지 않고 새 Item으로 교체함.
+ * 보조 인덱스가 없으므로 조건 조회(QUERY)는 이 노드의 상품을 순차 탐색함.(노드마다 병렬로 실행되므로 전체의 1/N씩)
+ */
+final class ShardStore {
+
+    static final Item CONFLICT = new Item(); //update()의 버전 불일치 결과
+
+    private final ConcurrentNavigableMap<Long, Item> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong(); //이 노드가 ID 발급 노드일 때만 사용
+
+    Item get(long id) {
+        return store.get(id);
+    }
+
+    /**
+     * 이미 있는 ID가 하나라도 있으면 이 호출로 추가한 상품을 되돌림.
+     * (ID 발급 노드가 다시 시작되어 이미 사용한 ID를 발급해도 다른 상품을 덮어쓰지 않음)
+     *
+     * @return 모두 추가했으면 true
+     */
+    boolean insertAll(List<Item> items) {
+        List<Item> inserted = new ArrayList<>(items.size());
+        for (Item item : items) {
+            if (store.putIfAbsent(item.getId(), item) != null) {
+                for (Item added : inserted) {
+                    store.remove(added.getId(), added);
+                }
+                return false;
+            }
+            inserted.add(item);
+        }
+        return true;
+    }
+
+    /**
+     * ID, 버전을 그대로 덮어씀.(복원, 재분배용)
+     */
+    void putAll(List<Item> items) {
+        for (Item item : items) {
+            store.put(item.getId(), item);
+        }
+    }
+
+    /**
+     * @return 수정된 상품, 버전이 다르면 CONFLICT, 상품이 없으면 null
+     */
+    Item update(long id, Item updateParam, long expectedVersion) {
+        boolean[] conflict = new boolean[1];
+        Item updated = store.computeIfPresent(id, (key, current) -> {
+            if (expectedVersion != ShardProtocol.ANY_VERSION && current.getVersion() != expectedVersion) {
+                conflict[0] = true;
+                return current;
+            }
+            Item item = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+            item.setId(id);
+            item.setVersion(current.getVersion() + 1);
+            return item;
+        });
+        return conflict[0] ? CONFLICT : updated;
+    }
+
+    int delete(long[] ids) {
+        int deleted = 0;
+        for (long id : ids) {
+            if (store.remove(id) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @param filter 포함할 상품(이 노드가 담당하는 ID)
+     */
+    List<Item> scan(long afterId, int limit, Predicate<Item> filter) {
+        List<Item> items = new ArrayList<>(Math.min(limit, 1024));
+        for (Item item : store.tailMap(afterId, false).values()) {
+            if (items.size() == limit) {
+                break;
+            }
+            if (filter.test(item)) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * 조건을 만족하는 상품을 (정렬 필드, ID) 순서로 최대 limit개 조회
+     */
+    <K extends Comparable<? super K>> List<Item> query(Predicate<Item> condition, Function<Item, K> sortKey, int limit) {
+        List<Item> items = new ArrayList<>();
+        for (Item item : store.values()) {
+            if (condition.test(item)) {
+                items.add(item);
+            }
+        }
+        items.sort(Comparator.comparing(sortKey).thenComparing(Item::getId));
+        return items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+
+    long nextIds(int count) {
+        return sequence.getAndAdd(count) + 1;
+    }
+
+    void advanceIds(long id) {
+        sequence.accumulateAndGet(id, Math::max);
+    }
+
+    long maxId() {
+        Map.Entry<Long, Item> last = store.lastEntry();
+        return last == null ? 0 : last.getKey();
+    }
+
+    long count() {
+        return store.size();
+    }
+
+    void clear() {
+        store.clear();
+    }
+}
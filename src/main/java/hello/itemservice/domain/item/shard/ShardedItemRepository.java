@@ -0,0 +1,716 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.shard.ShardClient.RingChangedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 여러 프로세스(샤드 노드)에 나누어 저장하는 상품 저장소(item.repository.type=sharded)
+ * <p>
+ * 상품 ID를 일관된 해싱(ConsistentHashRing)으로 노드(item.shard.nodes)에 배정하고, 노드(ItemShardServer)와는 ShardProtocol로 통신함.
+ * 노드에 상태가 있으므로 애플리케이션을 여러 개 실행해도 같은 상품을 공유함.
+ * <p>
+ * - 링: 노드들도 링(세대 번호 포함)을 가지고 있음. 처음 사용할 때 노드들의 링 중 가장 새로운 링을 사용하고(아무 노드에도 없으면
+ * item.shard.nodes로 만든 링을 세대 1로 배포), 모든 요청에 링 세대를 보냄. 다른 애플리케이션이 노드를 추가해서 이 애플리케이션의 링이
+ * 오래되었으면 노드가 거절하면서 자기 링을 알려주므로(NOT_OWNER), 그 링으로 바꾸고 다시 요청함.
+ * - ID 발급: 링의 첫 번째 노드(ID 발급 노드)에서 ID_BLOCK_SIZE개씩 예약해서 사용하므로, 애플리케이션마다 ID가 겹치지 않음.
+ * 노드는 발급 번호를 메모리에만 두므로, 처음 예약하기 전에 모든 노드의 가장 큰 ID로 발급 번호를 올림(ADVANCE_IDS).
+ * - 등록: 이미 있는 ID면 실패하는 INSERT로 저장함. ID 발급 노드가 다시 시작되어 사용한 ID를 다시 발급하면
+ * 발급 번호를 다시 맞추고 새 ID로 한 번 더 시도함.(덮어쓰는 PUT은 복원과 재분배에만 사용)
+ * - ID 조회/수정: 담당 노드 하나에만 요청함. 낙관적 동시성 제어(버전 비교)는 노드가 상품 단위로 원자적으로 처리함.
+ * - 목록/페이징/조건 조회: 모든 노드에 동시에 요청하고 결과를 합쳐서 정렬함.
+ * - 노드 추가(addShard): 새 링에서 새 노드가 담당하게 되는 상품만 복사 후 삭제함.(전체의 약 1/(N+1))
+ * <p>
+ * 변경 알림(ItemChangeListener)은 이 애플리케이션에서 저장/수정한 경우에만 발생함.(다른 애플리케이션의 수정은 알 수 없음)
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "sharded")
+public class ShardedItemRepository extends ItemRepository implements AutoCloseable {
+
+    static final int ID_BLOCK_SIZE = 1000;
+    static final int MOVE_BATCH_SIZE = 1000;
+    private static final int SCAN_BATCH_SIZE = 1000;
+    private static final long RETRY_MILLIS = 10; //재분배 중(MOVING)인 상품을 다시 요청하기 전에 기다리는 시간
+    private static final int RING_SYNC_ATTEMPTS = 3;
+
+    private static final Comparator<Item> BY_ID = Comparator.comparing(Item::getId);
+
+    private final int timeoutMillis;
+    private final Map<String, ShardClient> clients = new ConcurrentHashMap<>();
+    private final ExecutorService fanOutExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "item-shard-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 일반 요청은 읽기 잠금, 링 교체(처음 동기화, 노드 추가)는 쓰기 잠금
+     * 재분배 중에는 이 애플리케이션의 요청이 기다리므로, 옮기는 도중의 상품을 찾지 못하는 경우가 없음.
+     * 다른 애플리케이션의 요청은 노드가 링 세대로 확인함.
+     */
+    private final ReadWriteLock ringLock = new ReentrantReadWriteLock();
+    private volatile ConsistentHashRing ring;
+    private volatile boolean ringSynced; //노드들의 링을 확인했는지
+
+    private long nextId; //예약한 ID 범위(nextId ~ lastId), idLock으로 보호
+    private long lastId = -1;
+    private boolean idsSynced; //ID 발급 노드의 발급 번호를 노드들의 가장 큰 ID 이상으로 올렸는지, idLock으로 보호
+    private final Object idLock = new Object();
+
+    /**
+     * @param nodes         샤드 노드 주소(host:port) 목록, 노드들에 링이 없을 때 첫 번째 노드가 ID를 발급함
+     * @param virtualNodes  노드당 가상 노드 수
+     * @param timeoutMillis 연결/응답 제한 시간(재분배 중인 상품을 다시 요청하는 제한 시간)
+     */
+    public ShardedItemRepository(@Value("${item.shard.nodes}") List<String> nodes,
+                                 @Value("${item.shard.virtual-nodes:128}") int virtualNodes,
+                                 @Value("${item.shard.timeout-ms:5000}") int timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.ring = new ConsistentHashRing(nodes, virtualNodes);
+        log.info("샤드 저장소 nodes={}, virtualNodes={}", nodes, virtualNodes);
+    }
+
+    /**
+     * @throws IllegalStateException 발급 번호를 다시 맞춘 뒤에도 이미 사용 중인 ID를 받은 경우
+     */
+    @Override
+    public Item save(Item item) {
+        for (int attempt = 0; ; attempt++) {
+            item.setId(nextId());
+            item.setVersion(0);
+            if (withRing(current -> client(current.shardFor(item.getId())).insertAll(current.getEpoch(), List.of(item)))) {
+                break;
+            }
+            if (attempt > 0) {
+                throw new IllegalStateException("이미 사용 중인 상품 ID입니다. itemId=" + item.getId());
+            }
+            resyncIds();
+        }
+
+        fireSaved(item);
+        return item;
+    }
+
+    /**
+     * ID 범위를 한 번에 예약하고, 노드별로 모아서 한 번씩만 요청함.
+     * 어느 노드에서든 이미 사용 중인 ID가 나오면 다른 노드에 추가한 상품을 지우고, 발급 번호를 다시 맞춘 뒤 새 범위로 한 번 더 시도함.
+     *
+     * @throws IllegalStateException 발급 번호를 다시 맞춘 뒤에도 이미 사용 중인 ID를 받은 경우
+     */
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            long firstId = reserveIds(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(firstId + i);
+                items.get(i).setVersion(0);
+            }
+            if (withRing(current -> insertAll(current, items))) {
+                break;
+            }
+            if (attempt > 0) {
+                throw new IllegalStateException("이미 사용 중인 상품 ID입니다. firstId=" + firstId);
+            }
+            resyncIds();
+        }
+
+        for (Item item : items) {
+            fireSaved(item);
+        }
+        return items;
+    }
+
+    /**
+     * 어느 노드에서든 실패하면(이미 있는 ID, 링 변경, 통신 오류) 추가했던 노드에서 지우므로, 다시 시도해도 일부만 남지 않음.
+     *
+     * @return 모든 노드에 추가했으면 true, 이미 있는 ID가 있으면 false
+     */
+    private boolean insertAll(ConsistentHashRing current, List<Item> items) {
+        Map<String, List<Item>> byShard = new LinkedHashMap<>();
+        for (Item item : items) {
+            byShard.computeIfAbsent(current.shardFor(item.getId()), shard -> new ArrayList<>()).add(item);
+        }
+        List<String> shards = new ArrayList<>(byShard.keySet());
+        List<Object> results = fanOut(shards, client -> {
+            try {
+                return client.insertAll(current.getEpoch(), byShard.get(client.getAddress()));
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+        if (Collections.frequency(results, Boolean.TRUE) == shards.size()) {
+            return true;
+        }
+
+        for (int i = 0; i < shards.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                client(shards.get(i)).delete(ids(byShard.get(shards.get(i))));
+            }
+        }
+        for (Object result : results) {
+            if (result instanceof RuntimeException) {
+                throw (RuntimeException) result;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return withRing(current -> client(current.shardFor(id)).get(current.getEpoch(), id));
+    }
+
+    /**
+     * 다른 애플리케이션도 노드를 수정할 수 있으므로 스냅샷을 재사용하지 않고 매번 모든 노드에서 읽음.
+     * 전체 상품을 메모리에 올리므로 요청 처리에서는 사용하지 않음.(목록은 findPage, 전체 순회는 scanAll)
+     */
+    @Override
+    public List<Item> findAll() {
+        return Collections.unmodifiableList(page(0, Integer.MAX_VALUE));
+    }
+
+    /**
+     * 노드별로 SCAN_BATCH_SIZE개씩 나누어 읽으면서 ID 순서로 순회
+     */
+    @Override
+    public Iterable<Item> scanAll() {
+        return () -> new Iterator<>() {
+
+            private List<Item> batch = List.of();
+            private int index;
+            private long afterId;
+            private boolean last;
+
+            @Override
+            public boolean hasNext() {
+                if (index < batch.size()) {
+                    return true;
+                }
+                if (last) {
+                    return false;
+                }
+                List<Item> items = page(afterId, SCAN_BATCH_SIZE + 1);
+                last = items.size() <= SCAN_BATCH_SIZE;
+                batch = last ? items : items.subList(0, SCAN_BATCH_SIZE);
+                index = 0;
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+                return !batch.isEmpty();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.get(index++);
+            }
+        };
+    }
+
+    /**
+     * 노드마다 (size + 1)개씩 읽어서 합친 뒤, 앞에서 size개를 반환함.(size + 1번째가 있으면 다음 페이지가 있음)
+     */
+    @Override
+    public ItemPage findPage(Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Item> items = page(afterId == null ? 0 : afterId, limit + 1);
+
+        if (items.size() > limit) {
+            List<Item> page = new ArrayList<>(items.subList(0, limit));
+            return new ItemPage(page, limit, page.get(limit - 1).getId());
+        }
+        return new ItemPage(items, limit, null);
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        fireUpdated(updateOnShard(itemId, updateParam, ShardProtocol.ANY_VERSION));
+    }
+
+    /**
+     * 버전 비교와 수정은 담당 노드가 한 번에 처리하므로, 다른 애플리케이션과 동시에 수정해도 하나만 반영됨.
+     */
+    @Override
+    public boolean update(Long itemId, Item updateParam, long expectedVersion) {
+        Item updated = updateOnShard(itemId, updateParam, expectedVersion);
+        if (updated == null) {
+            return false;
+        }
+        fireUpdated(updated);
+        return true;
+    }
+
+    private Item updateOnShard(Long itemId, Item updateParam, long expectedVersion) {
+        return withRing(current -> client(current.shardFor(itemId)).update(current.getEpoch(), itemId, updateParam, expectedVersion));
+    }
+
+    @Override
+    public void restore(Item item) {
+        withRing(current -> {
+            client(current.shardFor(item.getId())).putAll(List.of(item));
+            return null;
+        });
+        client(sequenceShard()).advanceIds(item.getId());
+    }
+
+    @Override
+    public List<Item> findByPriceBetween(int min, int max, int limit) {
+        int queryLimit = queryLimit(limit);
+        return withRing(current -> merge(fanOut(current.getShards(), client -> client.findByPriceBetween(current.getEpoch(), min, max, queryLimit)),
+                Comparator.comparing(Item::getPrice).thenComparing(BY_ID), queryLimit));
+    }
+
+    @Override
+    public List<Item> findByQuantityLessThan(int threshold, int limit) {
+        int queryLimit = queryLimit(limit);
+        return withRing(current -> merge(fanOut(current.getShards(), client -> client.findByQuantityLessThan(current.getEpoch(), threshold, queryLimit)),
+                Comparator.comparing(Item::getQuantity).thenComparing(BY_ID), queryLimit));
+    }
+
+    @Override
+    public List<Item> findByItemNameStartingWith(String prefix, int limit) {
+        int queryLimit = queryLimit(limit);
+        return withRing(current -> merge(fanOut(current.getShards(), client -> client.findByItemNameStartingWith(current.getEpoch(), prefix, queryLimit)),
+                Comparator.comparing(Item::getItemName).thenComparing(BY_ID), queryLimit));
+    }
+
+    @Override
+    public void clearStore() {
+        withRing(current -> fanOut(current.getShards(), client -> {
+            client.clear();
+            return null;
+        }));
+    }
+
+    /**
+     * 샤드 노드 추가 및 재분배
+     * <p>
+     * 1. 준비: 모든 노드에 다음 링을 알림(RING_SET). 이때부터 노드는 옮겨지는 상품의 등록/수정을 거절(MOVING)하므로
+     * 다른 애플리케이션의 요청은 재분배가 끝날 때까지 다시 시도함.
+     * 2. 복사: 기존 노드를 ID 순서로 MOVE_BATCH_SIZE개씩 읽어서, 새 링에서 새 노드가 담당하게 되는 상품만 새 노드에 복사함.
+     * 3. 적용: 새 노드부터 다음 링을 적용함. 이후 오래된 링으로 요청한 애플리케이션은 거절(NOT_OWNER)되고 새 링을 받음.
+     * 4. 삭제: 기존 노드에서 옮긴 상품을 삭제함.(적용 후에는 기존 노드가 조회 결과에서 제외하므로 그 사이에도 중복되지 않음)
+     * <p>
+     * 그동안 이 애플리케이션의 다른 요청은 기다림. 적용 전에 실패하면 모든 노드의 다음 링을 지우고(복사만 된 상품은 기존 노드에도 남아 있음)
+     * 같은 노드로 다시 호출하면 처음부터 다시 옮김. 적용 도중에 실패하면 다음 링은 되돌릴 수 없으므로, 아직 적용하지 않은 노드에는
+     * 다음에 링을 확인하는 애플리케이션이 새 링을 배포하고, 기존 노드에 남은 복사본은 조회에서 제외됨.
+     *
+     * @param shard 추가할 노드 주소(host:port)
+     * @return 옮긴 상품 수
+     */
+    public long addShard(String shard) {
+        Lock writeLock = ringLock.writeLock();
+        writeLock.lock();
+        try {
+            ConsistentHashRing current = syncRing(ring); //다른 애플리케이션이 추가한 노드 반영
+            ring = current;
+            ringSynced = true;
+            ConsistentHashRing next = current.withShard(shard);
+            ShardClient target = client(shard);
+            ConsistentHashRing targetRing = target.getRing(); //옮기기 전에 연결 확인
+
+            long start = System.nanoTime();
+            prepare(current, next, target, targetRing == null ? 0 : targetRing.getEpoch());
+
+            Map<String, List<long[]>> copied = new LinkedHashMap<>();
+            long moved = 0;
+            try {
+                for (String source : current.getShards()) {
+                    List<long[]> ids = copy(client(source), target, current, next);
+                    copied.put(source, ids);
+                    for (long[] batch : ids) {
+                        moved += batch.length;
+                    }
+                }
+            } catch (RuntimeException e) {
+                rollback(current, next.getShards());
+                throw e;
+            }
+
+            commit(target, current, next);
+            for (String source : current.getShards()) {
+                commit(client(source), current, next);
+            }
+            ring = next;
+
+            for (Map.Entry<String, List<long[]>> entry : copied.entrySet()) {
+                for (long[] ids : entry.getValue()) {
+                    client(entry.getKey()).delete(ids);
+                }
+            }
+            log.info("샤드 노드 추가 shard={}, moved={}, elapsed={}ms, ring={}", shard, moved, (System.nanoTime() - start) / 1_000_000, next);
+            return moved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 새 노드에는 지금 링(새 노드가 담당하는 ID 없음)을, 기존 노드에는 다음 링을 재분배 중으로 알림.
+     *
+     * @throws IllegalStateException 다른 애플리케이션이 링을 바꾸는 중인 경우
+     */
+    private void prepare(ConsistentHashRing current, ConsistentHashRing next, ShardClient target, long targetEpoch) {
+        if (!target.setRing(targetEpoch, current, next)) {
+            throw new IllegalStateException("다른 애플리케이션이 샤드 노드의 링을 바꾸는 중입니다. shard=" + target.getAddress());
+        }
+        List<String> prepared = new ArrayList<>(List.of(target.getAddress()));
+        for (String source : current.getShards()) {
+            if (!client(source).setRing(current.getEpoch(), current, next)) {
+                rollback(current, prepared); //다른 애플리케이션이 준비한 노드는 그대로 둠
+                throw new IllegalStateException("다른 애플리케이션이 샤드 노드의 링을 바꾸는 중입니다. shard=" + source);
+            }
+            prepared.add(source);
+        }
+    }
+
+    /**
+     * 재분배 준비를 취소함.(이미 다른 링으로 바뀐 노드는 그대로 둠)
+     */
+    private void rollback(ConsistentHashRing current, List<String> prepared) {
+        for (String shard : prepared) {
+            try {
+                client(shard).setRing(current.getEpoch(), current, null);
+            } catch (RuntimeException e) {
+                log.warn("샤드 노드의 재분배 준비를 취소하지 못했습니다. shard={}", shard, e); //다시 호출한 addShard가 준비를 덮어씀
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalStateException 노드의 링이 지금 링도, 다음 링도 아닌 경우
+     */
+    private static void commit(ShardClient client, ConsistentHashRing current, ConsistentHashRing next) {
+        if (client.setRing(current.getEpoch(), next, null)) {
+            return;
+        }
+        ConsistentHashRing applied = client.getRing();
+        if (applied == null || applied.getEpoch() != next.getEpoch() || !applied.getShards().equals(next.getShards())) {
+            //다른 애플리케이션이 링을 확인하면서 이미 같은 링을 적용한 경우가 아니면 실패
+            throw new IllegalStateException("샤드 노드에 새 링을 적용하지 못했습니다. shard=" + client.getAddress() + ", ring=" + applied);
+        }
+    }
+
+    /**
+     * @return 복사한 상품 ID(배치별)
+     */
+    private static List<long[]> copy(ShardClient source, ShardClient target, ConsistentHashRing current, ConsistentHashRing next) {
+        List<long[]> copied = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Item> batch = source.scan(current.getEpoch(), afterId, MOVE_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return copied;
+            }
+
+            List<Item> moving = new ArrayList<>();
+            for (Item item : batch) {
+                if (next.shardFor(item.getId()).equals(target.getAddress())) {
+                    moving.add(item);
+                }
+            }
+            if (!moving.isEmpty()) {
+                target.putAll(moving); //모두 복사하고 새 링을 적용한 뒤에 삭제하므로 중간에 실패해도 상품이 사라지지 않음
+                copied.add(ids(moving));
+            }
+
+            afterId = batch.get(batch.size() - 1).getId();
+            if (batch.size() < MOVE_BATCH_SIZE) {
+                return copied;
+            }
+        }
+    }
+
+    /**
+     * @return 노드별 상품 수(노드 주소 -> 상품 수)
+     */
+    public Map<String, Long> countByShard() {
+        return withRing(current -> {
+            List<String> shards = current.getShards();
+            List<Long> counts = fanOut(shards, ShardClient::count);
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int i = 0; i < shards.size(); i++) {
+                result.put(shards.get(i), counts.get(i));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public void close() {
+        fanOutExecutor.shutdownNow();
+        clients.values().forEach(ShardClient::close);
+    }
+
+    /**
+     * 링을 읽기 잠금으로 잡고 요청함. 노드가 거절하면(RingChangedException) 노드의 링이 더 새로우면 그 링으로 바꾸고,
+     * 재분배 중이면 잠시 기다린 뒤 timeoutMillis 동안 다시 요청함.
+     *
+     * @throws IllegalStateException timeoutMillis 안에 처리하지 못한 경우
+     */
+    private <T> T withRing(Function<ConsistentHashRing, T> call) {
+        if (!ringSynced) {
+            syncRing();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            RingChangedException changed;
+            Lock readLock = ringLock.readLock();
+            readLock.lock();
+            try {
+                return call.apply(ring);
+            } catch (RingChangedException e) {
+                changed = e;
+            } finally {
+                readLock.unlock();
+            }
+
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("샤드 노드의 링이 바뀌는 중이라 처리하지 못했습니다. ring=" + ring, changed);
+            }
+            ConsistentHashRing nodeRing = changed.getRing();
+            if (nodeRing != null && nodeRing.getEpoch() > ring.getEpoch()) {
+                adopt(nodeRing);
+            } else {
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    private void syncRing() {
+        Lock writeLock = ringLock.writeLock();
+        writeLock.lock();
+        try {
+            if (!ringSynced) {
+                ring = syncRing(ring);
+                ringSynced = true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 노드들의 링 중 가장 새로운 링을 사용하고, 그보다 오래된 링을 가진 노드(다시 시작한 노드 등)에는 그 링을 배포함.
+     * 아무 노드에도 링이 없으면 known을 세대 1로 배포함. 쓰기 잠금 안에서 호출
+     *
+     * @throws IllegalStateException 다른 애플리케이션과 동시에 배포해서 RING_SYNC_ATTEMPTS번 안에 맞추지 못한 경우
+     */
+    private ConsistentHashRing syncRing(ConsistentHashRing known) {
+        for (int attempt = 1; ; attempt++) {
+            List<String> shards = known.getShards();
+            List<ConsistentHashRing> rings = fanOut(shards, ShardClient::getRing);
+            ConsistentHashRing latest = known.getEpoch() == 0 ? known.withEpoch(1) : known;
+            for (ConsistentHashRing nodeRing : rings) {
+                if (nodeRing != null && nodeRing.getEpoch() > latest.getEpoch()) {
+                    latest = nodeRing;
+                }
+            }
+            if (!shards.containsAll(latest.getShards())) { //다른 애플리케이션이 추가한 노드의 링도 확인
+                known = latest;
+                continue;
+            }
+
+            boolean synced = true;
+            for (int i = 0; i < shards.size(); i++) {
+                long epoch = rings.get(i) == null ? 0 : rings.get(i).getEpoch();
+                if (epoch < latest.getEpoch() && !client(shards.get(i)).setRing(epoch, latest, null)) {
+                    synced = false;
+                }
+            }
+            if (synced) {
+                if (latest.getEpoch() != ring.getEpoch()) {
+                    log.info("샤드 노드의 링 사용 ring={}", latest);
+                }
+                return latest;
+            }
+            if (attempt >= RING_SYNC_ATTEMPTS) {
+                throw new IllegalStateException("샤드 노드들의 링을 맞추지 못했습니다. ring=" + latest);
+            }
+            known = latest;
+        }
+    }
+
+    /**
+     * 노드가 알려준 더 새로운 링으로 바꿈.(다른 애플리케이션이 노드를 추가함)
+     */
+    private void adopt(ConsistentHashRing nodeRing) {
+        Lock writeLock = ringLock.writeLock();
+        writeLock.lock();
+        try {
+            if (nodeRing.getEpoch() > ring.getEpoch()) {
+                log.info("샤드 노드의 새 링 사용 ring={}", nodeRing);
+                ring = nodeRing;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("샤드 노드 요청을 다시 시도하는 중 중단되었습니다.", e);
+        }
+    }
+
+    /**
+     * ID 발급 노드(링의 첫 번째 노드, 노드를 추가해도 바뀌지 않음)
+     */
+    private String sequenceShard() {
+        if (!ringSynced) {
+            syncRing();
+        }
+        return ring.getShards().get(0);
+    }
+
+    /**
+     * ID 발급 노드에서 예약한 범위를 다 쓰면 다음 범위를 예약함.
+     */
+    private long nextId() {
+        synchronized (idLock) {
+            if (nextId > lastId) {
+                nextId = reserveIds(ID_BLOCK_SIZE);
+                lastId = nextId + ID_BLOCK_SIZE - 1;
+            }
+            return nextId++;
+        }
+    }
+
+    /**
+     * @return 예약한 연속된 ID 범위의 첫 ID
+     */
+    private long reserveIds(int count) {
+        synchronized (idLock) {
+            if (!idsSynced) {
+                syncIds();
+                idsSynced = true;
+            }
+            return client(sequenceShard()).nextIds(count);
+        }
+    }
+
+    /**
+     * 이미 사용 중인 ID를 받았으면(ID 발급 노드가 다시 시작됨) 발급 번호를 다시 맞추고 남은 범위를 버림.
+     */
+    private void resyncIds() {
+        synchronized (idLock) {
+            log.warn("이미 사용 중인 상품 ID를 받아서 ID 발급 번호를 다시 맞춤 shard={}", sequenceShard());
+            syncIds();
+            nextId = lastId + 1;
+        }
+    }
+
+    /**
+     * ID 발급 노드의 발급 번호를 모든 노드의 가장 큰 상품 ID 이상으로 올림.(재분배 후 남은 복사본의 ID도 포함)
+     */
+    private void syncIds() {
+        long maxId = 0;
+        for (long shardMaxId : withRing(current -> fanOut(current.getShards(), ShardClient::maxId))) {
+            maxId = Math.max(maxId, shardMaxId);
+        }
+        client(sequenceShard()).advanceIds(maxId);
+    }
+
+    /**
+     * 모든 노드에서 afterId 다음부터 limit개씩 읽어서 ID 순서로 합친 뒤 앞에서 limit개
+     */
+    private List<Item> page(long afterId, int limit) {
+        return withRing(current -> merge(fanOut(current.getShards(), client -> client.scan(current.getEpoch(), afterId, limit)), BY_ID, limit));
+    }
+
+    /**
+     * 재분배 중 새 노드에 새 링을 적용한 뒤 기존 노드에 적용하기 전에는 같은 상품이 두 노드에서 조회될 수 있으므로
+     * ID가 같으면 버전이 높은 상품만 남김.
+     */
+    private static List<Item> merge(List<List<Item>> results, Comparator<Item> order, int limit) {
+        Map<Long, Item> byId = new HashMap<>();
+        for (List<Item> result : results) {
+            for (Item item : result) {
+                byId.merge(item.getId(), item, (a, b) -> a.getVersion() >= b.getVersion() ? a : b);
+            }
+        }
+        List<Item> items = new ArrayList<>(byId.values());
+        items.sort(order);
+        return items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+
+    /**
+     * 노드마다 동시에 요청하고 노드 순서대로 결과를 반환함.(노드가 하나면 호출한 스레드에서 바로 요청)
+     */
+    private <T> List<T> fanOut(List<String> shards, Function<ShardClient, T> call) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(call.apply(client(shards.get(0))));
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            ShardClient client = client(shard);
+            futures.add(CompletableFuture.supplyAsync(() -> call.apply(client), fanOutExecutor));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private ShardClient client(String shard) {
+        return clients.computeIfAbsent(shard, address -> new ShardClient(address, timeoutMillis));
+    }
+
+    private static long[] ids(List<Item> items) {
+        long[] ids = new long[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = items.get(i).getId();
+        }
+        return ids;
+    }
+
+    private static int queryLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_QUERY_SIZE));
+    }
+}
@@ -0,0 +1,94 @@
+package hello.itemservice.web.message;
+
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성한 메시지 코드를 캐시하는 MessageCodesResolver
+ * <p>
+ * rejectValue("price", "range", ...)를 호출할 때마다 DefaultMessageCodesResolver는 문자열을 이어 붙여서
+ * 메시지 코드 4개(range.item.price, range.price, range.java.lang.Integer, range)를 새로 만듦.
+ * 같은 (오류 코드, 객체명, 필드명, 필드 타입)이면 항상 같은 결과이므로 한 번 만든 배열을 재사용함.
+ * <p>
+ * 반환된 배열은 여러 요청이 공유하므로 수정하면 안 됨.(FieldError, ObjectError는 배열을 수정하지 않음)
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private static final int MAX_CACHE_SIZE = 10_000; //필드명이 계속 달라지는 경우에 캐시가 무한히 커지지 않도록 제한
+
+    private final MessageCodesResolver delegate;
+    private final Map<Key, String[]> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver() {
+        this(new DefaultMessageCodesResolver());
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        Key key = new Key(errorCode, objectName, null, null);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = put(key, delegate.resolveMessageCodes(errorCode, objectName));
+        }
+        return codes;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        Key key = new Key(errorCode, objectName, field, fieldType);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = put(key, delegate.resolveMessageCodes(errorCode, objectName, field, fieldType));
+        }
+        return codes;
+    }
+
+    private String[] put(Key key, String[] codes) {
+        if (cache.size() < MAX_CACHE_SIZE) {
+            cache.putIfAbsent(key, codes);
+        }
+        return codes;
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        private Key(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.hash = Objects.hash(errorCode, objectName, field, fieldType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(errorCode, other.errorCode)
+                    && Objects.equals(objectName, other.objectName)
+                    && Objects.equals(field, other.field)
+                    && fieldType == other.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
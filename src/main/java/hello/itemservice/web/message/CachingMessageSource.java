@@ -0,0 +1,123 @@
+package hello.itemservice.web.message;
+
+import org.springframework.context.HierarchicalMessageSource;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오류 메시지(MessageSourceResolvable)를 찾을 때 어떤 메시지 코드가 사용되는지 캐시하는 MessageSource
+ * <p>
+ * FieldError의 메시지 코드(range.item.price, range.price, range.java.lang.Integer, range)는 기본 MessageSource가
+ * 매번 앞에서부터 하나씩 찾아보므로, 앞쪽 코드가 없을수록 조회가 여러 번 일어남.
+ * (코드 목록, Locale)별로 처음 찾은 코드를 기억해 두고 다음부터는 그 코드 하나만 조회함.
+ * 메시지 인자는 요청마다 다르므로 완성된 메시지가 아니라 코드만 캐시함.
+ * <p>
+ * - 어떤 코드도 없으면(기본 메시지 사용) 그 결과도 캐시하고, 기본 메시지 처리는 원래 MessageSource에 맡김.
+ * - 메시지 파일이 바뀌면 clearCache()를 호출해야 함.
+ * - useCodeAsDefaultMessage=true인 MessageSource에는 사용할 수 없음.(없는 코드도 찾은 것으로 보임)
+ */
+public class CachingMessageSource implements HierarchicalMessageSource {
+
+    private static final int MAX_CACHE_SIZE = 10_000;
+    private static final String NOT_FOUND = new String("NOT_FOUND"); //코드가 없음을 나타내는 값(동일성으로 비교)
+
+    private final HierarchicalMessageSource delegate;
+    private final Map<Key, String> resolvedCodes = new ConcurrentHashMap<>();
+
+    public CachingMessageSource(HierarchicalMessageSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        return delegate.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        return delegate.getMessage(code, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes == null || codes.length == 0) {
+            return delegate.getMessage(resolvable, locale);
+        }
+
+        Key key = new Key(codes, locale);
+        String code = resolvedCodes.get(key);
+        if (code == null) {
+            code = findCode(codes, locale);
+            if (resolvedCodes.size() < MAX_CACHE_SIZE) {
+                resolvedCodes.putIfAbsent(key, code);
+            }
+        }
+
+        if (code == NOT_FOUND) {
+            return delegate.getMessage(resolvable, locale);
+        }
+        return delegate.getMessage(code, resolvable.getArguments(), locale);
+    }
+
+    @Override
+    public void setParentMessageSource(MessageSource parent) {
+        delegate.setParentMessageSource(parent);
+        clearCache();
+    }
+
+    @Override
+    public MessageSource getParentMessageSource() {
+        return delegate.getParentMessageSource();
+    }
+
+    public void clearCache() {
+        resolvedCodes.clear();
+    }
+
+    /**
+     * 기본 MessageSource와 같은 순서로 찾아서 처음 존재하는 코드를 반환
+     */
+    private String findCode(String[] codes, Locale locale) {
+        for (String code : codes) {
+            if (delegate.getMessage(code, null, null, locale) != null) {
+                return code;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static final class Key {
+
+        private final String[] codes;
+        private final Locale locale;
+        private final int hash;
+
+        private Key(String[] codes, Locale locale) {
+            this.codes = codes;
+            this.locale = locale;
+            this.hash = 31 * Arrays.hashCode(codes) + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(locale, other.locale) && (codes == other.codes || Arrays.equals(codes, other.codes));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package hello.itemservice.web.message;
+
+import hello.itemservice.web.metrics.CountingMessageCodesResolver;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 메시지 코드/메시지 조회 캐시 설정
+ * - MessageCodesResolver: 검증 오류의 메시지 코드 배열을 캐시(CachingMessageCodesResolver), 메트릭을 사용하면 오류 코드별 수도 집계.
+ * 스프링 MVC 바인딩뿐 아니라 BindingResult를 직접 만드는 곳(대량 등록, 배치 검증, 리액티브 API)도 같은 빈을 주입받아 사용함.
+ * - MessageSource: spring.messages.* 설정으로 메시지 파일을 미리 읽어 두는 PrecompiledMessageSource를 만듦.
+ * item.messages.precompiled=false이면 스프링 부트와 같은 ResourceBundleMessageSource를 만들고
+ * 오류 메시지 코드 조회 결과를 캐시하는 CachingMessageSource로 감쌈.
+ * (messageSource 빈을 직접 등록하면 스프링 부트의 MessageSourceAutoConfiguration은 동작하지 않음)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MessageConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ValidationMetrics> validationMetrics; //item.metrics.enabled=false이면 없음
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver();
+    }
+
+    @Bean
+    public MessageCodesResolver messageCodesResolver() {
+        MessageCodesResolver resolver = new CachingMessageCodesResolver();
+        ValidationMetrics metrics = validationMetrics.getIfAvailable();
+        return metrics == null ? resolver : new CountingMessageCodesResolver(resolver, metrics); //오류 코드별 검증 오류 수
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean
+    public MessageSource messageSource(MessageSourceProperties properties,
+                                       @Value("${item.messages.precompiled:true}") boolean precompiled,
+                                       @Value("${item.messages.reload-interval-ms:0}") long reloadIntervalMillis) {
+        String[] basenames = StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(properties.getBasename()));
+
+        if (precompiled) {
+            PrecompiledMessageSource messageSource = new PrecompiledMessageSource(basenames, getClass().getClassLoader(),
+                    properties.isFallbackToSystemLocale(), reloadIntervalMillis);
+            messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+            messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+            return messageSource;
+        }
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(basenames);
+        if (properties.getEncoding() != null) {
+            messageSource.setDefaultEncoding(properties.getEncoding().name());
+        }
+        messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+        Duration cacheDuration = properties.getCacheDuration();
+        if (cacheDuration != null) {
+            messageSource.setCacheMillis(cacheDuration.toMillis());
+        }
+        messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+        messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+
+        //메시지 파일을 다시 읽는 경우(cache-duration)와 코드를 기본 메시지로 쓰는 경우에는 캐시하지 않음.
+        if (cacheDuration != null || properties.isUseCodeAsDefaultMessage()) {
+            return messageSource;
+        }
+        return new CachingMessageSource(messageSource);
+    }
+}
@@ -0,0 +1,351 @@
+package hello.itemservice.web.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 파일을 미리 읽어서 Locale별 해시 테이블로 만들어 두는 MessageSource
+ * <p>
+ * 기본 ResourceBundleMessageSource는 조회할 때마다 basename별 ResourceBundle을 찾고(errors_en -> errors),
+ * 인자가 있으면 캐시된 MessageFormat을 synchronized로 잠그고 포맷함.
+ * 이 MessageSource는 Locale마다 (코드 -> 미리 분석한 메시지 템플릿) 테이블을 한 번 만들어 두고,
+ * 조회는 해시 조회 한 번, 포맷은 잠금 없이 템플릿 조각을 이어 붙여서 처리함.
+ * <p>
+ * - 메시지를 찾는 순서(basename 순서, Locale 대체, 시스템 Locale 대체)는 ResourceBundleMessageSource와 같음.
+ * - 단순 인자({0})만 있는 메시지는 MessageFormat과 같은 결과를 직접 만들고,
+ * 형식 지정 인자({0,number,#} 등)가 있는 메시지는 조회할 때마다 새 MessageFormat으로 포맷함.
+ * - reloadIntervalMillis > 0이면 메시지 파일의 수정 시각을 주기적으로 확인해서 바뀌면 다시 읽음.
+ */
+@Slf4j
+public class PrecompiledMessageSource extends AbstractMessageSource implements Closeable {
+
+    private static final String SUFFIX = ".properties";
+
+    private final String[] basenames;
+    private final ClassLoader classLoader;
+    private final ResourceBundle.Control control;
+    private final ScheduledExecutorService reloader;
+
+    //요청 Locale -> 테이블(실제로 찾은 ResourceBundle이 같은 Locale끼리는 같은 테이블을 공유)
+    private final Map<Locale, Map<String, Template>> tables = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Template>> tablesByBundle = new ConcurrentHashMap<>();
+    private final Map<URL, Long> lastModified = new ConcurrentHashMap<>();
+
+    /**
+     * @param basenames              메시지 파일 이름 목록(앞에 있는 파일의 메시지가 우선)
+     * @param classLoader            메시지 파일을 읽을 클래스 로더
+     * @param fallbackToSystemLocale 요청 Locale의 메시지 파일이 없으면 시스템 Locale의 메시지 파일을 사용할지 여부
+     * @param reloadIntervalMillis   메시지 파일 변경 확인 주기(0 이하면 다시 읽지 않음)
+     */
+    public PrecompiledMessageSource(String[] basenames, ClassLoader classLoader, boolean fallbackToSystemLocale, long reloadIntervalMillis) {
+        this.basenames = basenames.clone();
+        this.classLoader = classLoader;
+        this.control = fallbackToSystemLocale
+                ? ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES)
+                : ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+        preload();
+
+        if (reloadIntervalMillis > 0) {
+            reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "message-source-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadQuietly, reloadIntervalMillis, reloadIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            reloader = null;
+        }
+    }
+
+    /**
+     * 메시지 파일이 바뀌었으면 모든 테이블을 다시 만듦.
+     *
+     * @return 다시 읽었으면 true
+     */
+    public boolean reloadIfModified() {
+        boolean modified = lastModified.entrySet().stream()
+                .anyMatch(entry -> lastModified(entry.getKey()) != entry.getValue());
+        if (!modified) {
+            return false;
+        }
+
+        ResourceBundle.clearCache(classLoader);
+        lastModified.clear();
+        tablesByBundle.clear();
+        tables.clear();
+        preload();
+        log.info("메시지 파일 다시 읽기 완료 basenames={}", String.join(",", basenames));
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * 테이블에서 찾은 메시지를 잠금 없이 포맷함.
+     * 테이블에 없는 코드는 상위 구현(공통 메시지, 부모 MessageSource)에 맡김.
+     */
+    @Override
+    protected String getMessageInternal(String code, Object[] args, Locale locale) {
+        if (code == null) {
+            return null;
+        }
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+
+        Template template = table(locale).get(code);
+        if (template == null) {
+            //공통 메시지나 부모 MessageSource가 없으면 인자를 처리하지 않고 바로 반환
+            if (getCommonMessages() == null && getParentMessageSource() == null) {
+                return null;
+            }
+            return super.getMessageInternal(code, args, locale);
+        }
+        if (!isAlwaysUseMessageFormat() && ObjectUtils.isEmpty(args)) {
+            return template.message;
+        }
+        return template.format(resolveArguments(args, locale), locale);
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        Template template = table(locale).get(code);
+        return template == null ? null : template.message;
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Template template = table(locale).get(code);
+        return template == null ? null : new MessageFormat(template.message, locale);
+    }
+
+    private Map<String, Template> table(Locale locale) {
+        Map<String, Template> table = tables.get(locale);
+        if (table == null) {
+            table = tables.computeIfAbsent(locale, this::loadTable);
+        }
+        return table;
+    }
+
+    /**
+     * basename 순서대로 ResourceBundle(부모 포함)을 읽어서 하나의 테이블로 합침.(먼저 나온 코드가 우선)
+     */
+    private Map<String, Template> loadTable(Locale locale) {
+        List<String> foundBasenames = new ArrayList<>();
+        List<ResourceBundle> bundles = new ArrayList<>();
+        StringBuilder bundleKey = new StringBuilder();
+        for (String basename : basenames) {
+            try {
+                ResourceBundle bundle = ResourceBundle.getBundle(basename, locale, classLoader, control);
+                foundBasenames.add(basename);
+                bundles.add(bundle);
+                bundleKey.append(basename).append('_').append(bundle.getLocale()).append(',');
+            } catch (MissingResourceException e) {
+                log.warn("메시지 파일을 찾을 수 없습니다. basename={}, locale={}", basename, locale);
+            }
+        }
+
+        return tablesByBundle.computeIfAbsent(bundleKey.toString(), key -> {
+            Map<String, Template> table = new HashMap<>();
+            for (int i = 0; i < bundles.size(); i++) {
+                ResourceBundle bundle = bundles.get(i);
+                for (String code : bundle.keySet()) {
+                    table.computeIfAbsent(code, c -> new Template(bundle.getString(c)));
+                }
+                watch(foundBasenames.get(i), bundle.getLocale());
+            }
+            return table;
+        });
+    }
+
+    /**
+     * 메시지 파일이 있는 Locale과 시스템 Locale의 테이블을 미리 만듦.
+     */
+    private void preload() {
+        Set<Locale> locales = new LinkedHashSet<>();
+        locales.add(Locale.getDefault());
+
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        for (String basename : basenames) {
+            String path = basename.replace('.', '/');
+            String name = StringUtils.getFilename(path);
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + path + "*" + SUFFIX)) {
+                    String filename = resource.getFilename();
+                    if (filename != null && filename.startsWith(name + "_")) {
+                        locales.add(StringUtils.parseLocale(filename.substring(name.length() + 1, filename.length() - SUFFIX.length())));
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("메시지 파일 목록을 읽을 수 없습니다. basename={}", basename, e);
+            }
+        }
+
+        locales.forEach(this::table);
+    }
+
+    /**
+     * 테이블을 만드는 데 사용한 메시지 파일(부모 포함)의 수정 시각을 기록
+     */
+    private void watch(String basename, Locale bundleLocale) {
+        for (Locale locale = bundleLocale; locale != null; locale = parent(locale)) {
+            URL url = classLoader.getResource(control.toResourceName(control.toBundleName(basename, locale), "properties"));
+            if (url != null) {
+                lastModified.putIfAbsent(url, lastModified(url));
+            }
+        }
+    }
+
+    private static Locale parent(Locale locale) {
+        if (!locale.getVariant().isEmpty()) {
+            return new Locale(locale.getLanguage(), locale.getCountry());
+        }
+        if (!locale.getCountry().isEmpty()) {
+            return new Locale(locale.getLanguage());
+        }
+        return locale.getLanguage().isEmpty() ? null : Locale.ROOT;
+    }
+
+    private static long lastModified(URL url) {
+        try {
+            return url.openConnection().getLastModified();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reloadIfModified();
+        } catch (Exception e) {
+            log.error("메시지 파일 다시 읽기 실패", e);
+        }
+    }
+
+    /**
+     * 미리 분석한 메시지 템플릿
+     * MessageFormat과 같은 규칙으로 작은따옴표(' 이스케이프, '' -> ')를 처리하고, 메시지를 문자열 조각과 인자 번호로 나눔.
+     */
+    static final class Template {
+
+        private final String message;
+        private final Object[] parts; //String(문자열 조각) 또는 Integer(인자 번호), 형식 지정 인자가 있으면 null
+
+        Template(String message) {
+            this.message = message;
+            this.parts = parse(message);
+        }
+
+        String format(Object[] args, Locale locale) {
+            if (parts == null) {
+                return new MessageFormat(message, locale).format(args);
+            }
+
+            StringBuilder result = new StringBuilder(message.length() + 16);
+            for (Object part : parts) {
+                if (part instanceof String) {
+                    result.append((String) part);
+                    continue;
+                }
+
+                int index = (Integer) part;
+                if (args == null || index >= args.length) {
+                    result.append('{').append(index).append('}');
+                } else {
+                    appendArgument(result, args[index], locale);
+                }
+            }
+            return result.toString();
+        }
+
+        /**
+         * MessageFormat이 형식 지정 없는 인자를 출력하는 방식과 같음.
+         */
+        private static void appendArgument(StringBuilder result, Object arg, Locale locale) {
+            if (arg == null) {
+                result.append("null");
+            } else if (arg instanceof String) {
+                result.append((String) arg);
+            } else if (arg instanceof Number) {
+                result.append(NumberFormat.getInstance(locale).format(arg));
+            } else if (arg instanceof Date) {
+                result.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(arg));
+            } else {
+                result.append(arg);
+            }
+        }
+
+        private static Object[] parse(String message) {
+            List<Object> parts = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            boolean inQuote = false;
+
+            for (int i = 0; i < message.length(); i++) {
+                char ch = message.charAt(i);
+                if (ch == '\'') {
+                    if (i + 1 < message.length() && message.charAt(i + 1) == '\'') {
+                        text.append(ch);
+                        i++;
+                    } else {
+                        inQuote = !inQuote;
+                    }
+                } else if (ch == '{' && !inQuote) {
+                    int end = message.indexOf('}', i);
+                    if (end < 0 || end == i + 1 || end - i > 5) {
+                        return null;
+                    }
+                    for (int j = i + 1; j < end; j++) {
+                        if (message.charAt(j) < '0' || message.charAt(j) > '9') {
+                            return null; //형식 지정 인자({0,number,#})
+                        }
+                    }
+
+                    if (text.length() > 0) {
+                        parts.add(text.toString());
+                        text.setLength(0);
+                    }
+                    parts.add(Integer.parseInt(message.substring(i + 1, end)));
+                    i = end;
+                } else {
+                    text.append(ch);
+                }
+            }
+
+            if (text.length() > 0) {
+                parts.add(text.toString());
+            }
+            return parts.toArray();
+        }
+    }
+}
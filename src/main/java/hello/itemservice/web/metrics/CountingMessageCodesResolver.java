@@ -0,0 +1,33 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.MessageCodesResolver;
+
+/**
+ * 오류 코드별 검증 오류 수를 세는 MessageCodesResolver
+ * <p>
+ * rejectValue/reject, Bean Validation, 타입 오류(typeMismatch)는 모두 BindingResult에 오류를 추가할 때
+ * 메시지 코드를 만들기 위해 MessageCodesResolver를 한 번 호출하므로, 여기서 세면 어디서 추가된 오류든 모두 집계됨.
+ * (new FieldError(...)로 직접 만든 오류는 제외)
+ */
+public class CountingMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final ValidationMetrics metrics;
+
+    public CountingMessageCodesResolver(MessageCodesResolver delegate, ValidationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        metrics.rejected(errorCode);
+        return delegate.resolveMessageCodes(errorCode, objectName);
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        metrics.rejected(errorCode);
+        return delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+    }
+}
@@ -0,0 +1,84 @@
+package hello.itemservice.web.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.List;
+
+/**
+ * 검증/저장소 메트릭 설정(item.metrics.enabled=true, 생략 시 기본값)
+ * 메트릭은 Actuator로 조회함.(GET /actuator/metrics/item.validation, GET /actuator/prometheus)
+ * <p>
+ * - 스프링 MVC가 MeteredDataBinder를 사용하도록 RequestMappingHandlerAdapter를 교체함.
+ * - 오류 코드별 집계는 MessageConfig가 CountingMessageCodesResolver로 감싸서 처리함.
+ * - 저장소 빈은 ItemRepositoryMetricsPostProcessor가 프록시로 감쌈.
+ * item.metrics.enabled=false이면 위의 객체가 하나도 등록되지 않으므로 바인딩/검증/저장소 호출에 추가 비용이 없음.
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ItemMetricsConfig {
+
+    @Bean
+    public ValidationMetrics validationMetrics(MeterRegistry registry) {
+        return new ValidationMetrics(registry);
+    }
+
+    @Bean
+    public WebMvcRegistrations meteredDataBinderRegistrations(ValidationMetrics validationMetrics) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new MeteredRequestMappingHandlerAdapter(validationMetrics);
+            }
+        };
+    }
+
+    /**
+     * BeanPostProcessor는 다른 빈보다 먼저 만들어지므로 static으로 등록하고 MeterRegistry는 처음 기록할 때 조회함.
+     */
+    @Bean
+    public static ItemRepositoryMetricsPostProcessor itemRepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new ItemRepositoryMetricsPostProcessor(registry);
+    }
+
+    private static class MeteredRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+        private final ValidationMetrics validationMetrics;
+
+        MeteredRequestMappingHandlerAdapter(ValidationMetrics validationMetrics) {
+            this.validationMetrics = validationMetrics;
+        }
+
+        @Override
+        protected InitBinderDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+            return new MeteredDataBinderFactory(binderMethods, getWebBindingInitializer(), validationMetrics);
+        }
+    }
+
+    private static class MeteredDataBinderFactory extends ServletRequestDataBinderFactory {
+
+        private final ValidationMetrics validationMetrics;
+
+        MeteredDataBinderFactory(List<InvocableHandlerMethod> binderMethods, WebBindingInitializer initializer,
+                                 ValidationMetrics validationMetrics) {
+            super(binderMethods, initializer);
+            this.validationMetrics = validationMetrics;
+        }
+
+        @Override
+        protected ServletRequestDataBinder createBinderInstance(Object target, String objectName, NativeWebRequest request) {
+            return new MeteredDataBinder(target, objectName, validationMetrics);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 저장소 메서드별 실행 시간(item.repository{repository, method})
+ * <p>
+ * 저장소 코드를 수정하지 않도록 저장소 빈을 프록시로 감싸서 측정함.
+ * 측정 대상이 아닌 메서드(restore, addChangeListener 등)는 인터셉터를 거치지 않고 바로 호출되므로,
+ * 시작할 때 로그/스냅샷으로 복원하는 비용은 거의 늘어나지 않음.
+ */
+public class ItemRepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final String[] TIMED_METHODS = {
+            "save", "saveAll", "findById", "findAll", "findPage", "update", "scanAll", "findBy*"
+    };
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public ItemRepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof ItemRepository)) {
+            return bean;
+        }
+
+        NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(new TimingInterceptor(registry, bean.getClass().getSimpleName()));
+        advisor.setMappedNames(TIMED_METHODS);
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true); //ItemRepository는 인터페이스가 없는 클래스
+        proxyFactory.addAdvisor(advisor);
+        proxyFactory.setFrozen(true); //측정 대상이 아닌 메서드는 인터셉터 체인 없이 바로 호출
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> registry;
+        private final String repository;
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> registry, String repository) {
+            this.registry = registry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timer(invocation.getMethod().getName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer timer(String method) {
+            Timer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, key -> Timer.builder("item.repository")
+                        .description("상품 저장소 메서드 실행 시간")
+                        .tag("repository", repository)
+                        .tag("method", key)
+                        .register(registry.getObject()));
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * 바인딩 시간과 검증기별 실행 시간을 기록하는 WebDataBinder
+ * <p>
+ * @ModelAttribute 바인딩(bind)과 @Validated 검증(validate)은 모두 요청마다 만들어지는 WebDataBinder를 거치므로,
+ * 스프링 MVC가 이 바인더를 만들도록 교체하면 컨트롤러를 수정하지 않고 측정할 수 있음.(ItemMetricsConfig)
+ * 검증은 DataBinder.validate와 같은 순서로 검증기를 실행하면서 검증기마다 시간을 기록함.
+ */
+public class MeteredDataBinder extends ExtendedServletRequestDataBinder {
+
+    private final ValidationMetrics metrics;
+
+    public MeteredDataBinder(Object target, String objectName, ValidationMetrics metrics) {
+        super(target, objectName);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bind(ServletRequest request) {
+        long start = System.nanoTime();
+        try {
+            super.bind(request);
+        } finally {
+            metrics.recordBinding(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void validate() {
+        validateAndRecord(target(), null);
+    }
+
+    @Override
+    public void validate(Object... validationHints) {
+        validateAndRecord(target(), validationHints);
+    }
+
+    private void validateAndRecord(Object target, Object[] validationHints) {
+        BindingResult bindingResult = getBindingResult();
+        for (Validator validator : getValidators()) {
+            long start = System.nanoTime();
+            if (!ObjectUtils.isEmpty(validationHints) && validator instanceof SmartValidator) {
+                ((SmartValidator) validator).validate(target, bindingResult, validationHints);
+            } else if (validator != null) {
+                validator.validate(target, bindingResult);
+            }
+            metrics.recordValidation(validator, System.nanoTime() - start);
+        }
+    }
+
+    private Object target() {
+        Object target = getTarget();
+        Assert.state(target != null, "No target to validate");
+        return target;
+    }
+}
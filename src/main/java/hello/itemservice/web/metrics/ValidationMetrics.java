@@ -0,0 +1,69 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.validation.ItemValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.validation.Validator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 바인딩/검증 메트릭
+ * <p>
+ * - item.binding: 요청 파라미터를 객체에 바인딩하는 시간
+ * - item.validation{validator=bean|itemValidator}: 검증기 실행 시간(Bean Validation, ItemValidator)
+ * - item.validation.rejections{code}: 오류 코드별 검증 오류 수(range, max, totalPriceMin, typeMismatch 등)
+ * <p>
+ * 요청마다 registry에서 미터를 찾으면 태그/ID 객체가 만들어지므로 미터는 미리 만들거나 한 번만 만들어서 재사용함.
+ * 시간은 Timer.Sample 대신 System.nanoTime() 차이로 기록해서 기록할 때 객체를 만들지 않음.
+ */
+public class ValidationMetrics {
+
+    private static final int MAX_ERROR_CODES = 100; //오류 코드 태그 수 제한(초과하면 other로 집계)
+
+    private final MeterRegistry registry;
+    private final Timer bindingTimer;
+    private final Timer beanValidationTimer;
+    private final Timer itemValidatorTimer;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.bindingTimer = Timer.builder("item.binding")
+                .description("요청 파라미터 바인딩 시간")
+                .register(registry);
+        this.beanValidationTimer = validationTimer("bean");
+        this.itemValidatorTimer = validationTimer("itemValidator");
+    }
+
+    public void recordBinding(long nanos) {
+        bindingTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordValidation(Validator validator, long nanos) {
+        Timer timer = validator instanceof ItemValidator ? itemValidatorTimer : beanValidationTimer;
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(String errorCode) {
+        Counter counter = rejections.get(errorCode);
+        if (counter == null) {
+            String code = rejections.size() < MAX_ERROR_CODES ? errorCode : "other";
+            counter = rejections.computeIfAbsent(code, key -> Counter.builder("item.validation.rejections")
+                    .description("오류 코드별 검증 오류 수")
+                    .tag("code", key)
+                    .register(registry));
+        }
+        counter.increment();
+    }
+
+    private Timer validationTimer(String validator) {
+        return Timer.builder("item.validation")
+                .description("검증기 실행 시간")
+                .tag("validator", validator)
+                .register(registry);
+    }
+}
@@ -0,0 +1,139 @@
+package hello.itemservice.web.reactive;
+
+import hello.itemservice.web.message.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.error.ApiError;
+import hello.itemservice.web.validation.form.ItemFormMapper;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Locale;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 리액티브 상품 API(WebFlux 함수형 엔드포인트)
+ * <p>
+ * - POST /reactive/api/items/add: ValidationApiController.addItem과 같은 검증 후 폼을 그대로 반환(저장하지 않음)
+ * - POST /reactive/api/items: 검증 후 저장, 201 Created
+ * - GET /reactive/api/items/{itemId}: 상품 조회, 없으면 404
+ * <p>
+ * 요청 본문은 Jackson 디코더로 비동기로 읽고, 검증(Bean Validation + totalPriceMin)은 CPU 작업만 하므로 이벤트 루프에서 실행함.
+ * 검증 오류는 400 Bad Request와 함께 서블릿 API와 같은 형식(ApiError 목록)으로 반환하고,
+ * JSON을 객체로 만들지 못하면 ServerWebInputException(400)으로 응답함.
+ */
+public class ReactiveItemHandler {
+
+    private final ReactiveItemRepository itemRepository;
+    private final Validator validator;
+    private final MessageSource messageSource;
+    private final ValidationMode validationMode;
+    private final MessageCodesResolver codesResolver;
+
+    public ReactiveItemHandler(ReactiveItemRepository itemRepository, Validator validator, MessageSource messageSource) {
+        this(itemRepository, validator, messageSource, ValidationMode.ALL);
+    }
+
+    /**
+     * @param validator      @Validated와 같은 글로벌 검증기(mvcValidator)
+     * @param validationMode 필드 오류가 있을 때 복합 룰을 생략할지 여부(item.validation.mode)
+     */
+    public ReactiveItemHandler(ReactiveItemRepository itemRepository, Validator validator, MessageSource messageSource,
+                               ValidationMode validationMode) {
+        this(itemRepository, validator, messageSource, validationMode, new CachingMessageCodesResolver());
+    }
+
+    /**
+     * @param codesResolver 스프링 MVC와 같은 메시지 코드 생성기(오류 코드별 메트릭 집계 포함)
+     */
+    public ReactiveItemHandler(ReactiveItemRepository itemRepository, Validator validator, MessageSource messageSource,
+                               ValidationMode validationMode, MessageCodesResolver codesResolver) {
+        this.itemRepository = itemRepository;
+        this.validator = validator;
+        this.messageSource = messageSource;
+        this.validationMode = validationMode;
+        this.codesResolver = codesResolver;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route(POST("/reactive/api/items/add").and(contentType(MediaType.APPLICATION_JSON)), this::addItem)
+                .andRoute(POST("/reactive/api/items").and(contentType(MediaType.APPLICATION_JSON)), this::saveItem)
+                .andRoute(GET("/reactive/api/items/{itemId}"), this::item);
+    }
+
+    public Mono<ServerResponse> addItem(ServerRequest request) {
+        return readForm(request).flatMap(form -> {
+            BindingResult bindingResult = validate(form);
+            if (bindingResult.hasErrors()) {
+                return badRequest(request, bindingResult);
+            }
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(form);
+        });
+    }
+
+    public Mono<ServerResponse> saveItem(ServerRequest request) {
+        return readForm(request).flatMap(form -> {
+            BindingResult bindingResult = validate(form);
+            if (bindingResult.hasErrors()) {
+                return badRequest(request, bindingResult);
+            }
+
+            return itemRepository.save(ItemFormMapper.toItem(form))
+                    .flatMap(savedItem -> ServerResponse.created(URI.create("/reactive/api/items/" + savedItem.getId()))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(savedItem));
+        });
+    }
+
+    public Mono<ServerResponse> item(ServerRequest request) {
+        long itemId;
+        try {
+            itemId = Long.parseLong(request.pathVariable("itemId"));
+        } catch (NumberFormatException e) {
+            return Mono.error(new ServerWebInputException("상품 ID는 숫자여야 합니다. itemId=" + request.pathVariable("itemId")));
+        }
+
+        return itemRepository.findById(itemId)
+                .flatMap(item -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(item))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private static Mono<ItemSaveForm> readForm(ServerRequest request) {
+        return request.bodyToMono(ItemSaveForm.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("요청 본문이 없습니다.")));
+    }
+
+    /**
+     * ValidationItemControllerV4.addItem과 같은 검증(Bean Validation + 복합 룰)
+     */
+    private BindingResult validate(ItemSaveForm form) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.setMessageCodesResolver(codesResolver);
+        validator.validate(form, bindingResult);
+
+        //특정 필드가 아닌 복합 룰 검증
+        if (validationMode.checksGlobalRules(bindingResult)) {
+            ItemRules.GLOBAL.validate(form, bindingResult);
+        }
+        return bindingResult;
+    }
+
+    private Mono<ServerResponse> badRequest(ServerRequest request, BindingResult bindingResult) {
+        Locale locale = request.exchange().getLocaleContext().getLocale(); //Accept-Language
+        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiError.from(bindingResult, messageSource, locale == null ? Locale.getDefault() : locale));
+    }
+}
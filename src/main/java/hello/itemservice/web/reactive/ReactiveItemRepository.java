@@ -0,0 +1,61 @@
+package hello.itemservice.web.reactive;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 상품 저장소의 논블로킹 퍼사드
+ * <p>
+ * 메모리 저장소의 조회/저장은 잠금을 아주 짧게 잡거나(상품 단위 락) 잡지 않으므로 이벤트 루프 스레드에서 바로 실행함.
+ * 저장소 변경 로그(WAL)를 사용하면 저장/수정이 fsync를 기다릴 수 있으므로,
+ * 쓰기는 writeScheduler(Schedulers.boundedElastic 등)에서 실행해서 이벤트 루프를 막지 않도록 함.
+ * 샤드 저장소처럼 조회도 네트워크 I/O를 기다리는 저장소는 조회도 readScheduler에서 실행함.
+ */
+public class ReactiveItemRepository {
+
+    private final ItemRepository itemRepository;
+    private final Scheduler readScheduler;
+    private final Scheduler writeScheduler;
+
+    /**
+     * @param writeScheduler 저장/수정을 실행할 스케줄러(블로킹이 없으면 Schedulers.immediate())
+     */
+    public ReactiveItemRepository(ItemRepository itemRepository, Scheduler writeScheduler) {
+        this(itemRepository, Schedulers.immediate(), writeScheduler);
+    }
+
+    /**
+     * @param readScheduler  조회를 실행할 스케줄러(블로킹이 없으면 Schedulers.immediate())
+     * @param writeScheduler 저장/수정을 실행할 스케줄러(블로킹이 없으면 Schedulers.immediate())
+     */
+    public ReactiveItemRepository(ItemRepository itemRepository, Scheduler readScheduler, Scheduler writeScheduler) {
+        this.itemRepository = itemRepository;
+        this.readScheduler = readScheduler;
+        this.writeScheduler = writeScheduler;
+    }
+
+    /**
+     * @return 상품이 없으면 빈 Mono
+     */
+    public Mono<Item> findById(Long itemId) {
+        return Mono.fromSupplier(() -> itemRepository.findById(itemId)).subscribeOn(readScheduler);
+    }
+
+    public Mono<Item> save(Item item) {
+        return Mono.fromSupplier(() -> itemRepository.save(item)).subscribeOn(writeScheduler);
+    }
+
+    public Mono<Void> update(Long itemId, Item updateParam) {
+        return Mono.<Void>fromRunnable(() -> itemRepository.update(itemId, updateParam)).subscribeOn(writeScheduler);
+    }
+
+    /**
+     * @return 버전이 달라서 수정하지 않았으면 false(ItemRepository.update(itemId, updateParam, expectedVersion))
+     */
+    public Mono<Boolean> update(Long itemId, Item updateParam, long expectedVersion) {
+        return Mono.fromSupplier(() -> itemRepository.update(itemId, updateParam, expectedVersion)).subscribeOn(writeScheduler);
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ValidationMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 리액티브 상품 API 서버 설정(item.reactive.enabled=true)
+ * <p>
+ * 애플리케이션은 서블릿(톰캣) 기반이므로 스프링 부트는 WebFlux를 자동 구성하지 않음.
+ * 그래서 같은 프로세스 안에서 별도 포트(item.reactive.port)로 Reactor Netty 서버를 띄우고,
+ * 함수형 엔드포인트(ReactiveItemHandler)를 연결함. 저장소, 검증기, ObjectMapper는 서블릿 API와 같은 빈을 사용함.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "item.reactive.enabled", havingValue = "true")
+public class ReactiveItemServerConfig {
+
+    @Bean
+    public ReactiveItemRepository reactiveItemRepository(ItemRepository itemRepository,
+                                                         @Value("${item.wal.enabled:false}") boolean walEnabled,
+                                                         @Value("${item.repository.type:memory}") String repositoryType) {
+        //WAL을 사용하면 쓰기가 fsync를 기다리고, 샤드 저장소는 조회/쓰기 모두 소켓 I/O를 기다리므로 이벤트 루프가 아닌 스레드에서 실행
+        //컬럼 저장소는 조회가 저장/수정과 같은 잠금을 쓰므로 WAL을 사용하면 조회도 이벤트 루프에서 실행하지 않음.
+        boolean remote = "sharded".equals(repositoryType);
+        boolean sharedLock = walEnabled && "columnar".equals(repositoryType);
+        Scheduler readScheduler = remote || sharedLock ? Schedulers.boundedElastic() : Schedulers.immediate();
+        Scheduler writeScheduler = remote || walEnabled ? Schedulers.boundedElastic() : Schedulers.immediate();
+        return new ReactiveItemRepository(itemRepository, readScheduler, writeScheduler);
+    }
+
+    @Bean
+    public ReactiveItemHandler reactiveItemHandler(ReactiveItemRepository reactiveItemRepository,
+                                                   @Qualifier("mvcValidator") Validator mvcValidator,
+                                                   MessageSource messageSource,
+                                                   @Value("${item.validation.mode:ALL}") ValidationMode validationMode,
+                                                   MessageCodesResolver messageCodesResolver) {
+        return new ReactiveItemHandler(reactiveItemRepository, mvcValidator, messageSource, validationMode,
+                messageCodesResolver);
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveItemServer(ReactiveItemHandler reactiveItemHandler, ObjectMapper objectMapper,
+                                               @Value("${item.reactive.port:8081}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveItemHandler.routes(), strategies);
+
+        DisposableServer server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("리액티브 상품 API 서버 시작 port={}", server.port());
+        return server;
+    }
+}
@@ -0,0 +1,39 @@
+package hello.itemservice.web.validation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 상품 대량 등록 API
+ * 예) curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @items.ndjson localhost:8080/validation/api/items/bulk
+ * <p>
+ * @RequestBody로 받으면 요청 전체를 객체로 만든 뒤에 처리하므로, 요청 본문(InputStream)을 직접 읽으면서 처리하고
+ * 결과도 응답 스트림에 바로 씀.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items/bulk")
+@RequiredArgsConstructor
+public class ItemBulkApiController {
+
+    private final ItemBulkImporter itemBulkImporter;
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, ItemBulkImporter.NDJSON_VALUE})
+    public void importItems(InputStream body, Locale locale, HttpServletResponse response) throws IOException {
+        response.setContentType(ItemBulkImporter.NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ItemBulkImporter.ImportResult result = itemBulkImporter.importItems(body, response.getOutputStream(), locale);
+        log.info("상품 대량 등록 total={}, saved={}, failed={}", result.getTotal(), result.getSaved(), result.getFailed());
+    }
+}
@@ -0,0 +1,224 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemFormMapper;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 대량 등록
+ * <p>
+ * JSON 배열([{...}, {...}]) 또는 NDJSON(한 줄에 JSON 하나)으로 들어오는 ItemSaveForm을 스트리밍 파서로 하나씩 읽어서
+ * 상품 등록(ValidationItemControllerV4.addItem)과 같은 규칙으로 검증하고, 성공한 상품은 BATCH_SIZE개씩 모아서 저장함.
+ * 검증에 실패한 레코드는 바로 NDJSON 한 줄로 응답에 씀.
+ * 요청/응답 전체를 메모리에 올리지 않으므로 요청 크기와 관계없이 메모리 사용량이 일정함.
+ * <p>
+ * [응답 형식(NDJSON)]
+ * {"index":1,"errors":[{"field":"price","code":"Range","message":"..."}]}
+ * {"index":2,"errors":[{"field":null,"code":"totalPriceMin","message":"..."}]}
+ * {"total":3,"saved":1,"failed":2}
+ */
+@Component
+public class ItemBulkImporter {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final Validator validator;
+    private final MessageSource messageSource;
+    private final JsonFactory jsonFactory;
+    private final ObjectReader formReader;
+    private final MessageCodesResolver codesResolver;
+
+    @Value("${item.validation.mode:ALL}")
+    private ValidationMode validationMode = ValidationMode.ALL; //대량 등록은 FAIL_FAST로 실패 레코드를 빨리 거절할 수 있음
+
+    /**
+     * @param validator     @Validated와 같은 글로벌 검증기(mvcValidator)
+     * @param codesResolver 스프링 MVC와 같은 메시지 코드 생성기(오류 코드별 메트릭 집계 포함)
+     */
+    public ItemBulkImporter(ItemRepository itemRepository,
+                            @Qualifier("mvcValidator") Validator validator,
+                            MessageSource messageSource,
+                            ObjectMapper objectMapper,
+                            MessageCodesResolver codesResolver) {
+        this.itemRepository = itemRepository;
+        this.validator = validator;
+        this.messageSource = messageSource;
+        this.jsonFactory = objectMapper.getFactory();
+        this.formReader = objectMapper.readerFor(ItemSaveForm.class);
+        this.codesResolver = codesResolver;
+    }
+
+    /**
+     * @param in     JSON 배열 또는 NDJSON
+     * @param out    레코드별 오류와 결과 요약을 쓸 스트림(닫지 않음)
+     * @param locale 오류 메시지 Locale
+     * @return
+     */
+    public ImportResult importItems(InputStream in, OutputStream out, Locale locale) throws IOException {
+        long total = 0;
+        long saved = 0;
+        long failed = 0;
+        List<Item> batch = new ArrayList<>(BATCH_SIZE);
+
+        //readValues(InputStream)는 최상위 배열이면 배열의 요소를, 아니면 연속된 JSON 값(NDJSON)을 하나씩 읽음
+        try (JsonGenerator generator = jsonFactory.createGenerator(out);
+             MappingIterator<ItemSaveForm> forms = formReader.readValues(in)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            while (true) {
+                ItemSaveForm form;
+                try {
+                    if (!forms.hasNextValue()) {
+                        break;
+                    }
+                    form = forms.nextValue();
+                } catch (JsonMappingException e) {
+                    //타입 오류 등 레코드 하나의 오류: 해당 레코드를 건너뛰고 계속 진행
+                    failed++;
+                    writeError(generator, total++, fieldName(e), "typeMismatch", e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    //JSON 문법 오류: 이후 레코드를 구분할 수 없으므로 중단
+                    failed++;
+                    writeError(generator, total++, null, "parseError", e.getOriginalMessage());
+                    break;
+                }
+
+                long index = total++;
+                BindingResult bindingResult = validate(form);
+                if (bindingResult.hasErrors()) {
+                    failed++;
+                    writeErrors(generator, index, bindingResult, locale);
+                    continue;
+                }
+
+                batch.add(ItemFormMapper.toItem(form));
+                if (batch.size() == BATCH_SIZE) {
+                    saved += flush(batch, generator);
+                }
+            }
+            saved += flush(batch, generator);
+
+            generator.writeStartObject();
+            generator.writeNumberField("total", total);
+            generator.writeNumberField("saved", saved);
+            generator.writeNumberField("failed", failed);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        return new ImportResult(total, saved, failed);
+    }
+
+    /**
+     * ValidationItemControllerV4.addItem과 같은 검증(Bean Validation + 복합 룰)
+     */
+    private BindingResult validate(ItemSaveForm form) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.setMessageCodesResolver(codesResolver);
+        validator.validate(form, bindingResult);
+
+        //특정 필드가 아닌 복합 룰 검증
+        if (validationMode.checksGlobalRules(bindingResult)) {
+            ItemRules.GLOBAL.validate(form, bindingResult);
+        }
+        return bindingResult;
+    }
+
+    private int flush(List<Item> batch, JsonGenerator generator) throws IOException {
+        int count = batch.size();
+        if (count > 0) {
+            itemRepository.saveAll(batch);
+            batch.clear();
+        }
+        generator.flush(); //지금까지의 오류를 클라이언트에 전송
+        return count;
+    }
+
+    private void writeErrors(JsonGenerator generator, long index, BindingResult bindingResult, Locale locale) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeArrayFieldStart("errors");
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            writeErrorObject(generator, error instanceof FieldError ? ((FieldError) error).getField() : null, error.getCode(), message(error, locale));
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeError(JsonGenerator generator, long index, String field, String code, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeArrayFieldStart("errors");
+        writeErrorObject(generator, field, code, message);
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeErrorObject(JsonGenerator generator, String field, String code, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("field", field);
+        generator.writeStringField("code", code);
+        generator.writeStringField("message", message);
+        generator.writeEndObject();
+    }
+
+    private String message(ObjectError error, Locale locale) {
+        try {
+            return messageSource.getMessage(error, locale);
+        } catch (NoSuchMessageException e) {
+            return error.getDefaultMessage();
+        }
+    }
+
+    private static String fieldName(JsonMappingException e) {
+        List<JsonMappingException.Reference> path = e.getPath();
+        return path.isEmpty() ? null : path.get(path.size() - 1).getFieldName();
+    }
+
+    @Getter
+    public static class ImportResult {
+
+        private final long total;
+        private final long saved;
+        private final long failed;
+
+        public ImportResult(long total, long saved, long failed) {
+            this.total = total;
+            this.saved = saved;
+            this.failed = failed;
+        }
+    }
+}
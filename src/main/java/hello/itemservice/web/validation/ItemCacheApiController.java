@@ -0,0 +1,27 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.cache.ItemCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 상품 조회 캐시 상태 API
+ * 예) GET /validation/api/items/cache/stats
+ */
+@RestController
+@RequestMapping("/validation/api/items/cache")
+@RequiredArgsConstructor
+public class ItemCacheApiController {
+
+    private final ItemCache itemCache;
+
+    /**
+     * 적중/실패/제거 횟수, 적중률, 현재 캐시된 상품 수
+     */
+    @GetMapping("/stats")
+    public ItemCache.ItemCacheStats stats() {
+        return itemCache.stats();
+    }
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 상품 전체 내보내기 API
+ * 예) GET /validation/api/items/export?format=csv, GET /validation/api/items/export?format=ndjson
+ * <p>
+ * findAll()처럼 전체 목록을 만들지 않고 저장소를 순회(scanAll)하면서 ItemExportWriter로 응답 스트림에 바로 씀.
+ * StreamingResponseBody는 요청 처리 스레드가 아닌 비동기 스레드에서 실행되며,
+ * 오래 걸리는 내보내기가 중간에 끊기지 않도록 spring.mvc.async.request-timeout을 설정함.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items/export")
+@RequiredArgsConstructor
+public class ItemExportApiController {
+
+    private final ItemRepository itemRepository;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        ItemExportWriter.Format exportFormat = parseFormat(format);
+
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            long count = 0;
+
+            ItemExportWriter writer = new ItemExportWriter(out, exportFormat);
+            writer.writeHeader();
+            for (Item item : itemRepository.scanAll()) {
+                writer.write(item);
+                count++;
+            }
+            writer.flush();
+
+            log.info("상품 내보내기 format={}, count={}, elapsed={}ms", exportFormat, count, (System.nanoTime() - start) / 1_000_000);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.valueOf(exportFormat.getContentType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=items." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    private static ItemExportWriter.Format parseFormat(String format) {
+        try {
+            return ItemExportWriter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다. format=" + format);
+        }
+    }
+}
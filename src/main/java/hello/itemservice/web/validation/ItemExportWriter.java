@@ -0,0 +1,273 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 상품을 CSV 또는 NDJSON으로 쓰는 출력기
+ * <p>
+ * 하나의 바이트 버퍼를 재사용하면서 숫자와 문자열(UTF-8)을 직접 인코딩하고, 버퍼가 차면 출력 스트림에 바로 씀.
+ * 상품마다 String, byte[] 등을 만들지 않으므로 상품 수와 관계없이 메모리 사용량이 버퍼 크기로 일정함.
+ * <p>
+ * - CSV: 헤더(id,itemName,price,quantity,version) + RFC 4180 규칙(쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감쌈), null은 빈 값
+ * - NDJSON: 한 줄에 {"id":1,"itemName":"itemA","price":10000,"quantity":10,"version":0} 하나(API 응답과 같은 필드 이름)
+ */
+public class ItemExportWriter implements Flushable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_CHAR_BYTES = 6; //문자 하나를 쓸 때 필요한 최대 바이트(JSON 제어 문자 이스케이프)
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+    public enum Format {
+
+        CSV("text/csv", "csv"), NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final OutputStream out;
+    private final Format format;
+    private final byte[] buffer;
+    private final byte[] digits = new byte[20];
+    private int position;
+
+    public ItemExportWriter(OutputStream out, Format format) {
+        this(out, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ItemExportWriter(OutputStream out, Format format, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("버퍼 크기는 64 이상이어야 합니다. bufferSize=" + bufferSize);
+        }
+        this.out = out;
+        this.format = format;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * 헤더 쓰기(CSV만 해당)
+     */
+    public void writeHeader() throws IOException {
+        if (format == Format.CSV) {
+            writeAscii("id,itemName,price,quantity,version\n");
+        }
+    }
+
+    public void write(Item item) throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(item);
+        } else {
+            writeJson(item);
+        }
+    }
+
+    /**
+     * 버퍼에 남은 내용을 출력 스트림에 쓰고 출력 스트림도 flush
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeCsv(Item item) throws IOException {
+        writeNumber(item.getId());
+        writeByte(',');
+        writeCsvString(item.getItemName());
+        writeByte(',');
+        writeNumber(item.getPrice());
+        writeByte(',');
+        writeNumber(item.getQuantity());
+        writeByte(',');
+        writeNumber(item.getVersion());
+        writeByte('\n');
+    }
+
+    private void writeJson(Item item) throws IOException {
+        writeAscii("{\"id\":");
+        writeJsonNumber(item.getId());
+        writeAscii(",\"itemName\":");
+        writeJsonString(item.getItemName());
+        writeAscii(",\"price\":");
+        writeJsonNumber(item.getPrice());
+        writeAscii(",\"quantity\":");
+        writeJsonNumber(item.getQuantity());
+        writeAscii(",\"version\":");
+        writeNumber(item.getVersion());
+        writeAscii("}\n");
+    }
+
+    private void writeCsvString(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (quote) {
+            writeByte('"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writeByte('"'); //따옴표는 두 번 씀
+            }
+            i = writeChar(value, i);
+        }
+        if (quote) {
+            writeByte('"');
+        }
+    }
+
+    private void writeJsonString(String value) throws IOException {
+        if (value == null) {
+            writeAscii("null");
+            return;
+        }
+
+        writeByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writeByte('\\');
+                writeByte(c);
+            } else if (c == '\n') {
+                writeByte('\\');
+                writeByte('n');
+            } else if (c == '\r') {
+                writeByte('\\');
+                writeByte('r');
+            } else if (c == '\t') {
+                writeByte('\\');
+                writeByte('t');
+            } else if (c < 0x20) {
+                ensure(MAX_CHAR_BYTES);
+                buffer[position++] = '\\';
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            } else {
+                i = writeChar(value, i);
+            }
+        }
+        writeByte('"');
+    }
+
+    /**
+     * value의 index 위치 문자를 UTF-8로 씀(서로게이트 쌍이면 두 문자를 함께 씀)
+     *
+     * @return 마지막으로 쓴 문자의 위치
+     */
+    private int writeChar(String value, int index) throws IOException {
+        ensure(MAX_CHAR_BYTES);
+        char c = value.charAt(index);
+
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer[position++] = '?'; //짝이 없는 서로게이트(String.getBytes와 같은 처리)
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+
+    private void writeJsonNumber(Number value) throws IOException {
+        if (value == null) {
+            writeAscii("null");
+        } else {
+            writeNumber(value);
+        }
+    }
+
+    private void writeNumber(Number value) throws IOException {
+        if (value != null) {
+            writeNumber(value.longValue());
+        }
+    }
+
+    /**
+     * Long.toString()처럼 문자열을 만들지 않고 자릿수를 직접 씀
+     */
+    private void writeNumber(long number) throws IOException {
+        if (number == Long.MIN_VALUE) {
+            writeAscii(Long.toString(number));
+            return;
+        }
+
+        ensure(digits.length + 1);
+        if (number < 0) {
+            buffer[position++] = '-';
+            number = -number;
+        }
+
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+
+        while (length > 0) {
+            buffer[position++] = digits[--length];
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
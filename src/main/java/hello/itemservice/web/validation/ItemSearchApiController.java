@@ -0,0 +1,54 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 보조 인덱스를 이용한 상품 조회 API
+ * 전체 상품을 조회(findAll)하지 않고 인덱스 범위만 읽어서 결과를 반환함.
+ */
+@RestController
+@RequestMapping("/validation/api/items/search")
+@RequiredArgsConstructor
+public class ItemSearchApiController {
+
+    private final ItemRepository itemRepository;
+
+    /**
+     * 가격 범위 조회
+     * 예) GET /validation/api/items/search/price?min=1000&max=20000
+     */
+    @GetMapping("/price")
+    public List<Item> findByPrice(@RequestParam int min,
+                                  @RequestParam int max,
+                                  @RequestParam(defaultValue = "" + ItemRepository.MAX_PAGE_SIZE) int limit) {
+        return itemRepository.findByPriceBetween(min, max, limit);
+    }
+
+    /**
+     * 재주문 대상(수량이 below 미만) 조회
+     * 예) GET /validation/api/items/search/quantity?below=10
+     */
+    @GetMapping("/quantity")
+    public List<Item> findByQuantity(@RequestParam int below,
+                                     @RequestParam(defaultValue = "" + ItemRepository.MAX_PAGE_SIZE) int limit) {
+        return itemRepository.findByQuantityLessThan(below, limit);
+    }
+
+    /**
+     * 상품명 접두어 조회
+     * 예) GET /validation/api/items/search/name?prefix=item
+     */
+    @GetMapping("/name")
+    public List<Item> findByItemName(@RequestParam String prefix,
+                                     @RequestParam(defaultValue = "" + ItemRepository.MAX_PAGE_SIZE) int limit) {
+        return itemRepository.findByItemNameStartingWith(prefix, limit);
+    }
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.shard.ShardedItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 샤드 노드 관리 API(item.repository.type=sharded일 때만 등록)
+ * 예) GET /validation/api/shards, POST /validation/api/shards?node=localhost:9104
+ */
+@RestController
+@RequestMapping("/validation/api/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "sharded")
+public class ItemShardApiController {
+
+    private final ShardedItemRepository itemRepository;
+
+    /**
+     * 노드별 상품 수
+     */
+    @GetMapping
+    public Map<String, Long> shards() {
+        return itemRepository.countByShard();
+    }
+
+    /**
+     * 노드 추가 후 재분배, 옮긴 상품 수와 재분배 후 노드별 상품 수를 반환함.
+     */
+    @PostMapping
+    public Map<String, Object> addShard(@RequestParam String node) {
+        long moved = itemRepository.addShard(node);
+        return Map.of("moved", moved, "shards", itemRepository.countByShard());
+    }
+}
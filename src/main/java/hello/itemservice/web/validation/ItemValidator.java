@@ -1,6 +1,8 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
@@ -9,6 +11,16 @@ import org.springframework.validation.Validator;
 @Component
 public class ItemValidator implements Validator {
 
+    @Value("${item.validation.mode:ALL}")
+    private ValidationMode mode = ValidationMode.ALL;
+
+    public ItemValidator() {
+    }
+
+    public ItemValidator(ValidationMode mode) {
+        this.mode = mode;
+    }
+
     /**
      * 해당 검증기를 지원하는지 여부 확인
      * <p>
@@ -33,26 +45,28 @@ public class ItemValidator implements Validator {
     public void validate(Object target, Errors errors) {
         Item item = (Item) target;
 
-        //검증 로직
+        //검증 로직(FAIL_FAST면 첫 번째 오류에서 멈춤)
         if (!StringUtils.hasText(item.getItemName())) {
             errors.rejectValue("itemName", "required");
         }
+        if (mode.stopsAt(errors)) {
+            return;
+        }
 
         if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
             errors.rejectValue("price", "range", new Object[]{10000, 1000000}, null);
         }
+        if (mode.stopsAt(errors)) {
+            return;
+        }
 
         if (item.getQuantity() == null || item.getQuantity() > 9999) {
             errors.rejectValue("quantity", "max", new Object[]{10000}, null);
         }
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
+        //특정 필드가 아닌 복합 룰 검증(ALL이 아니면 필드 오류가 있을 때 생략)
+        if (mode.checksGlobalRules(errors)) {
+            ItemRules.GLOBAL.validate(item, errors);
         }
     }
 }
@@ -1,7 +1,10 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.web.validation.error.ApiError;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,11 +12,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Locale;
+
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationApiController {
 
+    private final MessageSource messageSource;
+
     /**
      * API의 경우 3가지로 나누어 생각해야 함.
      * 1. 성공 요청: 성공
@@ -24,21 +32,24 @@ public class ValidationApiController {
      * 오류가 발생해도 나머지 필드는 정상 처리할 수 있다.
      * HttpMessageConverter는 @ModelAttribute와 다르게 각각의 필드 단위로 적용되는 것이 아니라, 전체 객체 단위로 적용된다.
      * 따라서 메시지 컨버터의 작동이 성공해서 Item 객체를 만들어야 @Validated(또는 @Valid)가 적요된다.
+     * <p>
+     * 검증 오류는 ObjectError를 그대로 직렬화하지 않고, 필드/코드/메시지/거부된 값만 담은 ApiError 목록으로 응답함.
      *
      * @param form
      * @param bindingResult
+     * @param locale        오류 메시지를 해석할 Locale
      * @return
      * @ModelAttribute 필드 단위로 정교하게 바인딩이 적용된다. 특정 필드가 바인딩 되지 않아도 나머지 필드는 정상 바인딩 되고, Validator를 적용할 수 있다.
      * @RequestBody HttpMessageConverter 단계에서 JSON 데이터를 객체로 변경하지 못하면 이후 단계 자체가 진행되지 않고 예외가 발생한다.(컨트롤러 호출 x, Validator 적용 x)
      */
     @PostMapping("/add")
-    public Object addItem(@Validated @RequestBody ItemSaveForm form, BindingResult bindingResult) {
+    public Object addItem(@Validated @RequestBody ItemSaveForm form, BindingResult bindingResult, Locale locale) {
         log.info("API 컨트롤러 호출");
 
         if (bindingResult.hasErrors()) {
-            log.info("검증 오류 발생 errors={}", bindingResult);
+            log.debug("검증 오류 발생 errors={}", bindingResult);
 
-            return bindingResult.getAllErrors(); //BindingResult가 가지고 있는 모든 오류(ObjectError, FieldError)를 반환
+            return ApiError.from(bindingResult, messageSource, locale); //BindingResult가 가지고 있는 모든 오류(ObjectError, FieldError)를 반환
         }
 
         log.info("성공 로직 실행");
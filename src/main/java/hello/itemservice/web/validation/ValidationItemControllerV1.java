@@ -1,7 +1,9 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.rule.ItemRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -11,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -22,10 +23,21 @@ public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
 
+    /**
+     * 상품 목록(키셋 페이징)
+     *
+     * @param after 이전 페이지의 마지막 상품 ID(첫 페이지는 생략)
+     * @param size  페이지 크기(최대 ItemRepository.MAX_PAGE_SIZE)
+     * @param model
+     * @return
+     */
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long after,
+                        @RequestParam(defaultValue = "" + ItemRepository.DEFAULT_PAGE_SIZE) int size,
+                        Model model) {
+        ItemPage page = itemRepository.findPage(after, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v1/items";
     }
 
@@ -61,17 +73,13 @@ public class ValidationItemControllerV1 {
         }
 
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                errors.put("globalError", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice);
-            }
-        }
+        ItemRules.GLOBAL.evaluate(item, (code, arguments) -> {
+            errors.put("globalError", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + arguments[1]);
+        });
 
         //검증에 실패하면 다시 입력폼으로
         if (!errors.isEmpty()) {
-            log.info("errors = {}", errors);
+            log.debug("errors = {}", errors);
 
             model.addAttribute("errors", errors);
 
@@ -1,7 +1,9 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.rule.ItemRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -16,8 +18,6 @@ import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-
 @Slf4j
 @Controller
 @RequestMapping("/validation/v2/items")
@@ -37,10 +37,21 @@ public class ValidationItemControllerV2 {
         dataBinder.addValidators(itemValidator); //WebDataBinder에 검증기를 추가하면 해당 컨트롤러 호출시 검증기를 자동으로 적용함.
     }
 
+    /**
+     * 상품 목록(키셋 페이징)
+     *
+     * @param after 이전 페이지의 마지막 상품 ID(첫 페이지는 생략)
+     * @param size  페이지 크기(최대 ItemRepository.MAX_PAGE_SIZE)
+     * @param model
+     * @return
+     */
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long after,
+                        @RequestParam(defaultValue = "" + ItemRepository.DEFAULT_PAGE_SIZE) int size,
+                        Model model) {
+        ItemPage page = itemRepository.findPage(after, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v2/items";
     }
 
@@ -81,18 +92,14 @@ public class ValidationItemControllerV2 {
         }
 
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                //글로벌 오류: new ObjectError(""@ModelAttribute 이름", "오류 기본 메시지")
-                bindingResult.addError(new ObjectError("item", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
-            }
-        }
+        ItemRules.GLOBAL.evaluate(item, (code, arguments) -> {
+            //글로벌 오류: new ObjectError(""@ModelAttribute 이름", "오류 기본 메시지")
+            bindingResult.addError(new ObjectError("item", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + arguments[1]));
+        });
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v2/addForm";
         }
@@ -121,18 +128,14 @@ public class ValidationItemControllerV2 {
         }
 
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                //글로벌 오류: new ObjectError(""@ModelAttribute 이름", "메시지 코드", "메시지에서 사용하는 인자", "오류 기본 메시지")
-                bindingResult.addError(new ObjectError("item", null, null, "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
-            }
-        }
+        ItemRules.GLOBAL.evaluate(item, (code, arguments) -> {
+            //글로벌 오류: new ObjectError(""@ModelAttribute 이름", "메시지 코드", "메시지에서 사용하는 인자", "오류 기본 메시지")
+            bindingResult.addError(new ObjectError("item", null, null, "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + arguments[1]));
+        });
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v2/addForm";
         }
@@ -164,18 +167,14 @@ public class ValidationItemControllerV2 {
         }
 
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                //글로벌 오류: new ObjectError(""@ModelAttribute 이름", "메시지 코드", "메시지에서 사용하는 인자", "오류 기본 메시지")
-                bindingResult.addError(new ObjectError("item", new String[]{"totalPriceMin"}, new Object[]{10000, resultPrice}, null));
-            }
-        }
+        ItemRules.GLOBAL.evaluate(item, (code, arguments) -> {
+            //글로벌 오류: new ObjectError(""@ModelAttribute 이름", "메시지 코드", "메시지에서 사용하는 인자", "오류 기본 메시지")
+            bindingResult.addError(new ObjectError("item", new String[]{code}, arguments, null));
+        });
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v2/addForm";
         }
@@ -209,19 +208,15 @@ public class ValidationItemControllerV2 {
         }
 
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                //bindingResult.reject("에러 코드")
-                //bindingResult.reject("에러 코드", "메시지에서 사용하는 인자", "기본 오류 메시지")
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        ItemRules.GLOBAL.evaluate(item, (code, arguments) -> {
+            //bindingResult.reject("에러 코드")
+            //bindingResult.reject("에러 코드", "메시지에서 사용하는 인자", "기본 오류 메시지")
+            bindingResult.reject(code, arguments, null);
+        });
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v2/addForm";
         }
@@ -240,7 +235,7 @@ public class ValidationItemControllerV2 {
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v2/addForm";
         }
@@ -267,7 +262,7 @@ public class ValidationItemControllerV2 {
     public String addItemV6(@Validated @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v2/addForm";
         }
@@ -1,9 +1,11 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.rule.ItemRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -13,8 +15,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-
 @Slf4j
 @Controller
 @RequestMapping("/validation/v3/items")
@@ -23,10 +23,21 @@ public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
 
+    /**
+     * 상품 목록(키셋 페이징)
+     *
+     * @param after 이전 페이지의 마지막 상품 ID(첫 페이지는 생략)
+     * @param size  페이지 크기(최대 ItemRepository.MAX_PAGE_SIZE)
+     * @param model
+     * @return
+     */
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long after,
+                        @RequestParam(defaultValue = "" + ItemRepository.DEFAULT_PAGE_SIZE) int size,
+                        Model model) {
+        ItemPage page = itemRepository.findPage(after, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v3/items";
     }
 
@@ -55,17 +66,11 @@ public class ValidationItemControllerV3 {
     //@PostMapping("/add")
     public String addItem(@Validated @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        ItemRules.GLOBAL.validate(item, bindingResult);
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v3/addForm";
         }
@@ -88,17 +93,11 @@ public class ValidationItemControllerV3 {
     @PostMapping("/add")
     public String addItemV2(@Validated(value = SaveCheck.class) @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        ItemRules.GLOBAL.validate(item, bindingResult);
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v3/addForm";
         }
@@ -120,17 +119,11 @@ public class ValidationItemControllerV3 {
     //@PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute Item item, BindingResult bindingResult) {
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        ItemRules.GLOBAL.validate(item, bindingResult);
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v3/editForm";
         }
@@ -142,17 +135,11 @@ public class ValidationItemControllerV3 {
     @PostMapping("/{itemId}/edit")
     public String editV2(@PathVariable Long itemId, @Validated(value = UpdateCheck.class) @ModelAttribute Item item, BindingResult bindingResult) {
         //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        ItemRules.GLOBAL.validate(item, bindingResult);
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v3/editForm";
         }
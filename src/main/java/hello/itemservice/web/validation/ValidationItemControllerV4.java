@@ -1,19 +1,27 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.cache.ItemCache;
+import hello.itemservice.web.validation.form.ItemFormMapper;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import hello.itemservice.web.view.RenderedViewCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Controller
@@ -22,19 +30,56 @@ import java.util.List;
 public class ValidationItemControllerV4 {
 
     private final ItemRepository itemRepository;
+    private final ItemCache itemCache; //상세/수정 화면 조회용(저장/수정은 저장소에 직접 하고, 캐시는 변경 알림으로 제거됨)
+    private final RenderedViewCache renderedViewCache;
 
+    @Value("${item.validation.mode:ALL}")
+    private ValidationMode validationMode = ValidationMode.ALL;
+
+    /**
+     * 상품 목록(키셋 페이징)
+     *
+     * @param after 이전 페이지의 마지막 상품 ID(첫 페이지는 생략)
+     * @param size  페이지 크기(최대 ItemRepository.MAX_PAGE_SIZE)
+     * @param model
+     * @return
+     */
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
-        return "validation/v4/items";
+    public View items(@RequestParam(required = false) Long after,
+                      @RequestParam(defaultValue = "" + ItemRepository.DEFAULT_PAGE_SIZE) int size,
+                      Model model, ServletWebRequest request, Locale locale) throws Exception {
+        ItemPage page = itemRepository.findPage(after, size);
+
+        //화면에 표시되는 상품(ID, 버전)과 페이지 정보가 같으면 같은 HTML
+        StringBuilder versions = new StringBuilder(page.getItems().size() * 8);
+        for (Item item : page.getItems()) {
+            versions.append(item.getId()).append(':').append(item.getVersion()).append(',');
+        }
+        String etag = renderedViewCache.etag("validation/v4/items", locale, after != null, page.getSize(), page.getNextCursor(), versions);
+        if (request.checkNotModified(etag)) {
+            return null; //304 Not Modified
+        }
+
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
+        return renderedViewCache.view(etag, "validation/v4/items", locale);
     }
 
+    /**
+     * 상품 상세
+     * 상품 버전이 같으면 렌더링해 둔 HTML을 응답하고, 브라우저의 ETag(If-None-Match)가 같으면 304를 응답함.
+     */
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+    public View item(@PathVariable long itemId, @RequestParam(required = false) String status,
+                     Model model, ServletWebRequest request, Locale locale) throws Exception {
+        Item item = itemCache.findById(itemId);
+        String etag = item == null ? null : renderedViewCache.etag("validation/v4/item", locale, itemId, item.getVersion(), status != null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; //304 Not Modified
+        }
+
         model.addAttribute("item", item);
-        return "validation/v4/item";
+        return renderedViewCache.view(etag, "validation/v4/item", locale);
     }
 
     @GetMapping("/add")
@@ -53,28 +98,19 @@ public class ValidationItemControllerV4 {
     @PostMapping("/add")
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
         //특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
+        if (validationMode.checksGlobalRules(bindingResult)) {
+            ItemRules.GLOBAL.validate(form, bindingResult);
         }
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v4/addForm";
         }
 
-        //성공 로직
-        Item item = new Item();
-        item.setItemName(form.getItemName());
-        item.setPrice(form.getPrice());
-        item.setQuantity(form.getQuantity());
-
-        Item savedItem = itemRepository.save(item);
+        //성공 로직(폼 -> 상품 변환, 저장할 Item 외에는 객체를 만들지 않음)
+        Item savedItem = itemRepository.save(ItemFormMapper.toItem(form));
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true);
         return "redirect:/validation/v4/items/{itemId}";
@@ -82,7 +118,7 @@ public class ValidationItemControllerV4 {
 
     @GetMapping("/{itemId}/edit")
     public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemRepository.findById(itemId);
+        Item item = itemCache.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v4/editForm";
     }
@@ -90,27 +126,26 @@ public class ValidationItemControllerV4 {
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
         //특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
+        if (validationMode.checksGlobalRules(bindingResult)) {
+            ItemRules.GLOBAL.validate(form, bindingResult);
         }
 
         //검증에 실패하면 다시 입력폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            log.debug("errors = {}", bindingResult);
 
             return "validation/v4/editForm";
         }
 
-        Item itemParam = new Item();
-        itemParam.setItemName(form.getItemName());
-        itemParam.setPrice(form.getPrice());
-        itemParam.setQuantity(form.getQuantity());
+        //낙관적 동시성 제어: 수정 화면을 연 뒤 다른 수정이 먼저 반영되었으면 덮어쓰지 않고 다시 입력폼으로
+        Item updateParam = ItemFormMapper.toItem(form);
+        if (!itemRepository.update(itemId, updateParam, form.getVersion())) {
+            form.setVersion(itemRepository.findById(itemId).getVersion()); //확인 후 다시 저장하면 최신 상품을 덮어씀
+            bindingResult.reject("versionConflict");
+            log.debug("errors = {}", bindingResult);
 
-        itemRepository.update(itemId, itemParam);
+            return "validation/v4/editForm";
+        }
 
         return "redirect:/validation/v4/items/{itemId}";
     }
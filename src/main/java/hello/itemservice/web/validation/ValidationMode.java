@@ -0,0 +1,40 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.validation.Errors;
+
+/**
+ * 검증 모드(item.validation.mode)
+ * <p>
+ * - ALL: 모든 제약 조건을 검사하고 모든 오류를 모음(기본값, 입력폼에 필드별 오류를 한 번에 보여줌)
+ * - COST_ORDERED: 모든 필드의 null/공백 검사를 먼저 하고 범위 검사를 나중에 함. 필드 오류가 있으면 복합 룰(totalPriceMin)은 검사하지 않음.
+ * - FAIL_FAST: COST_ORDERED 순서로 검사하다가 첫 번째 오류에서 멈춤.(API 남용, 대량 등록처럼 오류 하나로 거절이 결정되는 요청용)
+ * <p>
+ * COST_ORDERED, FAIL_FAST는 오류 목록이 ALL보다 적을 수 있으므로 입력폼 화면보다는 API에 적합함.
+ */
+public enum ValidationMode {
+
+    ALL, COST_ORDERED, FAIL_FAST;
+
+    /**
+     * @return 제약 조건을 싼 검사(null, 공백)부터 실행해야 하면 true
+     */
+    public boolean isCostOrdered() {
+        return this != ALL;
+    }
+
+    /**
+     * @return 이미 오류가 있어서 남은 검사를 하지 않아도 되면 true
+     */
+    public boolean stopsAt(Errors errors) {
+        return this == FAIL_FAST && errors.hasErrors();
+    }
+
+    /**
+     * 복합 룰은 필드 값이 모두 올바르다는 전제로 의미가 있으므로, ALL이 아니면 필드 오류가 있을 때 검사하지 않음.
+     *
+     * @return 복합 룰(ItemRules.GLOBAL)을 검사해야 하면 true
+     */
+    public boolean checksGlobalRules(Errors errors) {
+        return this == ALL || !errors.hasErrors();
+    }
+}
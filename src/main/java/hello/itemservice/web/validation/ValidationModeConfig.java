@@ -0,0 +1,37 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * item.validation.mode=FAIL_FAST이면 Bean Validation(Hibernate Validator)도 첫 번째 위반에서 멈추도록 설정함.
+ * 컴파일한 검증기(CompiledBeanValidator)로 검증하지 않는 경우(item.validation.compiled=false, 검증 그룹 지정)에 적용됨.
+ */
+@Configuration
+public class ValidationModeConfig {
+
+    static final String FAIL_FAST_PROPERTY = "hibernate.validator.fail_fast";
+
+    /**
+     * 검증기가 초기화(afterPropertiesSet)되기 전에 설정해야 하므로 BeanPostProcessor를 사용함.
+     * 다른 빈보다 먼저 만들어져야 하므로 static 메서드로 등록함.
+     */
+    @Bean
+    public static BeanPostProcessor failFastValidatorPostProcessor(Environment environment) {
+        ValidationMode mode = environment.getProperty("item.validation.mode", ValidationMode.class, ValidationMode.ALL);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (mode == ValidationMode.FAIL_FAST && bean instanceof LocalValidatorFactoryBean) {
+                    ((LocalValidatorFactoryBean) bean).getValidationPropertyMap().put(FAIL_FAST_PROPERTY, "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.ValidationMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 배치 검증 설정
+ * 요청 처리 스레드(톰캣)와 공용 풀(ForkJoinPool.commonPool, parallelStream)을 점유하지 않도록 전용 ForkJoinPool을 사용함.
+ * item.validation.batch.parallelism이 0이면 CPU 코어 수만큼 스레드를 사용함.
+ */
+@Configuration
+public class BatchValidationConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool itemBatchValidationExecutor(@Value("${item.validation.batch.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+
+    @Bean
+    public ItemBatchValidator itemBatchValidator(@Qualifier("itemBatchValidationExecutor") ForkJoinPool executor,
+                                                 ItemValidator itemValidator,
+                                                 @Qualifier("mvcValidator") Validator mvcValidator,
+                                                 @Value("${item.validation.mode:ALL}") ValidationMode validationMode,
+                                                 MessageCodesResolver messageCodesResolver) {
+        return new ItemBatchValidator(executor, executor.getParallelism(), itemValidator, mvcValidator, validationMode,
+                messageCodesResolver);
+    }
+}
@@ -0,0 +1,197 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.message.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ValidationUtils;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * 여러 객체를 병렬로 검증하는 배치 검증기
+ * <p>
+ * 대상 목록을 (병렬도 * CHUNKS_PER_THREAD)개 정도의 구간으로 나누어 실행기(ExecutorService)에서 검증하고,
+ * 입력과 같은 순서(인덱스)의 BindingResult 목록을 반환함.
+ * 구간 안에서는 하나의 스레드가 순서대로 검증하므로 스레드 간에 공유하는 것은 검증기와 결과 배열뿐이며,
+ * 검증기(ItemValidator, Bean Validation)는 상태가 없어서 동시에 사용해도 안전함.
+ * <p>
+ * - 구간이 하나뿐인 작은 목록은 호출한 스레드에서 바로 검증함.
+ * - 하나라도 예외가 발생하면 나머지 구간을 취소하고 예외를 그대로 던짐.
+ */
+public class ItemBatchValidator {
+
+    static final int CHUNKS_PER_THREAD = 4; //구간별 검증 시간 차이로 일부 스레드만 늦게 끝나는 것을 줄임
+    static final int MIN_CHUNK_SIZE = 64; //구간이 너무 작으면 작업 제출 비용이 검증 비용보다 커짐
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final ItemValidator itemValidator;
+    private final Validator beanValidator;
+    private final ValidationMode validationMode;
+    private final MessageCodesResolver codesResolver;
+
+    /**
+     * @param executor      검증을 실행할 실행기(ForkJoinPool 등)
+     * @param parallelism   실행기의 스레드 수(구간 개수 계산에 사용)
+     * @param itemValidator Item 직접 검증기
+     * @param beanValidator @Validated와 같은 글로벌 검증기(mvcValidator)
+     */
+    public ItemBatchValidator(ExecutorService executor, int parallelism, ItemValidator itemValidator, Validator beanValidator) {
+        this(executor, parallelism, itemValidator, beanValidator, ValidationMode.ALL);
+    }
+
+    /**
+     * @param validationMode 필드 오류가 있을 때 복합 룰을 생략할지 여부(item.validation.mode)
+     */
+    public ItemBatchValidator(ExecutorService executor, int parallelism, ItemValidator itemValidator, Validator beanValidator,
+                              ValidationMode validationMode) {
+        this(executor, parallelism, itemValidator, beanValidator, validationMode, new CachingMessageCodesResolver());
+    }
+
+    /**
+     * @param codesResolver 스프링 MVC와 같은 메시지 코드 생성기(오류 코드별 메트릭 집계 포함)
+     */
+    public ItemBatchValidator(ExecutorService executor, int parallelism, ItemValidator itemValidator, Validator beanValidator,
+                              ValidationMode validationMode, MessageCodesResolver codesResolver) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다. parallelism=" + parallelism);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.itemValidator = itemValidator;
+        this.beanValidator = beanValidator;
+        this.validationMode = validationMode;
+        this.codesResolver = codesResolver;
+    }
+
+    /**
+     * ItemValidator로 검증(ValidationItemControllerV2.addItemV6)
+     *
+     * @return
+     */
+    public List<BindingResult> validateItems(List<Item> items) {
+        return validate(items, "item", itemValidator::validate);
+    }
+
+    /**
+     * Bean Validation groups로 검증(ValidationItemControllerV3, @Validated(SaveCheck.class) Item)
+     *
+     * @param group SaveCheck.class 또는 UpdateCheck.class
+     * @return
+     */
+    public List<BindingResult> validateItems(List<Item> items, Class<?> group) {
+        return validate(items, "item", (item, errors) -> ValidationUtils.invokeValidator(beanValidator, item, errors, group));
+    }
+
+    /**
+     * 상품 등록 폼 검증(ValidationItemControllerV4.addItem과 같은 규칙)
+     *
+     * @return
+     */
+    public List<BindingResult> validateSaveForms(List<ItemSaveForm> forms) {
+        return validate(forms, "item", (form, errors) -> {
+            beanValidator.validate(form, errors);
+            if (validationMode.checksGlobalRules(errors)) {
+                ItemRules.GLOBAL.validate(form, errors);
+            }
+        });
+    }
+
+    /**
+     * 상품 수정 폼 검증(ValidationItemControllerV4.edit과 같은 규칙)
+     *
+     * @return
+     */
+    public List<BindingResult> validateUpdateForms(List<ItemUpdateForm> forms) {
+        return validate(forms, "item", (form, errors) -> {
+            beanValidator.validate(form, errors);
+            if (validationMode.checksGlobalRules(errors)) {
+                ItemRules.GLOBAL.validate(form, errors);
+            }
+        });
+    }
+
+    /**
+     * @param targets    검증 대상 목록
+     * @param objectName BindingResult의 객체 이름(메시지 코드에 사용)
+     * @param validation 대상 하나를 검증하는 로직(여러 스레드에서 동시에 호출됨)
+     * @return 입력과 같은 순서의 검증 결과
+     */
+    public <T> List<BindingResult> validate(List<T> targets, String objectName, BiConsumer<? super T, Errors> validation) {
+        List<T> list = targets instanceof RandomAccess ? targets : new ArrayList<>(targets);
+        int size = list.size();
+        BindingResult[] results = new BindingResult[size];
+
+        int chunks = parallelism * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + chunks - 1) / chunks);
+        if (size <= chunkSize) {
+            validateRange(list, objectName, validation, results, 0, size);
+            return Arrays.asList(results);
+        }
+
+        List<Future<?>> futures = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, size);
+            futures.add(executor.submit(() -> validateRange(list, objectName, validation, results, start, end)));
+        }
+        await(futures); //Future.get()이 완료되면 작업 스레드가 쓴 결과 배열을 읽을 수 있음(happens-before)
+        return Arrays.asList(results);
+    }
+
+    private <T> void validateRange(List<T> targets, String objectName, BiConsumer<? super T, Errors> validation,
+                                   BindingResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(targets.get(i), objectName);
+            bindingResult.setMessageCodesResolver(codesResolver);
+            validation.accept(targets.get(i), bindingResult);
+            results[i] = bindingResult;
+        }
+    }
+
+    private static void await(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("배치 검증이 중단되었습니다.", e);
+        } catch (ExecutionException | CancellationException e) {
+            cancel(futures);
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause.getCause() != null && cause.getClass() == cause.getCause().getClass()) {
+                cause = cause.getCause(); //ForkJoinPool은 작업 스레드의 예외를 같은 타입의 새 예외로 감싸서 전달하므로 원래 예외를 꺼냄
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("배치 검증에 실패했습니다.", cause);
+        }
+    }
+
+    private static void cancel(List<Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
@@ -0,0 +1,320 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.ValidationMode;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bean Validation 제약 조건을 미리 컴파일한 검증기
+ * <p>
+ * 시작할 때 Bean Validation 메타데이터(BeanDescriptor)를 한 번만 읽어서 제약 조건별 검사 목록으로 만들어 두고,
+ * 요청마다 getter 호출과 값 비교만 수행함.(ItemValidator처럼 직접 작성한 검증기와 같은 방식)
+ * - 필드 값은 LambdaMetafactory로 만든 getter 함수로 읽으므로 요청 시 리플렉션을 사용하지 않음.
+ * - 오류 코드(제약 애노테이션 이름)와 인자는 스프링의 SpringValidatorAdapter와 같음.
+ * ({0}은 필드명, 이후는 애노테이션 속성을 이름 순으로 정렬한 값 예) Range={0}, {2} ~ {1})
+ * - 기본 메시지는 오류가 발생했을 때만 MessageInterpolator로 만들고, Locale별로 캐시함.
+ * <p>
+ * 지원하는 제약 조건: Default 그룹의 @NotNull, @NotBlank, @Min, @Max, @Range(@Min/@Max/@Range는 정수 타입만)
+ * 그 외의 제약 조건(클래스 레벨, 그룹 지정, @Valid 등)이 있으면 컴파일하지 않음.
+ * <p>
+ * 검사 순서는 ValidationMode에 따라 정함.
+ * - ALL: 필드 선언 순서, 필드 안에서는 제약 조건 순서
+ * - COST_ORDERED, FAIL_FAST: 비용 순서(@NotNull -> @NotBlank -> @Min/@Max/@Range), 같은 비용이면 필드 선언 순서
+ * FAIL_FAST는 오류가 하나라도 생기면(바인딩 실패 포함) 남은 검사를 하지 않음.
+ */
+public final class CompiledBeanValidator implements Validator {
+
+    private static final Set<String> INTERNAL_ANNOTATION_ATTRIBUTES = Set.of("message", "groups", "payload");
+    private static final Set<Class<?>> INTEGER_TYPES = Set.of(Long.class, Integer.class, Short.class, Byte.class);
+
+    //검사 비용(COST_ORDERED, FAIL_FAST에서 작은 값부터 검사)
+    private static final int NULL_CHECK = 0;
+    private static final int BLANK_CHECK = 1; //문자열 trim
+    private static final int RANGE_CHECK = 2; //Number 언박싱 후 비교
+
+    private final Class<?> type;
+    private final ValidationMode mode;
+    private final ConstraintCheck[] checks;
+
+    private CompiledBeanValidator(Class<?> type, ValidationMode mode, ConstraintCheck[] checks) {
+        this.type = type;
+        this.mode = mode;
+        this.checks = checks;
+    }
+
+    public static CompiledBeanValidator compile(Class<?> type, javax.validation.Validator validator, MessageInterpolator interpolator) {
+        return compile(type, validator, interpolator, ValidationMode.ALL);
+    }
+
+    /**
+     * @param type         검증 대상 클래스
+     * @param validator    제약 조건 메타데이터를 읽을 Bean Validation 검증기
+     * @param interpolator 기본 메시지를 만들 MessageInterpolator
+     * @param mode         검사 순서, 첫 오류에서 멈출지 여부
+     * @return
+     * @throws IllegalArgumentException 컴파일할 수 없는 제약 조건이 있는 경우
+     */
+    public static CompiledBeanValidator compile(Class<?> type, javax.validation.Validator validator, MessageInterpolator interpolator,
+                                                ValidationMode mode) {
+        BeanDescriptor beanDescriptor = validator.getConstraintsForClass(type);
+        if (!beanDescriptor.getConstraintDescriptors().isEmpty()) {
+            throw new IllegalArgumentException("클래스 레벨 제약 조건은 컴파일할 수 없습니다. type=" + type.getName());
+        }
+
+        //필드 선언 순서대로 검사(오류 순서를 일정하게 유지)
+        List<ConstraintCheck> checks = new ArrayList<>();
+        int properties = 0;
+        for (Field field : type.getDeclaredFields()) {
+            PropertyDescriptor property = beanDescriptor.getConstraintsForProperty(field.getName());
+            if (property != null) {
+                checks.addAll(compileProperty(type, property, interpolator));
+                properties++;
+            }
+        }
+        if (properties != beanDescriptor.getConstrainedProperties().size()) {
+            throw new IllegalArgumentException("필드에 선언되지 않은 제약 조건은 컴파일할 수 없습니다. type=" + type.getName());
+        }
+        if (mode.isCostOrdered()) {
+            checks.sort(Comparator.comparingInt(check -> check.cost)); //안정 정렬이므로 같은 비용은 필드 선언 순서 유지
+        }
+
+        return new CompiledBeanValidator(type, mode, checks.toArray(new ConstraintCheck[0]));
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return type == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        for (ConstraintCheck check : checks) {
+            if (mode.stopsAt(errors)) {
+                return;
+            }
+            check.validate(target, errors);
+        }
+    }
+
+    private static List<ConstraintCheck> compileProperty(Class<?> type, PropertyDescriptor property, MessageInterpolator interpolator) {
+        String field = property.getPropertyName();
+        if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+            throw new IllegalArgumentException("@Valid, 컨테이너 요소 제약 조건은 컴파일할 수 없습니다. field=" + field);
+        }
+
+        java.beans.PropertyDescriptor beanProperty = BeanUtils.getPropertyDescriptor(type, field);
+        if (beanProperty == null || beanProperty.getReadMethod() == null) {
+            throw new IllegalArgumentException("getter가 없는 필드입니다. field=" + field);
+        }
+        Function<Object, Object> getter = getter(beanProperty.getReadMethod());
+
+        Class<?> fieldType = ClassUtils.resolvePrimitiveIfNecessary(property.getElementClass());
+        List<ConstraintCheck> constraints = new ArrayList<>();
+        for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+            constraints.add(compileConstraint(field, getter, fieldType, descriptor, interpolator));
+        }
+        return constraints;
+    }
+
+    private static ConstraintCheck compileConstraint(String field, Function<Object, Object> getter, Class<?> fieldType,
+                                                     ConstraintDescriptor<?> descriptor, MessageInterpolator interpolator) {
+        Class<? extends Annotation> annotationType = descriptor.getAnnotation().annotationType();
+        if (!descriptor.getGroups().equals(Set.of(Default.class))) {
+            throw new IllegalArgumentException("그룹을 지정한 제약 조건은 컴파일할 수 없습니다. field=" + field);
+        }
+        if (descriptor.getMessageTemplate().contains("$")) {
+            throw new IllegalArgumentException("검증 값에 따라 달라지는 메시지(EL)는 컴파일할 수 없습니다. field=" + field);
+        }
+
+        Map<String, Object> attributes = descriptor.getAttributes();
+        Predicate<Object> condition;
+        int cost = RANGE_CHECK;
+        if (annotationType == NotNull.class) {
+            condition = Objects::nonNull;
+            cost = NULL_CHECK;
+        } else if (annotationType == NotBlank.class && CharSequence.class.isAssignableFrom(fieldType)) {
+            condition = value -> value != null && value.toString().trim().length() > 0;
+            cost = BLANK_CHECK;
+        } else if (annotationType == Min.class && INTEGER_TYPES.contains(fieldType)) {
+            long min = (long) attributes.get("value");
+            condition = value -> value == null || ((Number) value).longValue() >= min;
+        } else if (annotationType == Max.class && INTEGER_TYPES.contains(fieldType)) {
+            long max = (long) attributes.get("value");
+            condition = value -> value == null || ((Number) value).longValue() <= max;
+        } else if (annotationType == Range.class && INTEGER_TYPES.contains(fieldType)) {
+            long min = (long) attributes.get("min");
+            long max = (long) attributes.get("max");
+            condition = value -> value == null || (((Number) value).longValue() >= min && ((Number) value).longValue() <= max);
+        } else {
+            throw new IllegalArgumentException("컴파일할 수 없는 제약 조건입니다. field=" + field + ", constraint=" + annotationType.getName());
+        }
+
+        //SpringValidatorAdapter.getArgumentsForConstraint()와 같은 순서(속성 이름 순)
+        Map<String, Object> exposed = new TreeMap<>();
+        attributes.forEach((name, value) -> {
+            if (!INTERNAL_ANNOTATION_ATTRIBUTES.contains(name)) {
+                if (value instanceof String) {
+                    throw new IllegalArgumentException("문자열 속성이 있는 제약 조건은 컴파일할 수 없습니다. field=" + field);
+                }
+                exposed.put(name, value);
+            }
+        });
+
+        return new ConstraintCheck(field, getter, cost, annotationType.getSimpleName(), condition, exposed.values().toArray(), descriptor, interpolator);
+    }
+
+    /**
+     * getter를 호출하는 Function을 만듦.(리플렉션 호출이 아닌 일반 메서드 호출)
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method readMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(readMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle, handle.type());
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("getter를 만들 수 없습니다. method=" + readMethod, e);
+        }
+    }
+
+    private static final class ConstraintCheck {
+
+        private final String field;
+        private final Function<Object, Object> getter;
+        private final int cost;
+        private final String errorCode;
+        private final Predicate<Object> condition;
+        private final Object[] attributes;
+        private final ConstraintDescriptor<?> descriptor;
+        private final MessageInterpolator interpolator;
+        private final Map<Locale, String> messages = new ConcurrentHashMap<>();
+
+        private ConstraintCheck(String field, Function<Object, Object> getter, int cost, String errorCode, Predicate<Object> condition,
+                                Object[] attributes, ConstraintDescriptor<?> descriptor, MessageInterpolator interpolator) {
+            this.field = field;
+            this.getter = getter;
+            this.cost = cost;
+            this.errorCode = errorCode;
+            this.condition = condition;
+            this.attributes = attributes;
+            this.descriptor = descriptor;
+            this.interpolator = interpolator;
+        }
+
+        private void validate(Object target, Errors errors) {
+            Object value = getter.apply(target);
+            if (!condition.test(value)) {
+                reject(errors, value);
+            }
+        }
+
+        /**
+         * SpringValidatorAdapter.processConstraintViolations()와 같은 방식으로 오류를 추가함.
+         * 타입 오류(바인딩 실패)가 이미 있는 필드는 건너뜀.
+         */
+        private void reject(Errors errors, Object value) {
+            FieldError fieldError = errors.getFieldError(field);
+            if (fieldError != null && fieldError.isBindingFailure()) {
+                return;
+            }
+
+            Object[] arguments = arguments(errors.getObjectName());
+            String message = message(value);
+            if (errors instanceof BindingResult) {
+                BindingResult bindingResult = (BindingResult) errors;
+                String[] codes = bindingResult.resolveMessageCodes(errorCode, field);
+                bindingResult.addError(new FieldError(errors.getObjectName(), bindingResult.getNestedPath() + field,
+                        value, false, codes, arguments, message));
+            } else {
+                errors.rejectValue(field, errorCode, arguments, message);
+            }
+        }
+
+        private Object[] arguments(String objectName) {
+            Object[] arguments = new Object[attributes.length + 1];
+            arguments[0] = new DefaultMessageSourceResolvable(new String[]{objectName + Errors.NESTED_PATH_SEPARATOR + field, field}, field);
+            System.arraycopy(attributes, 0, arguments, 1, attributes.length);
+            return arguments;
+        }
+
+        private String message(Object value) {
+            return messages.computeIfAbsent(LocaleContextHolder.getLocale(), locale -> {
+                try {
+                    return interpolator.interpolate(descriptor.getMessageTemplate(), new InterpolationContext(descriptor, value), locale);
+                } catch (ValidationException e) {
+                    return descriptor.getMessageTemplate();
+                }
+            });
+        }
+    }
+
+    private static final class InterpolationContext implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> descriptor;
+        private final Object value;
+
+        private InterpolationContext(ConstraintDescriptor<?> descriptor, Object value) {
+            this.descriptor = descriptor;
+            this.value = value;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            return value;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            throw new ValidationException("지원하지 않는 타입입니다. type=" + type.getName());
+        }
+    }
+}
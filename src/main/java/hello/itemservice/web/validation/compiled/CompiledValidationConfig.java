@@ -0,0 +1,33 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 상품 등록/수정 폼(ItemSaveForm, ItemUpdateForm)을 미리 컴파일한 검증기로 검증하도록 글로벌 검증기를 교체함.
+ * item.validation.compiled=false이면 기존 Bean Validation 검증기를 그대로 사용함.
+ * 검사 순서와 첫 오류에서 멈출지 여부는 item.validation.mode를 따름.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "item.validation.compiled", havingValue = "true", matchIfMissing = true)
+public class CompiledValidationConfig implements WebMvcConfigurer {
+
+    private final LocalValidatorFactoryBean defaultValidator; //스프링 부트가 등록하는 기본 Bean Validation 검증기
+
+    @Value("${item.validation.mode:ALL}")
+    private ValidationMode mode;
+
+    @Override
+    public Validator getValidator() {
+        return new CompiledValidatorAdapter(defaultValidator, mode, ItemSaveForm.class, ItemUpdateForm.class);
+    }
+}
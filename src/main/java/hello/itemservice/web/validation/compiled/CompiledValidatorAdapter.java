@@ -0,0 +1,77 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.ValidationMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.validation.groups.Default;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 미리 컴파일한 검증기가 있는 클래스는 CompiledBeanValidator로, 나머지는 기존 Bean Validation으로 검증하는 검증기
+ * 글로벌 검증기(@Validated)로 등록해서 사용함.
+ * <p>
+ * 검증 그룹을 지정한 경우(@Validated(SaveCheck.class))는 컴파일하지 않은 Default 그룹이 아니므로 기존 Bean Validation을 사용함.
+ * (Bean Validation의 FAIL_FAST는 ValidationModeConfig가 hibernate.validator.fail_fast로 설정함)
+ */
+@Slf4j
+public class CompiledValidatorAdapter implements SmartValidator {
+
+    private final LocalValidatorFactoryBean beanValidator;
+    private final Map<Class<?>, CompiledBeanValidator> compiledValidators = new HashMap<>();
+
+    /**
+     * @param beanValidator 기본 Bean Validation 검증기
+     * @param types         미리 컴파일할 클래스(컴파일할 수 없는 클래스는 기본 검증기를 사용)
+     */
+    public CompiledValidatorAdapter(LocalValidatorFactoryBean beanValidator, Class<?>... types) {
+        this(beanValidator, ValidationMode.ALL, types);
+    }
+
+    /**
+     * @param mode 컴파일한 검증기의 검사 순서, 첫 오류에서 멈출지 여부
+     */
+    public CompiledValidatorAdapter(LocalValidatorFactoryBean beanValidator, ValidationMode mode, Class<?>... types) {
+        this.beanValidator = beanValidator;
+
+        for (Class<?> type : types) {
+            try {
+                compiledValidators.put(type, CompiledBeanValidator.compile(type, beanValidator, beanValidator.getMessageInterpolator(), mode));
+                log.info("검증기 컴파일 완료 type={}, mode={}", type.getName(), mode);
+            } catch (IllegalArgumentException e) {
+                log.warn("검증기를 컴파일할 수 없어서 Bean Validation을 사용합니다. type={}, reason={}", type.getName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return compiledValidators.containsKey(clazz) || beanValidator.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        CompiledBeanValidator compiledValidator = compiledValidators.get(target.getClass());
+        if (compiledValidator != null) {
+            compiledValidator.validate(target, errors);
+        } else {
+            beanValidator.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (isDefaultGroup(validationHints)) {
+            validate(target, errors);
+        } else {
+            beanValidator.validate(target, errors, validationHints);
+        }
+    }
+
+    private static boolean isDefaultGroup(Object[] validationHints) {
+        return validationHints.length == 0 || (validationHints.length == 1 && validationHints[0] == Default.class);
+    }
+}
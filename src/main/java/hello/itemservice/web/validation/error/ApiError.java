@@ -0,0 +1,95 @@
+package hello.itemservice.web.validation.error;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * API 검증 오류 응답 항목
+ * <p>
+ * bindingResult.getAllErrors()를 그대로 응답하면 FieldError의 codes, arguments(중첩된 DefaultMessageSourceResolvable),
+ * bindingFailure, objectName 등이 모두 직렬화되어 오류 하나가 수백 바이트가 됨.
+ * 클라이언트에 필요한 값(필드, 오류 코드, 메시지, 거부된 값)만 오류가 만들어질 때 미리 계산해 두고 ApiErrorSerializer로 씀.
+ * <p>
+ * {"field":"price","code":"Range","message":"가격은 1,000 ~ 1,000,000 까지 허용합니다.","rejectedValue":0}
+ * {"field":null,"code":"totalPriceMin","message":"..."} (글로벌 오류는 rejectedValue가 없음)
+ */
+@JsonSerialize(using = ApiErrorSerializer.class)
+public final class ApiError {
+
+    private final String field;
+    private final String code;
+    private final String message;
+    private final Object rejectedValue;
+    private final boolean fieldError;
+
+    private ApiError(String field, String code, String message, Object rejectedValue, boolean fieldError) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+        this.rejectedValue = rejectedValue;
+        this.fieldError = fieldError;
+    }
+
+    /**
+     * BindingResult의 모든 오류를 추가된 순서대로 응답 항목으로 변환
+     * 메시지는 요청 Locale로 여기서 한 번만 해석함.
+     *
+     * @return
+     */
+    public static List<ApiError> from(BindingResult bindingResult, MessageSource messageSource, Locale locale) {
+        List<ObjectError> errors = bindingResult.getAllErrors();
+        List<ApiError> result = new ArrayList<>(errors.size());
+        for (ObjectError error : errors) {
+            result.add(of(error, messageSource, locale));
+        }
+        return result;
+    }
+
+    public static ApiError of(ObjectError error, MessageSource messageSource, Locale locale) {
+        String message = message(error, messageSource, locale);
+        if (error instanceof FieldError) {
+            FieldError fieldError = (FieldError) error;
+            return new ApiError(fieldError.getField(), error.getCode(), message, fieldError.getRejectedValue(), true);
+        }
+        return new ApiError(null, error.getCode(), message, null, false);
+    }
+
+    private static String message(ObjectError error, MessageSource messageSource, Locale locale) {
+        try {
+            return messageSource.getMessage(error, locale);
+        } catch (NoSuchMessageException e) {
+            return error.getDefaultMessage();
+        }
+    }
+
+    /**
+     * @return 글로벌 오류는 null
+     */
+    public String getField() {
+        return field;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Object getRejectedValue() {
+        return rejectedValue;
+    }
+
+    public boolean isFieldError() {
+        return fieldError;
+    }
+}
@@ -0,0 +1,63 @@
+package hello.itemservice.web.validation.error;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * ApiError 직렬화기
+ * <p>
+ * BeanSerializer처럼 리플렉션으로 getter를 찾거나 속성마다 직렬화기를 조회하지 않고 필드를 순서대로 직접 씀.
+ * 필드 이름은 미리 인코딩해 둔 SerializedString을 사용하므로 매번 이스케이프/인코딩하지 않음.
+ * 거부된 값은 숫자, 문자열, 불리언은 그대로 쓰고, 그 밖의 타입은 ObjectMapper의 기본 직렬화에 맡김.
+ */
+public class ApiErrorSerializer extends StdSerializer<ApiError> {
+
+    private static final SerializableString FIELD = new SerializedString("field");
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString REJECTED_VALUE = new SerializedString("rejectedValue");
+
+    public ApiErrorSerializer() {
+        super(ApiError.class);
+    }
+
+    @Override
+    public void serialize(ApiError error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeFieldName(FIELD);
+        generator.writeString(error.getField());
+        generator.writeFieldName(CODE);
+        generator.writeString(error.getCode());
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(error.getMessage());
+
+        if (error.isFieldError()) {
+            generator.writeFieldName(REJECTED_VALUE);
+            writeValue(error.getRejectedValue(), generator, provider);
+        }
+
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            provider.defaultSerializeValue(value, generator);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hello.itemservice.web.validation.form;
+
+import hello.itemservice.domain.item.Item;
+
+/**
+ * 검증을 통과한 폼을 상품(Item)으로 변환
+ * <p>
+ * 등록/수정 화면, JSON API, 대량 등록, 리액티브 API가 같은 변환을 사용함.
+ * 폼의 Integer 값을 그대로 넘기므로(다시 박싱하지 않음) 만들어지는 객체는 반환하는 Item 하나뿐임.
+ */
+public final class ItemFormMapper {
+
+    private ItemFormMapper() {
+    }
+
+    public static Item toItem(ItemSaveForm form) {
+        return new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+    }
+
+    /**
+     * @return 저장소 update에 넘길 수정 값(ID는 설정하지 않음)
+     */
+    public static Item toItem(ItemUpdateForm form) {
+        return new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+    }
+}
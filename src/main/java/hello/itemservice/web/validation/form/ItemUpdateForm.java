@@ -25,4 +25,8 @@ public class ItemUpdateForm {
 
     //수정에서는 수량은 자유롭게 변경할 수 있다.
     private Integer quantity;
+
+    //수정 화면을 열 때의 상품 버전(낙관적 동시성 제어), 그 사이 다른 수정이 먼저 반영되었으면 수정하지 않음
+    @NotNull
+    private Long version;
 }
@@ -0,0 +1,49 @@
+package hello.itemservice.web.validation.rule;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 특정 필드가 아닌 복합 룰(글로벌 오류) 정의
+ * <p>
+ * 조건식이 거짓이면 code로 글로벌 오류(errors.reject)를 추가하고, 인자식을 계산한 값을 메시지 인자로 사용함.
+ * 식은 대상 객체의 정수 속성(getter), 정수 상수, + - *, 비교 연산자(>= > <= < == !=), &&, ||, 괄호를 지원함.
+ * 예) new GlobalRule("totalPriceMin", "price * quantity >= 10000", "10000", "price * quantity")
+ * <p>
+ * 식은 RuleCompiler가 대상 클래스별로 한 번만 컴파일하며, 식에 사용된 속성 중 하나라도 null이면 룰을 검사하지 않음.
+ * (null 검사는 @NotNull 같은 필드 검증이 담당함)
+ */
+public final class GlobalRule {
+
+    private final String code;
+    private final String condition;
+    private final List<String> arguments;
+
+    /**
+     * @param code      오류 코드(메시지 코드)
+     * @param condition 만족해야 하는 조건식
+     * @param arguments 메시지 인자식({0}, {1}, ...)
+     */
+    public GlobalRule(String code, String condition, String... arguments) {
+        this.code = code;
+        this.condition = condition;
+        this.arguments = List.copyOf(Arrays.asList(arguments));
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public String toString() {
+        return code + ": " + condition;
+    }
+}
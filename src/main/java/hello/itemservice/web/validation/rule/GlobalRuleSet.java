@@ -0,0 +1,174 @@
+package hello.itemservice.web.validation.rule;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 글로벌 오류 룰 모음
+ * <p>
+ * 대상 클래스(ItemSaveForm, ItemUpdateForm, Item 등)마다 룰을 한 번 컴파일해서 ClassValue에 보관함.
+ * 주요 대상 클래스는 precompile로 미리 컴파일해서 식 오류를 첫 요청이 아닌 시작 시점에 발견함.
+ * 컴파일에 실패한 결과도 보관하므로, 실패한 클래스를 검증할 때마다 식을 다시 해석하지 않음.
+ * 같은 룰을 여러 컨트롤러/검증기에서 복사해서 쓰지 않고, 한 곳(ItemRules)에 선언한 룰을 공유함.
+ */
+public final class GlobalRuleSet implements Validator {
+
+    private final List<GlobalRule> rules;
+
+    private final ClassValue<Compilation> compiled = new ClassValue<>() {
+        @Override
+        protected Compilation computeValue(Class<?> type) {
+            try {
+                return new Compilation(compile(type), null);
+            } catch (IllegalArgumentException e) {
+                return new Compilation(null, e);
+            }
+        }
+    };
+
+    private GlobalRuleSet(List<GlobalRule> rules) {
+        this.rules = rules;
+    }
+
+    public static GlobalRuleSet of(GlobalRule... rules) {
+        return new GlobalRuleSet(List.of(rules));
+    }
+
+    public List<GlobalRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * 대상 클래스의 룰을 미리 컴파일함.
+     *
+     * @return this
+     * @throws IllegalArgumentException 식 문법 오류, 대상 클래스에 없는 속성
+     */
+    public GlobalRuleSet precompile(Class<?>... types) {
+        for (Class<?> type : types) {
+            Compilation compilation = compiled.get(type);
+            if (compilation.failure != null) {
+                throw new IllegalArgumentException("글로벌 룰을 컴파일할 수 없습니다. type=" + type.getName(), compilation.failure);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 룰에 사용한 속성이 모두 있는 클래스만 검증함.
+     */
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return compiled.get(clazz).failure == null;
+    }
+
+    /**
+     * 위반한 룰마다 errors.reject(code, arguments, null)
+     */
+    @Override
+    public void validate(Object target, Errors errors) {
+        evaluate(target, (code, arguments) -> errors.reject(code, arguments, null));
+    }
+
+    /**
+     * 위반한 룰을 handler로 전달함.(오류 객체를 직접 만드는 화면용)
+     *
+     * @return 위반한 룰이 있으면 false
+     */
+    public boolean evaluate(Object target, RuleViolationHandler handler) {
+        boolean valid = true;
+        for (CompiledRule rule : compiled.get(target.getClass()).rules()) {
+            if (!rule.test(target)) {
+                handler.violated(rule.code, rule.arguments(target));
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * @throws IllegalArgumentException 식 문법 오류, 대상 클래스에 없는 속성
+     */
+    private List<CompiledRule> compile(Class<?> type) {
+        List<CompiledRule> result = new ArrayList<>(rules.size());
+        for (GlobalRule rule : rules) {
+            Map<String, Function<Object, Object>> properties = RuleCompiler.newPropertyMap();
+            Predicate<Object> condition = RuleCompiler.condition(rule.getCondition(), type, properties);
+
+            List<ToLongFunction<Object>> arguments = new ArrayList<>(rule.getArguments().size());
+            for (String argument : rule.getArguments()) {
+                arguments.add(RuleCompiler.value(argument, type, properties));
+            }
+
+            result.add(new CompiledRule(rule.getCode(), condition, arguments, List.copyOf(properties.values())));
+        }
+        return List.copyOf(result);
+    }
+
+    private static final class Compilation {
+
+        private final List<CompiledRule> rules;
+        private final IllegalArgumentException failure;
+
+        private Compilation(List<CompiledRule> rules, IllegalArgumentException failure) {
+            this.rules = rules;
+            this.failure = failure;
+        }
+
+        /**
+         * @throws IllegalArgumentException 컴파일에 실패한 클래스
+         */
+        private List<CompiledRule> rules() {
+            if (failure != null) {
+                throw new IllegalArgumentException(failure.getMessage(), failure);
+            }
+            return rules;
+        }
+    }
+
+    private static final class CompiledRule {
+
+        private final String code;
+        private final Predicate<Object> condition;
+        private final List<ToLongFunction<Object>> arguments;
+        private final List<Function<Object, Object>> properties;
+
+        private CompiledRule(String code, Predicate<Object> condition,
+                             List<ToLongFunction<Object>> arguments, List<Function<Object, Object>> properties) {
+            this.code = code;
+            this.condition = condition;
+            this.arguments = arguments;
+            this.properties = properties;
+        }
+
+        /**
+         * 사용한 속성 중 null이 있으면 검사하지 않음(통과로 처리)
+         */
+        private boolean test(Object target) {
+            for (Function<Object, Object> property : properties) {
+                if (property.apply(target) == null) {
+                    return true;
+                }
+            }
+            return condition.test(target);
+        }
+
+        /**
+         * 인자는 룰을 위반했을 때만 계산함.
+         */
+        private Object[] arguments(Object target) {
+            Object[] values = new Object[arguments.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = arguments.get(i).applyAsLong(target);
+            }
+            return values;
+        }
+    }
+}
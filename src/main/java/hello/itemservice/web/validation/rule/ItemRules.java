@@ -0,0 +1,24 @@
+package hello.itemservice.web.validation.rule;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+
+/**
+ * 상품 글로벌 오류 룰
+ * <p>
+ * totalPriceMin: 가격 * 수량의 합은 10,000원 이상
+ * long으로 계산하므로 가격 1,000,000 * 수량 9,999 같은 큰 값도 int처럼 음수로 뒤집혀서 잘못 거절되지 않음.
+ * <p>
+ * 검증 대상 클래스(ItemSaveForm, ItemUpdateForm, Item)는 클래스를 초기화할 때 미리 컴파일하고,
+ * RuleConfig가 시작 시점에 이 클래스를 초기화하므로 식 오류가 있으면 애플리케이션이 시작되지 않음.
+ */
+public final class ItemRules {
+
+    public static final GlobalRuleSet GLOBAL = GlobalRuleSet.of(
+            new GlobalRule("totalPriceMin", "price * quantity >= 10000", "10000", "price * quantity")
+    ).precompile(ItemSaveForm.class, ItemUpdateForm.class, Item.class);
+
+    private ItemRules() {
+    }
+}
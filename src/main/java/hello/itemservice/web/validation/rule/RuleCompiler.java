@@ -0,0 +1,304 @@
+package hello.itemservice.web.validation.rule;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 룰 식 컴파일러(재귀 하강 파서)
+ * <p>
+ * 식을 요청마다 해석하지 않도록 시작할 때 한 번 파싱해서 람다 트리(ToLongFunction, Predicate)로 만듦.
+ * - 속성은 LambdaMetafactory로 만든 getter 함수로 읽음.(요청 시 리플렉션 없음)
+ * - 산술은 long으로 계산하고, long 범위를 넘으면 Long.MAX_VALUE / Long.MIN_VALUE로 고정함.(int 곱셈처럼 음수로 뒤집히지 않음)
+ * <p>
+ * [문법]
+ * or      := and ('||' and)*
+ * and     := compare ('&&' compare)*
+ * compare := sum (('>=' | '>' | '<=' | '<' | '==' | '!=') sum)?
+ * sum     := product (('+' | '-') product)*
+ * product := unary ('*' unary)*
+ * unary   := '-' unary | primary
+ * primary := 정수 | 속성명 | '(' or ')'
+ */
+final class RuleCompiler {
+
+    private static final Set<Class<?>> INTEGER_TYPES = Set.of(Long.class, Integer.class, Short.class, Byte.class,
+            long.class, int.class, short.class, byte.class);
+
+    private final String source;
+    private final Class<?> type;
+    private final Map<String, Function<Object, Object>> properties;
+    private int position;
+
+    private RuleCompiler(String source, Class<?> type, Map<String, Function<Object, Object>> properties) {
+        this.source = source;
+        this.type = type;
+        this.properties = properties;
+    }
+
+    /**
+     * @param properties 식에서 사용한 속성의 getter가 추가됨(null 검사용)
+     * @throws IllegalArgumentException 문법 오류, 없는 속성, 정수가 아닌 속성
+     */
+    static Predicate<Object> condition(String source, Class<?> type, Map<String, Function<Object, Object>> properties) {
+        RuleCompiler compiler = new RuleCompiler(source, type, properties);
+        Node node = compiler.parseOr();
+        compiler.expectEnd();
+        return compiler.toCondition(node);
+    }
+
+    static ToLongFunction<Object> value(String source, Class<?> type, Map<String, Function<Object, Object>> properties) {
+        RuleCompiler compiler = new RuleCompiler(source, type, properties);
+        Node node = compiler.parseSum();
+        compiler.expectEnd();
+        return compiler.toValue(node);
+    }
+
+    static Map<String, Function<Object, Object>> newPropertyMap() {
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * 파싱 결과(논리식이면 condition, 산술식이면 value)
+     */
+    private static final class Node {
+
+        private final Predicate<Object> condition;
+        private final ToLongFunction<Object> value;
+
+        private Node(Predicate<Object> condition, ToLongFunction<Object> value) {
+            this.condition = condition;
+            this.value = value;
+        }
+    }
+
+    private Node parseOr() {
+        Node left = parseAnd();
+        while (accept("||")) {
+            Predicate<Object> l = toCondition(left);
+            Predicate<Object> r = toCondition(parseAnd());
+            left = new Node(target -> l.test(target) || r.test(target), null);
+        }
+        return left;
+    }
+
+    private Node parseAnd() {
+        Node left = parseCompare();
+        while (accept("&&")) {
+            Predicate<Object> l = toCondition(left);
+            Predicate<Object> r = toCondition(parseCompare());
+            left = new Node(target -> l.test(target) && r.test(target), null);
+        }
+        return left;
+    }
+
+    private Node parseCompare() {
+        Node left = parseSum();
+        for (String operator : new String[]{">=", "<=", "==", "!=", ">", "<"}) {
+            if (accept(operator)) {
+                ToLongFunction<Object> l = toValue(left);
+                ToLongFunction<Object> r = toValue(parseSum());
+                return new Node(compare(operator, l, r), null);
+            }
+        }
+        return left;
+    }
+
+    private static Predicate<Object> compare(String operator, ToLongFunction<Object> l, ToLongFunction<Object> r) {
+        switch (operator) {
+            case ">=":
+                return target -> l.applyAsLong(target) >= r.applyAsLong(target);
+            case "<=":
+                return target -> l.applyAsLong(target) <= r.applyAsLong(target);
+            case "==":
+                return target -> l.applyAsLong(target) == r.applyAsLong(target);
+            case "!=":
+                return target -> l.applyAsLong(target) != r.applyAsLong(target);
+            case ">":
+                return target -> l.applyAsLong(target) > r.applyAsLong(target);
+            default:
+                return target -> l.applyAsLong(target) < r.applyAsLong(target);
+        }
+    }
+
+    private Node parseSum() {
+        Node left = parseProduct();
+        while (true) {
+            if (accept("+")) {
+                ToLongFunction<Object> l = toValue(left);
+                ToLongFunction<Object> r = toValue(parseProduct());
+                left = new Node(null, target -> add(l.applyAsLong(target), r.applyAsLong(target)));
+            } else if (accept("-")) {
+                ToLongFunction<Object> l = toValue(left);
+                ToLongFunction<Object> r = toValue(parseProduct());
+                left = new Node(null, target -> subtract(l.applyAsLong(target), r.applyAsLong(target)));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseProduct() {
+        Node left = parseUnary();
+        while (accept("*")) {
+            ToLongFunction<Object> l = toValue(left);
+            ToLongFunction<Object> r = toValue(parseUnary());
+            left = new Node(null, target -> multiply(l.applyAsLong(target), r.applyAsLong(target)));
+        }
+        return left;
+    }
+
+    private Node parseUnary() {
+        if (accept("-")) {
+            ToLongFunction<Object> operand = toValue(parseUnary());
+            return new Node(null, target -> subtract(0, operand.applyAsLong(target)));
+        }
+        return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+        skipWhitespace();
+        if (accept("(")) {
+            Node node = parseOr();
+            if (!accept(")")) {
+                throw error("')'가 필요합니다.");
+            }
+            return node;
+        }
+
+        int start = position;
+        if (position < source.length() && Character.isDigit(source.charAt(position))) {
+            while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+            long constant;
+            try {
+                constant = Long.parseLong(source.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("정수 범위를 벗어난 상수입니다.");
+            }
+            return new Node(null, target -> constant);
+        }
+        if (position < source.length() && Character.isJavaIdentifierStart(source.charAt(position))) {
+            while (position < source.length() && Character.isJavaIdentifierPart(source.charAt(position))) {
+                position++;
+            }
+            Function<Object, Object> getter = property(source.substring(start, position));
+            return new Node(null, target -> ((Number) getter.apply(target)).longValue());
+        }
+        throw error("정수, 속성명 또는 '('가 필요합니다.");
+    }
+
+    private Function<Object, Object> property(String name) {
+        Function<Object, Object> getter = properties.get(name);
+        if (getter != null) {
+            return getter;
+        }
+
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, name);
+        if (descriptor == null || descriptor.getReadMethod() == null) {
+            throw error("getter가 없는 속성입니다. property=" + name);
+        }
+        if (!INTEGER_TYPES.contains(descriptor.getPropertyType())) {
+            throw error("정수 타입 속성만 사용할 수 있습니다. property=" + name);
+        }
+        getter = getter(descriptor.getReadMethod());
+        properties.put(name, getter);
+        return getter;
+    }
+
+    /**
+     * getter를 호출하는 Function을 만듦.(리플렉션 호출이 아닌 일반 메서드 호출)
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method readMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(readMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle, handle.type().wrap()); //int/long getter는 박싱해서 반환
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("getter를 만들 수 없습니다. method=" + readMethod, e);
+        }
+    }
+
+    private Predicate<Object> toCondition(Node node) {
+        if (node.condition == null) {
+            throw error("조건식(비교, &&, ||)이 필요합니다.");
+        }
+        return node.condition;
+    }
+
+    private ToLongFunction<Object> toValue(Node node) {
+        if (node.value == null) {
+            throw error("산술식이 필요합니다.");
+        }
+        return node.value;
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (source.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expectEnd() {
+        skipWhitespace();
+        if (position != source.length()) {
+            throw error("해석할 수 없는 문자입니다.");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " expression=\"" + source + "\", position=" + position + ", type=" + type.getName());
+    }
+
+    static long add(long a, long b) {
+        long result = a + b;
+        if (((a ^ result) & (b ^ result)) < 0) { //부호가 같은 두 수를 더했는데 부호가 바뀜
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return result;
+    }
+
+    static long subtract(long a, long b) {
+        long result = a - b;
+        if (((a ^ b) & (a ^ result)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return result;
+    }
+
+    static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low;
+        }
+        return (a < 0) == (b < 0) ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.web.validation.rule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 글로벌 오류 룰 설정
+ * 시작 시점에 ItemRules를 초기화해서 룰을 컴파일함.(식 오류가 첫 요청의 500 오류가 되지 않고 시작이 실패하도록)
+ * GlobalRuleSet은 Validator이므로 빈으로 등록하지 않음.(타입으로 주입받는 Validator와 충돌)
+ */
+@Slf4j
+@Configuration
+public class RuleConfig implements InitializingBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        log.info("글로벌 오류 룰 컴파일 rules={}", ItemRules.GLOBAL.getRules().size());
+    }
+}
@@ -0,0 +1,14 @@
+package hello.itemservice.web.validation.rule;
+
+/**
+ * 룰 위반 처리(보통 errors.reject, 화면별로 직접 오류 객체를 만들 때 사용)
+ */
+@FunctionalInterface
+public interface RuleViolationHandler {
+
+    /**
+     * @param code      룰의 오류 코드
+     * @param arguments 인자식을 계산한 값(Long)
+     */
+    void violated(String code, Object[] arguments);
+}
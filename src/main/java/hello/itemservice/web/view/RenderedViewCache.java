@@ -0,0 +1,138 @@
+package hello.itemservice.web.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 렌더링된 화면(HTML) 캐시
+ * <p>
+ * 화면 결과를 결정하는 값(뷰 이름, Locale, 상품 ID/버전 등)으로 키(ETag)를 만들고,
+ * 같은 키로 다시 요청되면 템플릿을 렌더링하지 않고 저장해 둔 HTML을 그대로 응답함.
+ * 컨트롤러는 키로 ServletWebRequest.checkNotModified(etag)를 먼저 확인해서, 브라우저가 같은 ETag를 가지고 있으면
+ * 렌더링 없이 304 Not Modified를 응답함.
+ * <p>
+ * - 상품 버전은 재시작하면 0부터 다시 시작하므로, 키에 시작 시각(epoch)을 넣어서 재시작 전의 ETag와 겹치지 않도록 함.
+ * - 캐시 크기는 HTML 바이트 수(item.view-cache.maximum-bytes)로 제한함.
+ * - 렌더링에 실패하거나 200이 아닌 응답은 캐시하지 않음.
+ */
+@Component
+public class RenderedViewCache {
+
+    private static final String HTML_CONTENT_TYPE = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8).toString();
+
+    private final ViewResolver viewResolver;
+    private final Cache<String, byte[]> cache;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public RenderedViewCache(@Qualifier("thymeleafViewResolver") ViewResolver viewResolver,
+                             @Value("${item.view-cache.maximum-bytes:16777216}") long maximumBytes) {
+        this.viewResolver = viewResolver;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .<String, byte[]>weigher((key, html) -> html.length)
+                .build();
+    }
+
+    /**
+     * @param viewName 뷰 이름
+     * @param locale   메시지 Locale
+     * @param parts    화면 결과를 결정하는 나머지 값(상품 ID, 버전, 요청 파라미터 등)
+     * @return ETag(캐시 키로도 사용)
+     */
+    public String etag(String viewName, Locale locale, Object... parts) {
+        StringBuilder key = new StringBuilder(64).append(epoch).append('|').append(viewName).append('|').append(locale);
+        for (Object part : parts) {
+            key.append('|').append(part);
+        }
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param etag 캐시 키(null이면 캐시하지 않고 그대로 렌더링)
+     * @return 캐시된 HTML을 쓰는 View, 없으면 렌더링 결과를 캐시에 저장하는 View
+     */
+    public View view(String etag, String viewName, Locale locale) throws Exception {
+        if (etag != null) {
+            byte[] html = cache.getIfPresent(etag);
+            if (html != null) {
+                return new CachedHtmlView(html);
+            }
+        }
+
+        View view = viewResolver.resolveViewName(viewName, locale);
+        if (view == null) {
+            throw new IllegalStateException("뷰를 찾을 수 없습니다. viewName=" + viewName);
+        }
+        return etag == null ? view : new CachingView(etag, view);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 렌더링 결과를 버퍼에 받아서 캐시에 저장한 뒤 응답에 씀
+     */
+    private class CachingView implements View {
+
+        private final String etag;
+        private final View delegate;
+
+        CachingView(String etag, View delegate) {
+            this.etag = etag;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getContentType() {
+            return delegate.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            delegate.render(model, request, wrapper);
+
+            if (wrapper.getStatus() == HttpStatus.OK.value()) {
+                cache.put(etag, wrapper.getContentAsByteArray());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static class CachedHtmlView implements View {
+
+        private final byte[] html;
+
+        CachedHtmlView(byte[] html) {
+            this.html = html;
+        }
+
+        @Override
+        public String getContentType() {
+            return HTML_CONTENT_TYPE;
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            response.setContentType(HTML_CONTENT_TYPE);
+            response.setContentLength(html.length);
+            response.getOutputStream().write(html);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemRepositoryTest {
+
+    ColumnarItemRepository itemRepository = new ColumnarItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void save() {
+        //given
+        Item item = new Item("상품A", 10000, 10);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then: 저장된 값으로 새로 만든 Item(뷰)을 반환
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem).isNotSameAs(savedItem);
+        assertThat(findItem).isEqualTo(savedItem);
+    }
+
+    @Test
+    void saveNullFields() {
+        //given
+        Item savedItem = itemRepository.save(new Item(null, null, null));
+
+        //when
+        Item findItem = itemRepository.findById(savedItem.getId());
+
+        //then
+        assertThat(findItem.getItemName()).isNull();
+        assertThat(findItem.getPrice()).isNull();
+        assertThat(findItem.getQuantity()).isNull();
+    }
+
+    @Test
+    void findAll() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+
+        //when
+        List<Item> result = itemRepository.findAll();
+
+        //then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result).containsExactly(item1, item2);
+    }
+
+    @Test
+    void scanAll() {
+        //given: 순회 블록(1024개)보다 많은 상품
+        for (int i = 0; i < 2500; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i, i));
+        }
+
+        //when
+        List<Item> items = new ArrayList<>();
+        itemRepository.scanAll().forEach(items::add);
+
+        //then: ID 순서로 모든 상품을 순회
+        assertThat(items).hasSize(2500);
+        assertThat(items).extracting(Item::getId).isSorted();
+        assertThat(items.get(2499)).isEqualTo(itemRepository.findById(2500L));
+    }
+
+    @Test
+    void findPage() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        ItemPage first = itemRepository.findPage(null, 3);
+        ItemPage last = itemRepository.findPage(first.getNextCursor(), 3);
+
+        //then
+        assertThat(first.getItems()).extracting(Item::getItemName).containsExactly("item0", "item1", "item2");
+        assertThat(last.getItems()).extracting(Item::getItemName).containsExactly("item3", "item4");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void updateItem() {
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+
+        //when
+        Item updateParam = new Item("item2", 20000, 30);
+        itemRepository.update(itemId, updateParam);
+
+        Item findItem = itemRepository.findById(itemId);
+
+        //then
+        assertThat(findItem.getItemName()).isEqualTo(updateParam.getItemName());
+        assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
+        assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
+        assertThat(findItem.getVersion()).isEqualTo(1); //수정할 때마다 버전 증가
+    }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+
+        //when
+        boolean first = itemRepository.update(itemId, new Item("item2", 20000, 20), 0);
+        boolean stale = itemRepository.update(itemId, new Item("item3", 30000, 30), 0); //다른 수정이 먼저 반영됨
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(stale).isFalse();
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void updateSameItemName() {
+        //given
+        Long itemId = itemRepository.save(new Item("상품A", 10000, 10)).getId();
+
+        //when: 상품명은 그대로 두고 여러 번 수정, 이후 null로 변경
+        itemRepository.update(itemId, new Item("상품A", 20000, 10));
+        itemRepository.update(itemId, new Item("상품A", 30000, 5));
+        Item sameName = itemRepository.findById(itemId);
+        itemRepository.update(itemId, new Item(null, 30000, 5));
+
+        //then
+        assertThat(sameName.getItemName()).isEqualTo("상품A");
+        assertThat(sameName.getPrice()).isEqualTo(30000);
+        assertThat(sameName.getVersion()).isEqualTo(2);
+        assertThat(itemRepository.findById(itemId).getItemName()).isNull();
+    }
+
+    @Test
+    void findByCondition() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 1000, 5));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 50));
+        Item other = itemRepository.save(new Item("other", 5000, 1));
+
+        //when, then: 기본 저장소의 인덱스 조회와 같은 순서로 반환
+        assertThat(itemRepository.findByPriceBetween(1000, 5000, 10)).containsExactly(itemA, other);
+        assertThat(itemRepository.findByQuantityLessThan(10, 10)).containsExactly(other, itemA);
+        assertThat(itemRepository.findByItemNameStartingWith("item", 10)).containsExactly(itemA, itemB);
+        assertThat(itemRepository.findByPriceBetween(0, Integer.MAX_VALUE, 1)).containsExactly(itemA);
+    }
+
+    @Test
+    void restoreWithGaps() {
+        //given: 로그/스냅샷에 ID 2, 5만 있음(ID 발급 번호를 공유하므로 중간 ID가 비어 있을 수 있음)
+        itemRepository.restore(item(2L, "item2", 0));
+        itemRepository.restore(item(5L, "item5", 0));
+
+        //when
+        List<Item> scanned = new ArrayList<>();
+        itemRepository.scanAll().forEach(scanned::add);
+        ItemPage first = itemRepository.findPage(null, 1);
+        ItemPage last = itemRepository.findPage(first.getNextCursor(), 1);
+
+        //then: 비어 있는 ID는 조회/순회/페이징에 나타나지 않음
+        assertThat(itemRepository.findById(1L)).isNull();
+        assertThat(itemRepository.findById(3L)).isNull();
+        assertThat(itemRepository.findAll()).extracting(Item::getId).containsExactly(2L, 5L);
+        assertThat(scanned).extracting(Item::getId).containsExactly(2L, 5L);
+        assertThat(first.getItems()).extracting(Item::getId).containsExactly(2L);
+        assertThat(last.getItems()).extracting(Item::getId).containsExactly(5L);
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(itemRepository.findByQuantityLessThan(Integer.MAX_VALUE, 10)).extracting(Item::getId).containsExactly(2L, 5L);
+        assertThatThrownBy(() -> itemRepository.update(3L, new Item("item3", 3000, 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        //비어 있는 ID도 나중에 복원할 수 있음
+        itemRepository.restore(item(3L, "item3", 0));
+        assertThat(itemRepository.findAll()).extracting(Item::getId).containsExactly(2L, 3L, 5L);
+    }
+
+    @Test
+    void longVersion() {
+        //given: int 범위를 넘는 버전
+        long version = Integer.MAX_VALUE + 1L;
+        itemRepository.restore(item(1L, "item1", version));
+
+        //when
+        boolean updated = itemRepository.update(1L, new Item("item2", 20000, 20), version);
+
+        //then: 기본 저장소와 같이 long 버전으로 비교/증가
+        assertThat(updated).isTrue();
+        assertThat(itemRepository.findById(1L).getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void readWhileAwaitingLog() throws Exception {
+        //given: fsync가 끝나지 않는 변경 로그
+        BlockingLog blockingLog = new BlockingLog();
+        itemRepository.addChangeListener(blockingLog);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            //when
+            Future<Item> saving = executor.submit(() -> itemRepository.save(new Item("item1", 10000, 10)));
+            assertThat(blockingLog.awaiting.await(5, TimeUnit.SECONDS)).isTrue();
+
+            //then: 저장은 fsync를 기다리지만 쓰기 잠금은 놓았으므로 조회는 막히지 않음
+            assertThat(itemRepository.findById(1L).getItemName()).isEqualTo("item1");
+            assertThat(itemRepository.findPage(null, 10).getItems()).hasSize(1);
+            assertThat(saving.isDone()).isFalse();
+
+            blockingLog.release.countDown();
+            assertThat(saving.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        } finally {
+            blockingLog.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static Item item(Long id, String itemName, long version) {
+        Item item = new Item(itemName, 1000, 10);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+
+    /**
+     * 기록은 바로 끝나고 내구성 대기(awaitDeferred)는 release될 때까지 기다리는 변경 로그
+     */
+    static class BlockingLog implements ItemChangeListener {
+
+        final CountDownLatch awaiting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void saved(Item item) {
+        }
+
+        @Override
+        public void updated(Item item) {
+        }
+
+        @Override
+        public void awaitDeferred() {
+            awaiting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean isWriteAhead() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 여러 스레드에서 동시에 저장/수정할 때 저장 누락, 중복 ID, 깨진 상품이 없는지 확인
+ */
+class ItemRepositoryConcurrencyTest {
+
+    static final int THREADS = 64;
+    static final int SAVES_PER_THREAD = 1000;
+    static final int UPDATES_PER_THREAD = 1000;
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore(); //저장소가 static이므로 다른 테스트(TestDataInit 등)에서 저장한 상품 제거
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        //when
+        for (int t = 0; t < THREADS; t++) {
+            int threadNo = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> ids = new ArrayList<>(SAVES_PER_THREAD);
+                for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                    Item saved = itemRepository.save(new Item("item-" + threadNo + "-" + i, 10000, 10));
+                    ids.add(saved.getId());
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        //then
+        assertThat(ids).hasSize(THREADS * SAVES_PER_THREAD); //중복 ID 없음
+        assertThat(itemRepository.findAll()).hasSize(THREADS * SAVES_PER_THREAD); //저장 누락 없음
+        for (Long id : ids) {
+            assertThat(itemRepository.findById(id).getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void concurrentUpdate() throws Exception {
+        //given
+        Item savedItem = itemRepository.save(new Item("item-0", 1000, 0));
+        Long itemId = savedItem.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when: 각 스레드는 항상 (이름, 가격, 수량)이 서로 맞는 값으로만 수정함.
+        for (int t = 0; t < THREADS; t++) {
+            int threadNo = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    int n = threadNo * UPDATES_PER_THREAD + i;
+                    itemRepository.update(itemId, new Item("item-" + n, 1000 + n, n));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then: 서로 다른 수정 요청의 필드가 섞이지 않아야 함.
+        Item findItem = itemRepository.findById(itemId);
+        int n = findItem.getQuantity();
+        assertThat(findItem.getItemName()).isEqualTo("item-" + n);
+        assertThat(findItem.getPrice()).isEqualTo(1000 + n);
+    }
+
+    @Test
+    void concurrentVersionedUpdate() throws Exception {
+        //given
+        Long itemId = itemRepository.save(new Item("item-0", 1000, 0)).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        //when: 각 스레드는 읽은 버전으로만 수정하고, 실패하면 다시 읽어서 재시도하지 않음
+        for (int t = 0; t < THREADS; t++) {
+            int threadNo = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    int n = threadNo * UPDATES_PER_THREAD + i;
+                    Item read = itemRepository.findById(itemId);
+                    //조회한 상품은 수정 도중의 값이 섞이지 않음
+                    assertThat(read.getItemName()).isEqualTo("item-" + read.getQuantity());
+                    if (itemRepository.update(itemId, new Item("item-" + n, 1000 + n, n), read.getVersion())) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        start.countDown();
+
+        long succeeded = 0;
+        for (Future<Integer> future : futures) {
+            succeeded += future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then: 버전 하나당 성공한 수정은 하나뿐이므로 성공 횟수 = 최종 버전
+        Item findItem = itemRepository.findById(itemId);
+        int n = findItem.getQuantity();
+        assertThat(findItem.getVersion()).isEqualTo(succeeded);
+        assertThat(findItem.getItemName()).isEqualTo("item-" + n);
+        assertThat(findItem.getPrice()).isEqualTo(1000 + n);
+    }
+}
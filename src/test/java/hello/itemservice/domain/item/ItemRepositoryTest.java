@@ -1,8 +1,12 @@
 package hello.itemservice.domain.item;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -11,6 +15,11 @@ class ItemRepositoryTest {
 
     ItemRepository itemRepository = new ItemRepository();
 
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore(); //저장소가 static이므로 다른 테스트(TestDataInit 등)에서 저장한 상품 제거
+    }
+
     @AfterEach
     void afterEach() {
         itemRepository.clearStore();
@@ -46,6 +55,95 @@ class ItemRepositoryTest {
         assertThat(result).contains(item1, item2);
     }
 
+    @Test
+    void saveAll() {
+        //given
+        Item first = itemRepository.save(new Item("item1", 10000, 10));
+        List<Item> items = List.of(new Item("item2", 20000, 20), new Item("item3", 30000, 30));
+
+        //when
+        itemRepository.saveAll(items);
+
+        //then: 연속된 ID가 발급되고 보조 인덱스에도 반영됨
+        assertThat(items).extracting(Item::getId).containsExactly(first.getId() + 1, first.getId() + 2);
+        assertThat(itemRepository.findAll()).hasSize(3);
+        assertThat(itemRepository.findByItemNameStartingWith("item", 10)).hasSize(3);
+    }
+
+    @Test
+    void scanAll() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+
+        //when
+        List<Item> items = new ArrayList<>();
+        itemRepository.scanAll().forEach(items::add);
+
+        //then: 복사본이 아닌 저장된 상품을 ID 순서로 순회
+        assertThat(items).containsExactly(item1, item2);
+        assertThat(items.get(0)).isSameAs(item1);
+    }
+
+    @Test
+    void findAllSnapshot() {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        List<Item> first = itemRepository.findAll();
+        List<Item> second = itemRepository.findAll();
+
+        //then: 변경이 없으면 복사 없이 같은 목록을 재사용
+        assertThat(second).isSameAs(first);
+        assertThatThrownBy(() -> first.add(new Item()))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        //when: 저장 후에는 새로운 스냅샷
+        itemRepository.save(new Item("item2", 20000, 20));
+        List<Item> third = itemRepository.findAll();
+
+        //then
+        assertThat(third).isNotSameAs(first);
+        assertThat(third.size()).isEqualTo(2);
+        assertThat(first.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findPage() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        ItemPage first = itemRepository.findPage(null, 2);
+        ItemPage second = itemRepository.findPage(first.getNextCursor(), 2);
+        ItemPage last = itemRepository.findPage(second.getNextCursor(), 2);
+
+        //then: ID 순서로 이어지고, 마지막 페이지는 다음 커서가 없음
+        assertThat(first.getItems()).extracting(Item::getItemName).containsExactly("item0", "item1");
+        assertThat(second.getItems()).extracting(Item::getItemName).containsExactly("item2", "item3");
+        assertThat(last.getItems()).extracting(Item::getItemName).containsExactly("item4");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPageSizeLimit() {
+        //given
+        for (int i = 0; i < ItemRepository.MAX_PAGE_SIZE + 1; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        ItemPage page = itemRepository.findPage(null, Integer.MAX_VALUE);
+
+        //then
+        assertThat(page.getSize()).isEqualTo(ItemRepository.MAX_PAGE_SIZE);
+        assertThat(page.getItems()).hasSize(ItemRepository.MAX_PAGE_SIZE);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
     @Test
     void updateItem() {
         //given
@@ -64,5 +162,133 @@ class ItemRepositoryTest {
         assertThat(findItem.getItemName()).isEqualTo(updateParam.getItemName());
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
+        assertThat(findItem.getVersion()).isEqualTo(1); //수정할 때마다 버전 증가
+    }
+
+    @Test
+    void updateReplacesItem() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        List<Item> before = itemRepository.findAll();
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("item2", 20000, 20));
+
+        //then: 저장된 객체를 고치지 않고 새 객체로 교체하며, 목록 스냅샷도 다시 만듦
+        assertThat(savedItem.getItemName()).isEqualTo("item1");
+        assertThat(savedItem.getVersion()).isEqualTo(0);
+        assertThat(itemRepository.findById(savedItem.getId())).isNotSameAs(savedItem);
+        assertThat(itemRepository.findAll()).isNotSameAs(before);
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).containsExactly("item2");
+    }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+
+        //when
+        boolean first = itemRepository.update(itemId, new Item("item2", 20000, 20), 0);
+        boolean stale = itemRepository.update(itemId, new Item("item3", 30000, 30), 0); //다른 수정이 먼저 반영됨
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(stale).isFalse();
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void findByIndex() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 1000, 5));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 50));
+        Item other = itemRepository.save(new Item("other", 5000, 1));
+
+        //when, then
+        assertThat(itemRepository.findByPriceBetween(1000, 5000, 10)).containsExactly(itemA, other);
+        assertThat(itemRepository.findByQuantityLessThan(10, 10)).containsExactly(other, itemA);
+        assertThat(itemRepository.findByItemNameStartingWith("item", 10)).containsExactly(itemA, itemB);
+        assertThat(itemRepository.findByPriceBetween(0, Integer.MAX_VALUE, 1)).containsExactly(itemA);
+    }
+
+    @Test
+    void findByIndexAfterUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("renamed", 30000, 3));
+
+        //then: 변경 전 값으로는 조회되지 않고 변경 후 값으로 조회됨
+        Item updated = itemRepository.findById(item.getId());
+        assertThat(itemRepository.findByPriceBetween(10000, 10000, 10)).isEmpty();
+        assertThat(itemRepository.findByItemNameStartingWith("item", 10)).isEmpty();
+        assertThat(itemRepository.findByPriceBetween(30000, 30000, 10)).containsExactly(updated);
+        assertThat(itemRepository.findByQuantityLessThan(5, 10)).containsExactly(updated);
+        assertThat(itemRepository.findByItemNameStartingWith("ren", 10)).containsExactly(updated);
+    }
+
+    @Test
+    void findByIndexAfterPartialUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when: 가격만 변경
+        itemRepository.update(item.getId(), new Item("item1", 20000, 10));
+
+        //then: 바뀌지 않은 상품명/수량 인덱스는 그대로 조회되고, 가격 인덱스만 교체됨
+        Item updated = itemRepository.findById(item.getId());
+        assertThat(itemRepository.findByItemNameStartingWith("item1", 10)).containsExactly(updated);
+        assertThat(itemRepository.findByQuantityLessThan(11, 10)).containsExactly(updated);
+        assertThat(itemRepository.findByPriceBetween(10000, 10000, 10)).isEmpty();
+        assertThat(itemRepository.findByPriceBetween(20000, 20000, 10)).containsExactly(updated);
+    }
+
+    @Test
+    void writeAheadListenerFailure() {
+        //given: 반영 전에 알림을 받는 변경 로그(WAL)가 기록에 실패하는 상황
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+        FailingLog failingLog = new FailingLog();
+        itemRepository.addChangeListener(failingLog);
+
+        //when
+        failingLog.failing = true;
+        assertThatThrownBy(() -> itemRepository.save(new Item("item2", 20000, 20)))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> itemRepository.update(item.getId(), new Item("item3", 30000, 30)))
+                .isInstanceOf(UncheckedIOException.class);
+
+        //then: 기록하지 못한 변경은 저장소와 인덱스에 반영되지 않음
+        assertThat(itemRepository.findAll()).containsExactly(item);
+        assertThat(itemRepository.findById(item.getId()).getVersion()).isEqualTo(0);
+        assertThat(itemRepository.findByItemNameStartingWith("item", 10)).containsExactly(item);
+    }
+
+    static class FailingLog implements ItemChangeListener {
+
+        boolean failing;
+
+        @Override
+        public void saved(Item item) {
+            throwIfFailing();
+        }
+
+        @Override
+        public void updated(Item item) {
+            throwIfFailing();
+        }
+
+        @Override
+        public boolean isWriteAhead() {
+            return true;
+        }
+
+        private void throwIfFailing() {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        }
     }
 }
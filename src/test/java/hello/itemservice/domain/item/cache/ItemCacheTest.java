@@ -0,0 +1,120 @@
+package hello.itemservice.domain.item.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemCacheTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    AtomicLong nanos = new AtomicLong();
+    ItemCache itemCache;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+        Ticker ticker = nanos::get;
+        itemCache = new ItemCache(itemRepository, 2, Duration.ofSeconds(10), ticker, Runnable::run);
+        itemRepository.addChangeListener(itemCache);
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void findById() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        Item first = itemCache.findById(item.getId());
+        Item second = itemCache.findById(item.getId());
+
+        //then: 처음에는 저장소에서, 다음부터는 캐시에서 조회
+        assertThat(first).isEqualTo(item);
+        assertThat(second).isSameAs(first);
+        assertThat(itemCache.stats().getMissCount()).isEqualTo(1);
+        assertThat(itemCache.stats().getHitCount()).isEqualTo(1);
+        assertThat(itemCache.stats().getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void notFound() {
+        //when, then: 없는 상품은 캐시하지 않음
+        assertThat(itemCache.findById(999L)).isNull();
+        assertThat(itemCache.findById(999L)).isNull();
+        assertThat(itemCache.stats().getMissCount()).isEqualTo(2);
+        assertThat(itemCache.stats().getSize()).isZero();
+    }
+
+    @Test
+    void disabled() {
+        //given: 변경 알림을 받지 못하는 크기 0 캐시(다른 인스턴스가 수정하는 샤드 저장소)
+        ItemCache disabled = new ItemCache(itemRepository, 0, Duration.ofSeconds(10), nanos::get, Runnable::run);
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        disabled.findById(item.getId());
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+
+        //then: 항상 저장소에서 조회하므로 수정한 버전이 보임
+        assertThat(disabled.findById(item.getId()).getVersion()).isEqualTo(1);
+        assertThat(disabled.stats().getSize()).isZero();
+    }
+
+    @Test
+    void invalidateOnUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemCache.findById(item.getId());
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+
+        //then: 수정 알림으로 제거되어 다시 저장소에서 조회
+        assertThat(itemCache.stats().getSize()).isZero();
+        assertThat(itemCache.findById(item.getId()).getItemName()).isEqualTo("itemB");
+        assertThat(itemCache.stats().getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void expireAfterTtl() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemCache.findById(item.getId());
+
+        //when
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        itemCache.findById(item.getId());
+
+        //then
+        assertThat(itemCache.stats().getHitCount()).isZero();
+        assertThat(itemCache.stats().getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evictOverMaximumSize() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            Item item = itemRepository.save(new Item("item" + i, 10000, 10));
+            itemCache.findById(item.getId());
+        }
+
+        //when
+        ItemCache.ItemCacheStats stats = itemCache.stats();
+
+        //then
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getEvictionCount()).isEqualTo(3);
+    }
+}
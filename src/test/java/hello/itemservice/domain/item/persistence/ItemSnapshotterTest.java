@@ -0,0 +1,177 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemChangeListener;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.persistence.ItemWriteAheadLog.Durability;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSnapshotterTest {
+
+    @TempDir
+    Path dir;
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void snapshotAndCompact() throws Exception {
+        //given
+        Path walPath = dir.resolve("items.wal");
+        Path snapshotPath = dir.resolve("items.snapshot");
+        itemRepository.clearStore();
+
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(walPath, Durability.SYNC, 10)) {
+            itemRepository.addChangeListener(wal);
+            Long firstId = itemRepository.save(new Item("item0", 1000, 0)).getId(); //ID 발급(sequence)은 clearStore()로 초기화되지 않음
+            for (int i = 1; i < 100; i++) {
+                itemRepository.save(new Item("item" + i, 1000 + i, i));
+            }
+            itemRepository.update(firstId + 99, new Item("item99", 2000, 99)); //스냅샷에 버전 1로 저장됨
+            long sizeBeforeSnapshot = Files.size(walPath);
+
+            //when
+            try (ItemSnapshotter snapshotter = new ItemSnapshotter(itemRepository, wal, snapshotPath, 3600)) {
+                assertThat(snapshotter.snapshot()).isTrue();
+                assertThat(snapshotter.snapshot()).isFalse(); //변경이 없으면 건너뜀
+            }
+
+            //then: 스냅샷에 포함된 로그는 제거됨
+            assertThat(Files.size(walPath)).isLessThan(sizeBeforeSnapshot);
+
+            //스냅샷 이후의 변경은 로그에만 남음
+            itemRepository.update(firstId, new Item("상품A", 20000, 20));
+            itemRepository.save(new Item(null, null, null));
+        }
+
+        //재시작(저장소 초기화) 후 스냅샷 + 나머지 로그로 복원
+        itemRepository = new ItemRepository();
+        itemRepository.clearStore();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(walPath, Durability.SYNC, 10)) {
+            long walPosition = ItemSnapshotFile.load(snapshotPath, itemRepository::restore);
+            long count = wal.replay(walPosition, itemRepository::restore);
+            assertThat(count).isEqualTo(2);
+        }
+
+        List<Item> items = itemRepository.findAll();
+        assertThat(items).hasSize(101);
+        assertThat(items.get(0).getItemName()).isEqualTo("상품A");
+        assertThat(items.get(0).getPrice()).isEqualTo(20000);
+        assertThat(items.get(0).getVersion()).isEqualTo(1);
+        assertThat(items.get(99).getItemName()).isEqualTo("item99");
+        assertThat(items.get(99).getVersion()).isEqualTo(1);
+        assertThat(items.get(100).getItemName()).isNull();
+    }
+
+    @Test
+    void snapshotWhileSaving() throws Exception {
+        //given
+        Path walPath = dir.resolve("items.wal");
+        Path snapshotPath = dir.resolve("items.snapshot");
+        itemRepository.clearStore();
+        Set<Long> savedIds = ConcurrentHashMap.newKeySet();
+        AtomicBoolean running = new AtomicBoolean(true);
+        int savers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(savers);
+
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(walPath, Durability.SYNC, 10);
+             ItemSnapshotter snapshotter = new ItemSnapshotter(itemRepository, wal, snapshotPath, 3600)) {
+            itemRepository.addChangeListener(wal);
+            itemRepository.addChangeListener(new SlowListener()); //로그에 기록한 뒤 저장소에 반영하기 전 구간을 늘림
+            for (int i = 0; i < savers; i++) {
+                executor.submit(() -> {
+                    while (running.get()) {
+                        savedIds.add(itemRepository.save(new Item("item", 1000, 10)).getId()); //저장이 끝난(응답한) ID만 모음
+                    }
+                });
+            }
+
+            for (int snapshots = 0; snapshots < 20; ) {
+                //when: 저장하는 도중에 스냅샷을 만듦(스냅샷마다 로그 앞부분이 제거됨)
+                if (!snapshotter.snapshot()) {
+                    continue;
+                }
+                snapshots++;
+                Thread.sleep(20); //스냅샷 도중이던 저장이 끝날 때까지 기다림
+                Set<Long> acknowledged = new HashSet<>(savedIds);
+
+                //then: 다음 스냅샷 전에 비정상 종료되어도 저장이 끝난 상품은 모두 복원됨
+                assertThat(restoredIds(walPath, snapshotPath, dir.resolve("crash" + snapshots))).containsAll(acknowledged);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 파일을 복사해 두고(비정상 종료 시점의 상태) 스냅샷 + 나머지 로그로 복원한 상품 ID
+     */
+    private static Set<Long> restoredIds(Path walPath, Path snapshotPath, Path crashDir) throws IOException {
+        Files.createDirectories(crashDir);
+        Path snapshotCopy = Files.copy(snapshotPath, crashDir.resolve("items.snapshot"));
+        Path walCopy = Files.copy(walPath, crashDir.resolve("items.wal")); //스냅샷 파일 다음에 복사해야 스냅샷 위치 이후 로그가 모두 들어감
+
+        Set<Long> ids = new HashSet<>();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(walCopy, Durability.SYNC, 10)) {
+            long walPosition = ItemSnapshotFile.load(snapshotCopy, item -> ids.add(item.getId()));
+            wal.replay(walPosition, item -> ids.add(item.getId()));
+        }
+        return ids;
+    }
+
+    @Test
+    void loadMissingSnapshot() throws Exception {
+        //when
+        long walPosition = ItemSnapshotFile.load(dir.resolve("none.snapshot"), itemRepository::restore);
+
+        //then
+        assertThat(walPosition).isZero();
+        assertThat(itemRepository.findAll()).isEmpty();
+    }
+
+    /**
+     * WAL 다음에 등록되는 느린 반영 전 리스너
+     */
+    static class SlowListener implements ItemChangeListener {
+
+        @Override
+        public void saved(Item item) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void updated(Item item) {
+        }
+
+        @Override
+        public boolean isWriteAhead() {
+            return true;
+        }
+    }
+}
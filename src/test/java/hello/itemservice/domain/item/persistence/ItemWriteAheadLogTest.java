@@ -0,0 +1,138 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.persistence.ItemWriteAheadLog.Durability;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemWriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Durability.class)
+    void replay(Durability durability) throws Exception {
+        //given: 저장소 변경을 로그에 기록
+        Path path = dir.resolve("items.wal");
+        itemRepository.clearStore();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, durability, 10)) {
+            itemRepository.addChangeListener(wal);
+            Item itemA = itemRepository.save(new Item("상품A", 10000, 10));
+            itemRepository.save(new Item(null, null, null));
+            itemRepository.update(itemA.getId(), new Item("상품B", 20000, 20));
+        }
+
+        //when: 재시작(저장소 초기화) 후 로그로 복원
+        itemRepository = new ItemRepository();
+        itemRepository.clearStore();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, durability, 10)) {
+            long count = wal.replay(itemRepository::restore);
+
+            //then
+            assertThat(count).isEqualTo(3);
+        }
+
+        List<Item> items = itemRepository.findAll();
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).getItemName()).isEqualTo("상품B");
+        assertThat(items.get(0).getPrice()).isEqualTo(20000);
+        assertThat(items.get(0).getQuantity()).isEqualTo(20);
+        assertThat(items.get(1).getItemName()).isNull();
+        assertThat(items.get(1).getPrice()).isNull();
+
+        //버전도 복원되므로 재시작 전에 읽은 버전(0)으로는 수정할 수 없음
+        assertThat(items.get(0).getVersion()).isEqualTo(1);
+        assertThat(itemRepository.update(items.get(0).getId(), new Item("상품C", 30000, 30), 0)).isFalse();
+
+        //복원 후 새로 발급되는 ID는 기존 ID와 겹치지 않음
+        Item saved = itemRepository.save(new Item("itemC", 1000, 1));
+        assertThat(saved.getId()).isGreaterThan(items.get(1).getId());
+    }
+
+    @Test
+    void saveAllWaitsOnce() throws Exception {
+        //given
+        Path path = dir.resolve("items.wal");
+        itemRepository.clearStore();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item("item" + i, 1000 + i, i));
+        }
+
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, Durability.BATCH, 10)) {
+            itemRepository.addChangeListener(wal);
+
+            //when
+            itemRepository.saveAll(items);
+
+            //then: 상품마다 fsync를 기다리지 않고 목록 전체를 한 번에 기록
+            assertThat(wal.getSyncCount()).isEqualTo(1);
+        }
+
+        itemRepository = new ItemRepository();
+        itemRepository.clearStore();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, Durability.BATCH, 10)) {
+            assertThat(wal.replay(itemRepository::restore)).isEqualTo(1000);
+        }
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).startsWith("item0", "item1").endsWith("item999");
+    }
+
+    @Test
+    void truncateTornRecord() throws Exception {
+        //given
+        Path path = dir.resolve("items.wal");
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, Durability.SYNC, 10)) {
+            wal.saved(item(1L, "itemA"));
+            wal.saved(item(2L, "itemB"));
+        }
+
+        //비정상 종료로 마지막 레코드가 일부만 기록된 상황
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        //when
+        List<Item> replayed = new ArrayList<>();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, Durability.SYNC, 10)) {
+            wal.replay(replayed::add);
+            wal.saved(item(3L, "itemC")); //잘린 위치부터 이어서 기록
+        }
+
+        //then
+        assertThat(replayed).extracting(Item::getItemName).containsExactly("itemA");
+
+        replayed.clear();
+        try (ItemWriteAheadLog wal = new ItemWriteAheadLog(path, Durability.SYNC, 10)) {
+            wal.replay(replayed::add);
+        }
+        assertThat(replayed).extracting(Item::getItemName).containsExactly("itemA", "itemC");
+    }
+
+    private static Item item(Long id, String itemName) {
+        Item item = new Item(itemName, 10000, 10);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,53 @@
+package hello.itemservice.domain.item.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    static final int ITEM_COUNT = 100_000;
+
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("node1:9101", "node2:9102", "node3:9103"), 128);
+
+    @Test
+    void distribution() {
+        //when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= ITEM_COUNT; id++) {
+            counts.merge(ring.shardFor(id), 1, Integer::sum);
+        }
+
+        //then: 연속된 ID도 노드마다 고르게 배정됨
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(ITEM_COUNT / 3 * 8 / 10, ITEM_COUNT / 3 * 12 / 10));
+    }
+
+    @Test
+    void withShard() {
+        //given
+        ConsistentHashRing next = ring.withShard("node4:9104");
+
+        //when
+        int moved = 0;
+        for (long id = 1; id <= ITEM_COUNT; id++) {
+            String before = ring.shardFor(id);
+            String after = next.shardFor(id);
+            if (!before.equals(after)) {
+                assertThat(after).isEqualTo("node4:9104"); //기존 노드끼리는 상품이 옮겨지지 않음
+                moved++;
+            }
+        }
+
+        //then: 약 1/4만 새 노드로 옮겨짐
+        assertThat(moved).isBetween(ITEM_COUNT / 4 * 7 / 10, ITEM_COUNT / 4 * 13 / 10);
+        assertThat(ring.getShards()).hasSize(3);
+        assertThat(next.getEpoch()).isEqualTo(ring.getEpoch() + 1); //노드를 추가할 때마다 세대가 올라감
+        assertThatThrownBy(() -> next.withShard("node4:9104"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
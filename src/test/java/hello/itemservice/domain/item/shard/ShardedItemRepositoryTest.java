@@ -0,0 +1,298 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 샤드 노드(ItemShardServer) 3개를 사용하지 않는 포트로 실행해서 테스트
+ */
+class ShardedItemRepositoryTest {
+
+    List<ItemShardServer> servers = new ArrayList<>();
+    ShardedItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add(startServer());
+        }
+        itemRepository = new ShardedItemRepository(nodes, 128, 5000);
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.close();
+        servers.forEach(ItemShardServer::close);
+    }
+
+    @Test
+    void save() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then: 노드에서 읽은 상품은 저장한 상품과 값이 같은 다른 객체
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+        assertThat(itemRepository.findById(savedItem.getId() + 1)).isNull();
+    }
+
+    @Test
+    void saveAll() {
+        //given
+        List<Item> items = items(300);
+
+        //when
+        itemRepository.saveAll(items);
+
+        //then: 연속된 ID가 발급되고 모든 노드에 나누어 저장됨
+        assertThat(items).extracting(Item::getId).doesNotHaveDuplicates();
+        assertThat(items.get(299).getId()).isEqualTo(items.get(0).getId() + 299);
+        assertThat(itemRepository.findAll()).hasSize(300);
+        Map<String, Long> counts = itemRepository.countByShard();
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isPositive());
+    }
+
+    @Test
+    void syncIdsOnFirstSave() {
+        //given: ID 발급 노드가 다시 시작되어 발급 번호가 0이지만, 노드에는 ID 1~5 상품이 있음
+        List<Item> existing = items(5);
+        for (int i = 0; i < existing.size(); i++) {
+            existing.get(i).setId(i + 1L);
+        }
+        putDirectly(existing);
+
+        //when
+        Item saved = itemRepository.save(new Item("new", 10000, 10));
+
+        //then: 처음 예약하기 전에 가장 큰 ID로 발급 번호를 올리므로 기존 상품을 덮어쓰지 않음
+        assertThat(saved.getId()).isEqualTo(6L);
+        assertThat(itemRepository.findById(1L).getItemName()).isEqualTo("item0");
+        assertThat(itemRepository.findAll()).hasSize(6);
+    }
+
+    @Test
+    void insertRejectsUsedId() {
+        //given: 이미 예약한 범위의 다음 ID를 다른 곳에서 사용함(발급 노드가 다시 시작된 경우)
+        Long firstId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+        Item taken = new Item("taken", 20000, 20);
+        taken.setId(firstId + 1);
+        putDirectly(List.of(taken));
+
+        //when
+        Item saved = itemRepository.save(new Item("item2", 30000, 30));
+        List<Item> batch = itemRepository.saveAll(items(3));
+
+        //then: 덮어쓰지 않고 발급 번호를 다시 맞춘 뒤 새 ID로 저장함
+        assertThat(saved.getId()).isNotEqualTo(firstId + 1);
+        assertThat(itemRepository.findById(firstId + 1).getItemName()).isEqualTo("taken");
+        assertThat(itemRepository.findById(saved.getId()).getItemName()).isEqualTo("item2");
+        assertThat(batch).extracting(Item::getId).doesNotContain(firstId, firstId + 1, saved.getId());
+        assertThat(itemRepository.findAll()).hasSize(6);
+    }
+
+    @Test
+    void findPage() {
+        //given
+        itemRepository.saveAll(items(5));
+
+        //when
+        ItemPage first = itemRepository.findPage(null, 2);
+        ItemPage second = itemRepository.findPage(first.getNextCursor(), 2);
+        ItemPage last = itemRepository.findPage(second.getNextCursor(), 2);
+
+        //then: 여러 노드의 상품이 ID 순서로 이어짐
+        assertThat(first.getItems()).extracting(Item::getItemName).containsExactly("item0", "item1");
+        assertThat(second.getItems()).extracting(Item::getItemName).containsExactly("item2", "item3");
+        assertThat(last.getItems()).extracting(Item::getItemName).containsExactly("item4");
+        assertThat(last.getNextCursor()).isNull();
+
+        List<Item> scanned = new ArrayList<>();
+        itemRepository.scanAll().forEach(scanned::add);
+        assertThat(scanned).extracting(Item::getItemName).containsExactly("item0", "item1", "item2", "item3", "item4");
+    }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+
+        //when
+        boolean first = itemRepository.update(itemId, new Item("item2", 20000, 20), 0);
+        boolean stale = itemRepository.update(itemId, new Item("item3", 30000, 30), 0); //다른 수정이 먼저 반영됨
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(stale).isFalse();
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(1);
+        assertThatThrownBy(() -> itemRepository.update(itemId + 1, new Item("item4", 40000, 40)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findByQuery() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 1000, 5));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 50));
+        Item other = itemRepository.save(new Item("other", 5000, 1));
+
+        //when, then: 노드별 결과를 합쳐서 (값, ID) 순서로 정렬
+        assertThat(itemRepository.findByPriceBetween(1000, 5000, 10)).containsExactly(itemA, other);
+        assertThat(itemRepository.findByQuantityLessThan(10, 10)).containsExactly(other, itemA);
+        assertThat(itemRepository.findByItemNameStartingWith("item", 10)).containsExactly(itemA, itemB);
+        assertThat(itemRepository.findByPriceBetween(0, Integer.MAX_VALUE, 1)).containsExactly(itemA);
+    }
+
+    @Test
+    void addShard() throws IOException {
+        //given
+        List<Item> items = itemRepository.saveAll(items(1000));
+        String node = startServer();
+
+        //when
+        long moved = itemRepository.addShard(node);
+
+        //then: 약 1/4만 새 노드로 옮겨지고, 모든 상품을 그대로 조회할 수 있음
+        assertThat(moved).isBetween(150L, 350L);
+        assertThat(itemRepository.countByShard()).containsEntry(node, moved);
+        assertThat(itemRepository.findAll()).hasSize(1000);
+        for (Item item : items) {
+            assertThat(itemRepository.findById(item.getId())).isEqualTo(item);
+        }
+        assertThatThrownBy(() -> itemRepository.addShard(node))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sharedNodes() {
+        //given: 같은 노드를 사용하는 다른 애플리케이션
+        ShardedItemRepository other = new ShardedItemRepository(List.copyOf(itemRepository.countByShard().keySet()), 128, 5000);
+
+        try {
+            //when
+            Item item = itemRepository.save(new Item("item1", 10000, 10));
+            Item otherItem = other.save(new Item("item2", 20000, 20));
+
+            //then: ID가 겹치지 않고, 서로 저장한 상품을 조회할 수 있음
+            assertThat(otherItem.getId()).isNotEqualTo(item.getId());
+            assertThat(other.findById(item.getId())).isEqualTo(item);
+            assertThat(itemRepository.findById(otherItem.getId())).isEqualTo(otherItem);
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void addShardWithStaleRing() throws IOException {
+        //given: 같은 노드를 사용하는 다른 애플리케이션이 노드를 추가하기 전의 링을 가지고 있음
+        List<String> nodes = List.copyOf(itemRepository.countByShard().keySet());
+        ShardedItemRepository other = new ShardedItemRepository(nodes, 128, 5000);
+        try {
+            List<Item> items = other.saveAll(items(300));
+            String node = startServer();
+
+            //when
+            itemRepository.addShard(node);
+
+            //then: 기존 노드는 옮겨진 ID를 오래된 링으로 요청하면 거절하고, 다른 애플리케이션은 새 링으로 다시 요청함
+            ConsistentHashRing next = new ConsistentHashRing(nodes, 128).withShard(node);
+            Item moved = items.stream().filter(item -> next.shardFor(item.getId()).equals(node)).findFirst().orElseThrow();
+            String oldOwner = new ConsistentHashRing(nodes, 128).shardFor(moved.getId());
+            try (ShardClient client = new ShardClient(oldOwner, 5000)) {
+                assertThatThrownBy(() -> client.get(1, moved.getId()))
+                        .isInstanceOf(ShardClient.RingChangedException.class);
+            }
+
+            assertThat(other.findById(moved.getId())).isEqualTo(moved);
+            assertThat(other.update(moved.getId(), new Item("moved", 1, 1), 0)).isTrue();
+            assertThat(itemRepository.findById(moved.getId()).getItemName()).isEqualTo("moved");
+            assertThat(other.findAll()).hasSize(300);
+            assertThat(other.countByShard()).containsOnlyKeys(next.getShards());
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void rejectWritesWhileMoving() throws IOException {
+        //given: 다른 애플리케이션이 노드 추가를 준비함(모든 노드에 다음 링을 알림)
+        List<Item> items = itemRepository.saveAll(items(100));
+        List<String> nodes = List.copyOf(itemRepository.countByShard().keySet());
+        String node = startServer();
+        ConsistentHashRing ring;
+        try (ShardClient client = new ShardClient(nodes.get(0), 5000)) {
+            ring = client.getRing();
+        }
+        ConsistentHashRing next = ring.withShard(node);
+        setRingDirectly(next.getShards(), ring, next);
+        Item moving = items.stream().filter(item -> next.shardFor(item.getId()).equals(node)).findFirst().orElseThrow();
+
+        ShardedItemRepository other = new ShardedItemRepository(nodes, 128, 200);
+        try {
+            //when, then: 옮겨지는 상품은 조회만 되고, 수정은 재분배가 끝날 때까지 다시 시도하다가 제한 시간이 지나면 실패함
+            assertThat(other.findById(moving.getId())).isEqualTo(moving);
+            assertThatThrownBy(() -> other.update(moving.getId(), new Item("moving", 1, 1), 0))
+                    .isInstanceOf(IllegalStateException.class);
+
+            setRingDirectly(next.getShards(), ring, null); //준비 취소
+            assertThat(other.update(moving.getId(), new Item("moving", 1, 1), 0)).isTrue();
+        } finally {
+            other.close();
+        }
+    }
+
+    /**
+     * 저장소를 거치지 않고 노드의 링을 바꿈(RING_SET)
+     */
+    private static void setRingDirectly(List<String> shards, ConsistentHashRing ring, ConsistentHashRing next) {
+        for (String shard : shards) {
+            try (ShardClient client = new ShardClient(shard, 5000)) {
+                ConsistentHashRing nodeRing = client.getRing();
+                assertThat(client.setRing(nodeRing == null ? 0 : nodeRing.getEpoch(), ring, next)).isTrue();
+            }
+        }
+    }
+
+    /**
+     * 저장소를 거치지 않고 담당 노드에 바로 덮어씀(PUT)
+     */
+    private void putDirectly(List<Item> items) {
+        List<String> nodes = List.copyOf(itemRepository.countByShard().keySet());
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, 128);
+        for (Item item : items) {
+            try (ShardClient client = new ShardClient(ring.shardFor(item.getId()), 5000)) {
+                client.putAll(List.of(item));
+            }
+        }
+    }
+
+    private String startServer() throws IOException {
+        ItemShardServer server = new ItemShardServer(0);
+        servers.add(server);
+        return "localhost:" + server.getPort();
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("item" + i, 1000 + i, i % 100));
+        }
+        return items;
+    }
+}
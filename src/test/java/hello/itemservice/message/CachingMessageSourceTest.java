@@ -0,0 +1,120 @@
+package hello.itemservice.message;
+
+import hello.itemservice.web.message.CachingMessageSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.HierarchicalMessageSource;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMessageSourceTest {
+
+    static final String[] QUANTITY_RANGE_CODES = {"range.item.quantity", "range.quantity", "range.java.lang.Integer", "range"};
+
+    CountingMessageSource delegate;
+    CachingMessageSource messageSource;
+
+    @BeforeEach
+    void beforeEach() {
+        delegate = new CountingMessageSource();
+        messageSource = new CachingMessageSource(delegate);
+    }
+
+    @Test
+    void cacheHitWithDifferentArguments() {
+        //given
+        DefaultMessageSourceResolvable first = new DefaultMessageSourceResolvable(QUANTITY_RANGE_CODES, new Object[]{1, 9999});
+        DefaultMessageSourceResolvable second = new DefaultMessageSourceResolvable(QUANTITY_RANGE_CODES, new Object[]{10, 500});
+
+        //when
+        String firstMessage = messageSource.getMessage(first, Locale.KOREA);
+        int lookups = delegate.lookups;
+        String secondMessage = messageSource.getMessage(second, Locale.KOREA);
+
+        //then: 코드만 캐시하므로 인자가 달라도 캐시한 코드(range.java.lang.Integer)로 새 인자를 넣은 메시지를 만듦
+        assertThat(firstMessage).isEqualTo(delegate.getMessage(first, Locale.KOREA));
+        assertThat(secondMessage).isEqualTo(delegate.getMessage(second, Locale.KOREA));
+        assertThat(secondMessage).isNotEqualTo(firstMessage).contains("10", "500");
+        assertThat(lookups).isEqualTo(3); //range.item.quantity, range.quantity, range.java.lang.Integer
+        assertThat(delegate.lookups).isEqualTo(lookups); //두 번째 조회는 코드를 찾지 않음
+    }
+
+    @Test
+    void defaultMessage() {
+        //given
+        DefaultMessageSourceResolvable resolvable =
+                new DefaultMessageSourceResolvable(new String[]{"no_code.item", "no_code"}, null, "기본 메시지");
+
+        //when
+        String first = messageSource.getMessage(resolvable, Locale.KOREA);
+        int lookups = delegate.lookups;
+        String second = messageSource.getMessage(resolvable, Locale.KOREA);
+
+        //then: 코드가 없다는 결과도 캐시하고 기본 메시지를 사용함
+        assertThat(first).isEqualTo("기본 메시지");
+        assertThat(second).isEqualTo("기본 메시지");
+        assertThat(delegate.lookups).isEqualTo(lookups);
+    }
+
+    @Test
+    void noSuchMessage() {
+        //given
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[]{"no_code.item", "no_code"});
+
+        //when, then: 기본 메시지가 없으면 캐시한 뒤에도 NoSuchMessageException
+        assertThatThrownBy(() -> messageSource.getMessage(resolvable, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> messageSource.getMessage(resolvable, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> messageSource.getMessage("no_code", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    /**
+     * 코드 하나씩 찾는 조회(getMessage(code, args, defaultMessage, locale)) 횟수를 세는 MessageSource
+     */
+    static class CountingMessageSource implements HierarchicalMessageSource {
+
+        final ResourceBundleMessageSource delegate = new ResourceBundleMessageSource();
+        int lookups;
+
+        CountingMessageSource() {
+            delegate.setBasenames("messages", "errors");
+            delegate.setDefaultEncoding("UTF-8");
+            delegate.setFallbackToSystemLocale(false);
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+            lookups++;
+            return delegate.getMessage(code, args, defaultMessage, locale);
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+            return delegate.getMessage(code, args, locale);
+        }
+
+        @Override
+        public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+            return delegate.getMessage(resolvable, locale);
+        }
+
+        @Override
+        public void setParentMessageSource(MessageSource parent) {
+            delegate.setParentMessageSource(parent);
+        }
+
+        @Override
+        public MessageSource getParentMessageSource() {
+            return delegate.getParentMessageSource();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
 
 import java.util.Locale;
 
@@ -50,4 +51,30 @@ public class MessageSourceTest {
     void enLang() {
         assertThat(ms.getMessage("hello", null, Locale.ENGLISH)).isEqualTo("hello");
     }
-}
\ No newline at end of file
+
+    /**
+     * 오류 메시지는 메시지 코드를 순서대로 찾아서 처음 있는 메시지를 사용함.(CachingMessageSource는 찾은 코드를 캐시함)
+     */
+    @Test
+    void resolvableMessage() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"range.item.quantity", "range.quantity", "range.java.lang.Integer", "range"},
+                new Object[]{1000, 1000000});
+
+        //캐시된 코드로 다시 찾아도 같은 메시지(인자는 매번 새로 적용)
+        assertThat(ms.getMessage(resolvable, Locale.ENGLISH)).isEqualTo("1,000 ~ 1,000,000 까지의 숫자를 입력해주세요.");
+        assertThat(ms.getMessage(resolvable, Locale.ENGLISH)).isEqualTo("1,000 ~ 1,000,000 까지의 숫자를 입력해주세요.");
+        assertThat(ms.getMessage(new DefaultMessageSourceResolvable(resolvable.getCodes(), new Object[]{1, 2}), Locale.ENGLISH))
+                .isEqualTo("1 ~ 2 까지의 숫자를 입력해주세요.");
+    }
+
+    @Test
+    void resolvableMessageDefaultMessage() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[]{"no_code"}, null, "기본 메시지");
+
+        assertThat(ms.getMessage(resolvable, Locale.ENGLISH)).isEqualTo("기본 메시지");
+        assertThat(ms.getMessage(resolvable, Locale.ENGLISH)).isEqualTo("기본 메시지");
+        assertThatThrownBy(() -> ms.getMessage(new DefaultMessageSourceResolvable("no_code"), Locale.ENGLISH))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+}
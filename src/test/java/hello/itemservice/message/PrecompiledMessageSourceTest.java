@@ -0,0 +1,76 @@
+package hello.itemservice.message;
+
+import hello.itemservice.web.message.PrecompiledMessageSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PrecompiledMessageSourceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sameMessagesAsResourceBundleMessageSource() throws Exception {
+        //given
+        String[] basenames = {"messages", "errors"};
+        ResourceBundleMessageSource expected = new ResourceBundleMessageSource();
+        expected.setBasenames(basenames);
+        expected.setDefaultEncoding("UTF-8");
+        PrecompiledMessageSource actual = new PrecompiledMessageSource(basenames, getClass().getClassLoader(), true, 0);
+
+        Set<String> codes = new TreeSet<>();
+        for (String file : new String[]{"messages.properties", "messages_en.properties", "errors.properties", "errors_en.properties"}) {
+            Properties properties = new Properties();
+            properties.load(getClass().getClassLoader().getResourceAsStream(file));
+            codes.addAll(properties.stringPropertyNames());
+        }
+        Object[] args = {new DefaultMessageSourceResolvable(new String[]{"label.item.price"}, "price"), 1000000, "문자"};
+
+        //when, then: 모든 코드를 인자 없이/있이 조회한 결과가 같음
+        for (Locale locale : new Locale[]{Locale.KOREA, Locale.ENGLISH, Locale.US, Locale.GERMANY}) {
+            for (String code : codes) {
+                assertThat(actual.getMessage(code, null, locale)).isEqualTo(expected.getMessage(code, null, locale));
+                assertThat(actual.getMessage(code, args, locale)).isEqualTo(expected.getMessage(code, args, locale));
+            }
+            assertThat(actual.getMessage("no_code", args, "기본 {1}", locale)).isEqualTo(expected.getMessage("no_code", args, "기본 {1}", locale));
+        }
+        actual.close();
+    }
+
+    @Test
+    void reloadIfModified() throws Exception {
+        //given
+        Path file = dir.resolve("test.properties");
+        Files.writeString(file, "hello=안녕 {0}", StandardCharsets.UTF_8);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, null)) {
+            PrecompiledMessageSource messageSource = new PrecompiledMessageSource(new String[]{"test"}, classLoader, false, 0);
+            assertThat(messageSource.getMessage("hello", new Object[]{"Spring"}, Locale.KOREA)).isEqualTo("안녕 Spring");
+            assertThat(messageSource.reloadIfModified()).isFalse();
+
+            //when: 메시지 파일 변경
+            Files.writeString(file, "hello=반가워 {0}", StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+
+            //then
+            assertThat(messageSource.reloadIfModified()).isTrue();
+            assertThat(messageSource.getMessage("hello", new Object[]{"Spring"}, Locale.KOREA)).isEqualTo("반가워 Spring");
+            messageSource.close();
+        }
+    }
+}
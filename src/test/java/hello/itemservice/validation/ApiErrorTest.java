@@ -0,0 +1,62 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.error.ApiError;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ApiErrorTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compactPayload() throws Exception {
+        //given
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(0);
+        form.setQuantity(10);
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 0}, null);
+
+        //when
+        List<ApiError> errors = ApiError.from(bindingResult, messageSource, Locale.KOREA);
+        String json = objectMapper.writeValueAsString(errors);
+
+        //then: 오류가 추가된 순서, 글로벌 오류에는 rejectedValue가 없음
+        assertThat(json).isEqualTo("["
+                + "{\"field\":\"price\",\"code\":\"range\",\"message\":\"가격은 1,000 ~ 1,000,000 까지 허용합니다.\",\"rejectedValue\":0},"
+                + "{\"field\":null,\"code\":\"totalPriceMin\",\"message\":\"상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = 0\"}"
+                + "]");
+
+        //기존 응답(ObjectError 직렬화)보다 작음
+        String legacy = objectMapper.writeValueAsString(bindingResult.getAllErrors());
+        assertThat(json.length()).isLessThan(legacy.length());
+    }
+
+    @Test
+    void missingMessage() throws Exception {
+        //given: 메시지가 없으면 기본 메시지 사용
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), "item");
+        bindingResult.rejectValue("itemName", "unknown", "기본 메시지");
+
+        //when
+        String json = objectMapper.writeValueAsString(ApiError.from(bindingResult, new ResourceBundleMessageSource(), Locale.KOREA));
+
+        //then
+        assertThat(json).isEqualTo("[{\"field\":\"itemName\",\"code\":\"unknown\",\"message\":\"기본 메시지\",\"rejectedValue\":null}]");
+    }
+}
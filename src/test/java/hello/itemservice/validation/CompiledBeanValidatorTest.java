@@ -0,0 +1,167 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.compiled.CompiledBeanValidator;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompiledBeanValidatorTest {
+
+    LocalValidatorFactoryBean beanValidator;
+    CompiledValidatorAdapter compiledValidator;
+
+    @BeforeEach
+    void beforeEach() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new CompiledValidatorAdapter(beanValidator, ItemSaveForm.class, ItemUpdateForm.class);
+    }
+
+    @AfterEach
+    void afterEach() {
+        beanValidator.destroy();
+    }
+
+    @Test
+    void sameErrorsAsBeanValidation() {
+        //given
+        ItemSaveForm valid = saveForm("itemA", 10000, 10);
+        ItemSaveForm invalid = saveForm(" ", 0, 10000);
+        ItemSaveForm empty = saveForm(null, null, null);
+
+        //when, then: 오류 코드, 인자, 기본 메시지, 거부된 값이 모두 같음
+        for (ItemSaveForm form : List.of(valid, invalid, empty)) {
+            assertThat(errors(compiledValidator, form)).containsExactlyInAnyOrderElementsOf(errors(beanValidator, form));
+        }
+        assertThat(errors(compiledValidator, valid)).isEmpty();
+        assertThat(errors(compiledValidator, invalid)).hasSize(3);
+    }
+
+    @Test
+    void sameErrorsAsBeanValidationUpdateForm() {
+        //given
+        ItemUpdateForm valid = updateForm(1L, "itemA", 10000, 99999, 0L);
+        ItemUpdateForm invalid = updateForm(null, "", 1000001, null, null);
+
+        //when, then
+        for (ItemUpdateForm form : List.of(valid, invalid)) {
+            assertThat(errors(compiledValidator, form)).containsExactlyInAnyOrderElementsOf(errors(beanValidator, form));
+        }
+        assertThat(errors(compiledValidator, valid)).isEmpty();
+        assertThat(errors(compiledValidator, invalid)).hasSize(4);
+    }
+
+    @Test
+    void skipBindingFailure() {
+        //given: 가격에 숫자가 아닌 값이 입력된 상황(typeMismatch)
+        ItemSaveForm form = saveForm("itemA", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "qqq", true, new String[]{"typeMismatch"}, null, null));
+
+        //when
+        compiledValidator.validate(form, bindingResult);
+
+        //then: 타입 오류만 남고 @NotNull 오류는 추가되지 않음
+        assertThat(bindingResult.getFieldErrors("price")).extracting(FieldError::getCode).containsExactly("typeMismatch");
+    }
+
+    @Test
+    void costOrdered() {
+        //given: 수량 @NotNull(null 검사)이 가격 @Range(범위 검사)보다 싼 검사
+        ItemSaveForm form = saveForm(null, 0, null);
+        CompiledBeanValidator all = compile(ValidationMode.ALL);
+        CompiledBeanValidator costOrdered = compile(ValidationMode.COST_ORDERED);
+        CompiledBeanValidator failFast = compile(ValidationMode.FAIL_FAST);
+
+        //when, then: 모든 오류를 모으지만 순서가 다르고, FAIL_FAST는 첫 번째 오류만 추가함
+        assertThat(codes(all, form)).containsExactly("itemName:NotBlank", "price:Range", "quantity:NotNull");
+        assertThat(codes(costOrdered, form)).containsExactly("quantity:NotNull", "itemName:NotBlank", "price:Range");
+        assertThat(codes(failFast, form)).containsExactly("quantity:NotNull");
+        assertThat(codes(failFast, saveForm("itemA", 10000, 10))).isEmpty();
+    }
+
+    @Test
+    void failFastAfterBindingFailure() {
+        //given: 바인딩 단계에서 이미 오류가 있음
+        ItemSaveForm form = saveForm(null, null, null);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "qqq", true, new String[]{"typeMismatch"}, null, null));
+
+        //when
+        compile(ValidationMode.FAIL_FAST).validate(form, bindingResult);
+
+        //then: 더 검사하지 않음
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unsupportedConstraint() {
+        //클래스 레벨 제약 조건(@ScriptAssert 등)이나 그룹은 컴파일하지 않음
+        assertThatThrownBy(() -> CompiledBeanValidator.compile(GroupForm.class, beanValidator, beanValidator.getMessageInterpolator()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CompiledBeanValidator compile(ValidationMode mode) {
+        return CompiledBeanValidator.compile(ItemSaveForm.class, beanValidator, beanValidator.getMessageInterpolator(), mode);
+    }
+
+    private static List<String> codes(Validator validator, Object target) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        validator.validate(target, bindingResult);
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + ":" + error.getCode())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Tuple> errors(Validator validator, Object target) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        validator.validate(target, bindingResult);
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> tuple(error.getField(), error.getRejectedValue(), error.isBindingFailure(),
+                        List.of(error.getCodes()), List.of(error.getArguments()), error.getDefaultMessage()))
+                .collect(Collectors.toList());
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static ItemUpdateForm updateForm(Long id, String itemName, Integer price, Integer quantity, Long version) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(id);
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        form.setVersion(version);
+        return form;
+    }
+
+    public static class GroupForm {
+
+        @javax.validation.constraints.NotNull(groups = GroupForm.class)
+        private String itemName;
+
+        public String getItemName() {
+            return itemName;
+        }
+    }
+}
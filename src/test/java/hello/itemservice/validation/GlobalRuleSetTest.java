@@ -0,0 +1,105 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.GlobalRule;
+import hello.itemservice.web.validation.rule.GlobalRuleSet;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.ObjectError;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GlobalRuleSetTest {
+
+    @Test
+    void totalPriceMin() {
+        //given
+        Item item = new Item("itemA", 1000, 1);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        ItemRules.GLOBAL.validate(item, bindingResult);
+
+        //then
+        assertThat(bindingResult.getGlobalErrors()).hasSize(1);
+        ObjectError error = bindingResult.getGlobalError();
+        assertThat(error.getCode()).isEqualTo("totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000L, 1000L);
+    }
+
+    @Test
+    void totalPriceMinOverflow() {
+        //given: int로 곱하면 음수가 되는 값(최대 가격 * 최대 수량 이상)
+        Item max = new Item("itemA", 1000000, 9999);
+        Item huge = new Item("itemB", Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        //when, then: 10,000원 이상이므로 거절되지 않음
+        assertThat(ItemRules.GLOBAL.evaluate(max, (code, arguments) -> fail("rejected " + code))).isTrue();
+        assertThat(ItemRules.GLOBAL.evaluate(huge, (code, arguments) -> fail("rejected " + code))).isTrue();
+    }
+
+    @Test
+    void skipWhenPropertyIsNull() {
+        //given: 가격이 없으면 필드 검증(@NotNull)이 처리함
+        ItemSaveForm form = new ItemSaveForm();
+        form.setQuantity(1);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        ItemRules.GLOBAL.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void saturatingArithmetic() {
+        //given
+        GlobalRuleSet rules = GlobalRuleSet.of(new GlobalRule("overflow",
+                "-(price * quantity) * price > 0 && (price + 1 > 1 || quantity == 0)", "price * quantity * price * quantity"));
+        Item item = new Item("itemA", Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        //when
+        Object[][] result = new Object[1][];
+        boolean valid = rules.evaluate(item, (code, arguments) -> result[0] = arguments);
+
+        //then: long 범위를 넘으면 부호가 뒤집히지 않고 최대/최소값으로 고정됨
+        assertThat(valid).isFalse();
+        assertThat(result[0]).containsExactly(Long.MAX_VALUE);
+    }
+
+    @Test
+    void invalidExpression() {
+        //given
+        GlobalRuleSet syntaxError = GlobalRuleSet.of(new GlobalRule("bad", "price >="));
+        GlobalRuleSet unknownProperty = GlobalRuleSet.of(new GlobalRule("bad", "weight > 0"));
+        GlobalRuleSet notInteger = GlobalRuleSet.of(new GlobalRule("bad", "itemName > 0"));
+        GlobalRuleSet notCondition = GlobalRuleSet.of(new GlobalRule("bad", "price * quantity"));
+
+        //when, then: 처음 검증할 때 컴파일하면서 실패함
+        Item item = new Item("itemA", 1000, 10);
+        assertThatThrownBy(() -> syntaxError.evaluate(item, (code, arguments) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> notCondition.evaluate(item, (code, arguments) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(unknownProperty.supports(Item.class)).isFalse();
+        assertThat(notInteger.supports(Item.class)).isFalse();
+        assertThat(ItemRules.GLOBAL.supports(ItemSaveForm.class)).isTrue();
+    }
+
+    @Test
+    void precompile() {
+        //given
+        GlobalRuleSet unknownProperty = GlobalRuleSet.of(new GlobalRule("bad", "weight > 0"));
+
+        //when, then: 미리 컴파일하면 검증 전에 실패하고, 실패 결과도 보관함
+        assertThatThrownBy(() -> unknownProperty.precompile(Item.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(Item.class.getName());
+        assertThatThrownBy(() -> unknownProperty.evaluate(new Item("itemA", 1000, 10), (code, arguments) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(ItemRules.GLOBAL.precompile(Item.class)).isSameAs(ItemRules.GLOBAL);
+    }
+}
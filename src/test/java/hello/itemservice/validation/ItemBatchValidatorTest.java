@@ -0,0 +1,150 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.batch.ItemBatchValidator;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemBatchValidatorTest {
+
+    ForkJoinPool executor = new ForkJoinPool(4);
+    ItemValidator itemValidator = new ItemValidator();
+    LocalValidatorFactoryBean beanValidator;
+    ItemBatchValidator batchValidator;
+
+    @BeforeEach
+    void beforeEach() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        CompiledValidatorAdapter mvcValidator = new CompiledValidatorAdapter(beanValidator, ItemSaveForm.class, ItemUpdateForm.class);
+        batchValidator = new ItemBatchValidator(executor, executor.getParallelism(), itemValidator, mvcValidator);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdown();
+        beanValidator.destroy();
+    }
+
+    @Test
+    void validateItems() {
+        //given: 3개 중 1개는 필드 오류, 1개는 복합 룰 오류
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            items.add(i % 3 == 0 ? new Item("item" + i, 10000, 10) : i % 3 == 1 ? new Item(" ", 0, 10000) : new Item("item" + i, 1000, 1));
+        }
+
+        //when
+        List<BindingResult> results = batchValidator.validateItems(items);
+
+        //then: 순서대로 하나씩 검증한 결과와 같음
+        assertThat(results).hasSize(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BindingResult expected = new BeanPropertyBindingResult(items.get(i), "item");
+            itemValidator.validate(items.get(i), expected);
+
+            assertThat(results.get(i).getTarget()).isSameAs(items.get(i));
+            assertThat(codes(results.get(i))).isEqualTo(codes(expected));
+        }
+        assertThat(results.get(0).hasErrors()).isFalse();
+        assertThat(codes(results.get(2))).containsExactly("totalPriceMin");
+    }
+
+    @Test
+    void validateItemsWithGroup() {
+        //given: Item의 제약 조건은 주석 처리되어 있으므로 오류가 없음
+        List<Item> items = List.of(new Item(" ", 0, 10000), new Item("itemA", 10000, 10));
+
+        //when
+        List<BindingResult> results = batchValidator.validateItems(items, SaveCheck.class);
+
+        //then
+        assertThat(results).extracting(BindingResult::hasErrors).containsExactly(false, false);
+    }
+
+    @Test
+    void validateSaveForms() {
+        //given
+        List<ItemSaveForm> forms = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            forms.add(i % 2 == 0 ? saveForm("item" + i, 10000, 10) : saveForm(" ", 1000, 1));
+        }
+
+        //when
+        List<BindingResult> results = batchValidator.validateSaveForms(forms);
+
+        //then
+        for (int i = 0; i < forms.size(); i++) {
+            if (i % 2 == 0) {
+                assertThat(results.get(i).hasErrors()).isFalse();
+            } else {
+                assertThat(codes(results.get(i))).containsExactlyInAnyOrder("NotBlank", "totalPriceMin");
+                assertThat(results.get(i).getFieldError("itemName").getCodes()).contains("NotBlank.item.itemName");
+            }
+        }
+    }
+
+    @Test
+    void validateWithCostOrderedMode() {
+        //given
+        CompiledValidatorAdapter mvcValidator = new CompiledValidatorAdapter(beanValidator, ValidationMode.COST_ORDERED, ItemSaveForm.class);
+        ItemBatchValidator costOrdered = new ItemBatchValidator(executor, executor.getParallelism(),
+                new ItemValidator(ValidationMode.FAIL_FAST), mvcValidator, ValidationMode.COST_ORDERED);
+
+        //when
+        List<BindingResult> forms = costOrdered.validateSaveForms(List.of(saveForm(" ", 1000, 1), saveForm("itemA", 1000, 1)));
+        List<BindingResult> items = costOrdered.validateItems(List.of(new Item(" ", 0, 10000), new Item("itemA", 1000, 1)));
+
+        //then: 필드 오류가 있으면 복합 룰을 검사하지 않고, FAIL_FAST는 첫 번째 오류에서 멈춤
+        assertThat(codes(forms.get(0))).containsExactly("NotBlank");
+        assertThat(codes(forms.get(1))).containsExactly("totalPriceMin");
+        assertThat(codes(items.get(0))).containsExactly("required");
+        assertThat(codes(items.get(1))).containsExactly("totalPriceMin");
+    }
+
+    @Test
+    void validateException() {
+        //given
+        List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            targets.add(i);
+        }
+
+        //when, then: 작업 스레드에서 발생한 예외를 그대로 던짐
+        assertThatThrownBy(() -> batchValidator.validate(targets, "target", (target, errors) -> {
+            if (target == 777) {
+                throw new IllegalStateException("fail " + target);
+            }
+        })).isInstanceOf(IllegalStateException.class).hasMessage("fail 777");
+    }
+
+    private static List<String> codes(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream().map(ObjectError::getCode).collect(Collectors.toList());
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
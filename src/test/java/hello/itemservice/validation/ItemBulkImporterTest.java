@@ -0,0 +1,147 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.message.CachingMessageCodesResolver;
+import hello.itemservice.web.metrics.CountingMessageCodesResolver;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.ItemBulkImporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemBulkImporterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new ItemRepository();
+    MeterRegistry registry = new SimpleMeterRegistry();
+    LocalValidatorFactoryBean validator;
+    ItemBulkImporter importer;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        importer = new ItemBulkImporter(itemRepository, validator, messageSource, objectMapper,
+                new CountingMessageCodesResolver(new CachingMessageCodesResolver(), new ValidationMetrics(registry)));
+    }
+
+    @AfterEach
+    void afterEach() {
+        validator.destroy();
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void importNdjson() throws IOException {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemB\",\"price\":0,\"quantity\":10}\n" //가격 범위 오류
+                + "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}\n" //가격 * 수량 < 10000
+                + "{\"itemName\":\"itemD\",\"price\":\"abc\",\"quantity\":10}\n" //타입 오류
+                + "{\"itemName\":\"itemE\",\"price\":20000,\"quantity\":5}\n";
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemBulkImporter.ImportResult result = importer.importItems(input(body), out, Locale.KOREA);
+
+        //then
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).containsExactlyInAnyOrder("itemA", "itemE");
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0).get("index").asInt()).isEqualTo(1);
+        assertThat(lines.get(0).get("errors").get(0).get("field").asText()).isEqualTo("price");
+        assertThat(lines.get(0).get("errors").get(0).get("code").asText()).isEqualTo("Range");
+        assertThat(lines.get(1).get("index").asInt()).isEqualTo(2);
+        assertThat(lines.get(1).get("errors").get(0).get("code").asText()).isEqualTo("totalPriceMin");
+        assertThat(lines.get(1).get("errors").get(0).get("message").asText()).contains("10,000", "1,000");
+        assertThat(lines.get(2).get("index").asInt()).isEqualTo(3);
+        assertThat(lines.get(2).get("errors").get(0).get("field").asText()).isEqualTo("price");
+        assertThat(lines.get(2).get("errors").get(0).get("code").asText()).isEqualTo("typeMismatch");
+        assertThat(lines.get(3).get("total").asLong()).isEqualTo(5);
+        assertThat(lines.get(3).get("saved").asLong()).isEqualTo(2);
+
+        //주입받은 MessageCodesResolver로 오류 코드별 메트릭도 집계
+        assertThat(registry.get("item.validation.rejections").tag("code", "Range").counter().count()).isEqualTo(1);
+        assertThat(registry.get("item.validation.rejections").tag("code", "totalPriceMin").counter().count()).isEqualTo(2); //itemB, itemC
+    }
+
+    @Test
+    void importJsonArrayInBatches() throws IOException {
+        //given: 배치 크기보다 많은 상품
+        int count = ItemBulkImporter.BATCH_SIZE * 2 + 1;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"itemName\":\"item").append(i).append("\",\"price\":10000,\"quantity\":1}");
+        }
+        body.append("]");
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemBulkImporter.ImportResult result = importer.importItems(input(body.toString()), out, Locale.KOREA);
+
+        //then
+        assertThat(result.getSaved()).isEqualTo(count);
+        assertThat(result.getFailed()).isZero();
+        assertThat(itemRepository.findAll()).hasSize(count);
+        assertThat(lines(out)).hasSize(1); //결과 요약만
+    }
+
+    @Test
+    void stopOnSyntaxError() throws IOException {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemB\",\n"
+                + "{\"itemName\":\"itemC\",\"price\":10000,\"quantity\":10}\n";
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemBulkImporter.ImportResult result = importer.importItems(input(body), out, Locale.KOREA);
+
+        //then: 오류 전까지 저장된 상품은 유지됨
+        assertThat(result.getSaved()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        List<JsonNode> lines = lines(out);
+        assertThat(lines.get(0).get("errors").get(0).get("code").asText()).isEqualTo("parseError");
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemExportWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemExportWriterTest {
+
+    @Test
+    void csv() throws IOException {
+        //given
+        List<Item> items = List.of(item(1L, "itemA", 10000, 10), item(2L, "상품 \"B\", 신상", -1, null), item(3L, null, null, 0));
+
+        //when
+        String result = export(items, ItemExportWriter.Format.CSV, ItemExportWriter.DEFAULT_BUFFER_SIZE);
+
+        //then: 쉼표/따옴표가 있는 값은 따옴표로 감싸고, null은 빈 값
+        assertThat(result).isEqualTo("id,itemName,price,quantity,version\n"
+                + "1,itemA,10000,10,0\n"
+                + "2,\"상품 \"\"B\"\", 신상\",-1,,0\n"
+                + "3,,,0,0\n");
+    }
+
+    @Test
+    void ndjson() throws IOException {
+        //given
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Item> items = List.of(item(1L, "itemA", 10000, 10), item(2L, "줄\n바꿈 \"따옴표\" \\ 😀", Integer.MIN_VALUE, null), item(3L, null, null, 0));
+
+        //when
+        String result = export(items, ItemExportWriter.Format.NDJSON, ItemExportWriter.DEFAULT_BUFFER_SIZE);
+
+        //then: 한 줄씩 읽은 JSON이 Jackson으로 직렬화한 상품과 같음
+        String[] lines = result.split("\n");
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(objectMapper.readValue(lines[i], Item.class)).isEqualTo(items.get(i));
+            assertThat(lines[i]).isEqualTo(objectMapper.writeValueAsString(items.get(i)));
+        }
+    }
+
+    @Test
+    void smallBuffer() throws IOException {
+        //given: 버퍼보다 긴 출력
+        List<Item> items = List.of(item(1L, "가".repeat(100), 10000, 10), item(2L, "itemB", 20000, 20));
+
+        //when
+        String small = export(items, ItemExportWriter.Format.CSV, 64);
+        String large = export(items, ItemExportWriter.Format.CSV, ItemExportWriter.DEFAULT_BUFFER_SIZE);
+
+        //then
+        assertThat(small).isEqualTo(large);
+    }
+
+    private static String export(List<Item> items, ItemExportWriter.Format format, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemExportWriter writer = new ItemExportWriter(out, format, bufferSize);
+        writer.writeHeader();
+        for (Item item : items) {
+            writer.write(item);
+        }
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        return item;
+    }
+}
@@ -1,5 +1,6 @@
 package hello.itemservice.validation;
 
+import hello.itemservice.web.message.CachingMessageCodesResolver;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.validation.DefaultMessageCodesResolver;
@@ -72,4 +73,22 @@ public class MessageCodesResolverTest {
                 "required.java.lang.String",
                 "required");
     }
+
+    /**
+     * 캐시하는 MessageCodesResolver도 같은 규칙으로 메시지 코드를 생성하고, 같은 키는 한 번 만든 배열을 재사용함.
+     */
+    @Test
+    void cachingMessageCodesResolver() {
+        MessageCodesResolver cachingCodesResolver = new CachingMessageCodesResolver();
+
+        String[] fieldCodes = cachingCodesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        assertThat(fieldCodes).containsExactly(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class));
+        assertThat(cachingCodesResolver.resolveMessageCodes("required", "item", "itemName", String.class)).isSameAs(fieldCodes);
+        assertThat(cachingCodesResolver.resolveMessageCodes("required", "item", "itemName", Integer.class))
+                .containsExactly("required.item.itemName", "required.itemName", "required.java.lang.Integer", "required");
+
+        String[] objectCodes = cachingCodesResolver.resolveMessageCodes("required", "item");
+        assertThat(objectCodes).containsExactly("required.item", "required");
+        assertThat(cachingCodesResolver.resolveMessageCodes("required", "item")).isSameAs(objectCodes);
+    }
 }
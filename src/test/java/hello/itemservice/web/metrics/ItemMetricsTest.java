@@ -0,0 +1,82 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.ColumnarItemRepository;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.message.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.ItemValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemMetricsTest {
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    ValidationMetrics metrics = new ValidationMetrics(registry);
+    LocalValidatorFactoryBean beanValidator;
+
+    @BeforeEach
+    void beforeEach() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void afterEach() {
+        beanValidator.destroy();
+    }
+
+    @Test
+    void bindAndValidate() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("itemName", "itemA");
+        request.addParameter("price", "abc"); //타입 오류
+        request.addParameter("quantity", "10");
+
+        MeteredDataBinder binder = new MeteredDataBinder(new Item(), "item", metrics);
+        binder.setMessageCodesResolver(new CountingMessageCodesResolver(new CachingMessageCodesResolver(), metrics));
+        binder.addValidators(beanValidator, new ItemValidator());
+
+        //when
+        binder.bind(request);
+        binder.validate();
+
+        //then: 바인딩 1회, 검증기별 1회, 오류 코드별 수
+        BindingResult bindingResult = binder.getBindingResult();
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("typeMismatch");
+        assertThat(registry.get("item.binding").timer().count()).isEqualTo(1);
+        assertThat(registry.get("item.validation").tag("validator", "bean").timer().count()).isEqualTo(1);
+        assertThat(registry.get("item.validation").tag("validator", "itemValidator").timer().count()).isEqualTo(1);
+        assertThat(registry.get("item.validation.rejections").tag("code", "typeMismatch").counter().count()).isEqualTo(1);
+        assertThat(registry.get("item.validation.rejections").tag("code", "range").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void repositoryTimers() {
+        //given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        ItemRepositoryMetricsPostProcessor postProcessor = new ItemRepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+        ColumnarItemRepository itemRepository = (ColumnarItemRepository) postProcessor.postProcessAfterInitialization(new ColumnarItemRepository(), "itemRepository");
+
+        //when
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+        itemRepository.restore(item); //측정 대상 아님
+
+        //then
+        assertThat(registry.get("item.repository").tag("method", "save").timer().count()).isEqualTo(1);
+        assertThat(registry.get("item.repository").tag("method", "findById").tag("repository", "ColumnarItemRepository").timer().count()).isEqualTo(2);
+        assertThat(registry.find("item.repository").tag("method", "restore").timer()).isNull();
+        assertThat(itemRepository.findById(item.getId())).isEqualTo(item);
+    }
+}
@@ -0,0 +1,131 @@
+package hello.itemservice.web.reactive;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReactiveItemHandlerTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    LocalValidatorFactoryBean validator;
+    WebTestClient client;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+
+        ReactiveItemRepository reactiveItemRepository = new ReactiveItemRepository(itemRepository, Schedulers.immediate());
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        ReactiveItemHandler handler = new ReactiveItemHandler(reactiveItemRepository, validator, messageSource);
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @AfterEach
+    void afterEach() {
+        validator.destroy();
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void addItem() {
+        //when, then: 검증만 하고 폼을 그대로 반환
+        client.post().uri("/reactive/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itemName").isEqualTo("itemA")
+                .jsonPath("$.price").isEqualTo(10000);
+
+        assertThat(itemRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void addItemFieldError() {
+        //when, then: 서블릿 API와 같은 형식의 오류 목록(ApiError)
+        client.post().uri("/reactive/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"\",\"price\":0,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3) //가격 * 수량(0)이 10000 미만이므로 복합 룰 오류도 함께 반환(ALL 모드)
+                .jsonPath("$[?(@.field == 'itemName')].code").isEqualTo("NotBlank")
+                .jsonPath("$[?(@.field == 'price')].code").isEqualTo("Range")
+                .jsonPath("$[?(@.field == 'price')].rejectedValue").isEqualTo(0)
+                .jsonPath("$[2].rejectedValue").doesNotExist()
+                .jsonPath("$[2].code").isEqualTo("totalPriceMin");
+    }
+
+    @Test
+    void addItemTotalPriceMin() {
+        //when, then: 가격 * 수량 < 10000
+        client.post().uri("/reactive/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":1000,\"quantity\":1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].code").isEqualTo("totalPriceMin")
+                .jsonPath("$[0].message").isEqualTo("상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = 1,000");
+    }
+
+    @Test
+    void addItemTypeMismatch() {
+        //when, then: JSON을 객체로 만들지 못하면 400
+        client.post().uri("/reactive/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":\"abc\",\"quantity\":10}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void saveAndFindItem() {
+        //when
+        Item savedItem = client.post().uri("/reactive/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists("Location")
+                .expectBody(Item.class)
+                .returnResult().getResponseBody();
+
+        //then
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("itemA");
+        client.get().uri("/reactive/api/items/{itemId}", savedItem.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(savedItem.getId().intValue())
+                .jsonPath("$.itemName").isEqualTo("itemA");
+    }
+
+    @Test
+    void itemNotFound() {
+        client.get().uri("/reactive/api/items/{itemId}", 999L)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.get().uri("/reactive/api/items/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,68 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ValidationItemControllerV4Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void editWithoutVersion() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when: 수정 화면의 버전 없이 수정 요청
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "itemB")
+                        .param("price", "20000")
+                        .param("quantity", "20"))
+                //then: 버전 필드 오류로 다시 입력폼
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v4/editForm"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "version", "NotNull"));
+
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemA");
+    }
+
+    @Test
+    void editWithVersion() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "itemB")
+                        .param("price", "20000")
+                        .param("quantity", "20")
+                        .param("version", String.valueOf(item.getVersion())))
+                //then
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/validation/v4/items/" + item.getId()));
+
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemB");
+    }
+}
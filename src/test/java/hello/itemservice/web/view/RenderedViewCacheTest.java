@@ -0,0 +1,81 @@
+package hello.itemservice.web.view;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RenderedViewCacheTest {
+
+    AtomicInteger renderCount = new AtomicInteger();
+
+    //모델의 name을 출력하는 템플릿 대신 사용하는 뷰
+    View template = new View() {
+        @Override
+        public String getContentType() {
+            return "text/html;charset=UTF-8";
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            renderCount.incrementAndGet();
+            response.setContentType(getContentType());
+            response.getWriter().write("<p>" + model.get("name") + "</p>");
+        }
+    };
+
+    RenderedViewCache renderedViewCache = new RenderedViewCache((viewName, locale) -> template, 1024 * 1024);
+
+    @Test
+    void etag() {
+        //when, then: 값이 하나라도 다르면 다른 ETag
+        String etag = renderedViewCache.etag("validation/v4/item", Locale.KOREAN, 1L, 0L);
+        assertThat(renderedViewCache.etag("validation/v4/item", Locale.KOREAN, 1L, 0L)).isEqualTo(etag);
+        assertThat(renderedViewCache.etag("validation/v4/item", Locale.KOREAN, 1L, 1L)).isNotEqualTo(etag);
+        assertThat(renderedViewCache.etag("validation/v4/item", Locale.ENGLISH, 1L, 0L)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void renderOnce() throws Exception {
+        //given
+        String etag = renderedViewCache.etag("validation/v4/item", Locale.KOREAN, 1L, 0L);
+
+        //when
+        MockHttpServletResponse first = render(etag, "상품A");
+        MockHttpServletResponse second = render(etag, "상품A");
+
+        //then: 두 번째 요청은 렌더링하지 않고 같은 HTML을 응답
+        assertThat(renderCount.get()).isEqualTo(1);
+        assertThat(second.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("<p>상품A</p>");
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(second.getContentType()).startsWith("text/html");
+        assertThat(renderedViewCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void withoutEtag() throws Exception {
+        //when: 키가 없으면 캐시하지 않음
+        render(null, "상품A");
+        render(null, "상품A");
+
+        //then
+        assertThat(renderCount.get()).isEqualTo(2);
+        assertThat(renderedViewCache.size()).isZero();
+    }
+
+    private MockHttpServletResponse render(String etag, String name) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        View view = renderedViewCache.view(etag, "validation/v4/item", Locale.KOREAN);
+        view.render(Map.of("name", name), new MockHttpServletRequest(), response);
+        return response;
+    }
+}